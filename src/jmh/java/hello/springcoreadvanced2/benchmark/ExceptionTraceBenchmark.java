@@ -0,0 +1,101 @@
+package hello.springcoreadvanced2.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import hello.springcoreadvanced2.app.v1.*;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예외 폭주 시나리오 - 클라이언트가 <code>itemId=ex</code>를 계속 요청한다.<br>
+ * - OrderController -> OrderService -> OrderRepository 모두 {@link LogTraceBasicHandler}로 감싼다.<br>
+ * - 로그는 출력하지 않고, 메시지 조립까지만 하는 appender 로 보낸다. (파일/콘솔 I/O 제외)
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExceptionTraceBenchmark {
+
+    /**
+     * itemA: 정상 요청, ex: 예외 요청
+     */
+    @Param({"itemA", "ex"})
+    public String itemId;
+
+    private OrderControllerV1 controller;
+    private Logger logger;
+    private FormattingAppender appender;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        SleepWrapper.replace(millis -> {
+        });
+
+        logger = (Logger) LoggerFactory.getLogger(ThreadLocalLogTrace.class);
+        appender = new FormattingAppender(blackhole);
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        LogTrace logTrace = new ThreadLocalLogTrace();
+        OrderRepositoryV1 repository = proxy(OrderRepositoryV1.class, new OrderRepositoryV1Impl(), logTrace);
+        OrderServiceV1 service = proxy(OrderServiceV1.class, new OrderServiceV1Impl(repository), logTrace);
+        controller = proxy(OrderControllerV1.class, new OrderControllerV1Impl(service), logTrace);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        logger.setLevel(null);
+        SleepWrapper.reset();
+    }
+
+    @Benchmark
+    public Object request() {
+        try {
+            return controller.request(itemId);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, LogTrace logTrace) {
+        return (T) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class[]{type},
+                new LogTraceBasicHandler(target, logTrace)
+        );
+    }
+
+    /**
+     * 메시지를 조립만 하고 버리는 appender
+     */
+    private static class FormattingAppender extends AppenderBase<ILoggingEvent> {
+        private final Blackhole blackhole;
+
+        FormattingAppender(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            blackhole.consume(event.getFormattedMessage());
+        }
+    }
+}
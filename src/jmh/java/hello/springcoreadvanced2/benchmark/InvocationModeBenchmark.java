@@ -0,0 +1,73 @@
+package hello.springcoreadvanced2.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1Impl;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.InvocationMode;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDK 동적 프록시 핸들러의 타겟 호출 방법 비교 - {@link InvocationMode}<br>
+ * - traced: {@link LogTraceBasicHandler}, 로그 Trace + 타겟 호출<br>
+ * - untraced: 패턴과 일치하지 않는 {@link LogTraceFilterHandler}, 타겟 호출만
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvocationModeBenchmark {
+
+    @Param({"REFLECTION", "METHOD_HANDLE"})
+    public InvocationMode mode;
+
+    private OrderRepositoryV1 traced;
+    private OrderRepositoryV1 untraced;
+
+    @Setup
+    public void setUp() {
+        SleepWrapper.replace(millis -> {
+        });
+        ((Logger) LoggerFactory.getLogger("hello.springcoreadvanced2")).setLevel(Level.WARN);
+
+        ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace();
+        traced = proxy(new LogTraceBasicHandler(new OrderRepositoryV1Impl(), logTrace, mode));
+        untraced = proxy(new LogTraceFilterHandler(
+                new OrderRepositoryV1Impl(), logTrace, new String[]{"noMatch*"}, mode
+        ));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SleepWrapper.reset();
+    }
+
+    @Benchmark
+    public void traced() {
+        traced.save("itemA");
+    }
+
+    @Benchmark
+    public void untraced() {
+        untraced.save("itemA");
+    }
+
+    private static OrderRepositoryV1 proxy(InvocationHandler handler) {
+        return (OrderRepositoryV1) Proxy.newProxyInstance(
+                OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class},
+                handler
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package hello.springcoreadvanced2.benchmark;
+
+import hello.springcoreadvanced2.config.v5_autoproxy.AutoProxyConfig;
+import hello.springcoreadvanced2.config.v5_autoproxy.pointcut.PointcutMatchCache;
+import hello.springcoreadvanced2.config.v5_autoproxy.pointcut.PrecompiledExecutionPointcut;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자동 프록시 생성기가 시작할 때 하는 포인트컷 매칭 비용 ({@link AutoProxyConfig})<br>
+ * - 포인트컷을 새로 만들고, 후보 클래스마다 {@link AopUtils#canApply(Pointcut, Class)}를 호출한다.<br>
+ * - 후보 클래스: hello.springcoreadvanced2.app 과 org.springframework.aop, org.springframework.context 의 클래스
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointcutStartupBenchmark {
+
+    private static final String EXPRESSION = """
+                execution(* hello.springcoreadvanced2.app..*(..)) &&
+                !execution(* hello.springcoreadvanced2.app..noLog(..))
+            """;
+
+    /**
+     * aspectj: {@link AspectJExpressionPointcut}<br>
+     * precompiled: {@link PrecompiledExecutionPointcut}, 캐시 없음<br>
+     * cached: {@link PrecompiledExecutionPointcut} + 미리 만든 {@link PointcutMatchCache}
+     */
+    @Param({"aspectj", "precompiled", "cached"})
+    public String pointcut;
+
+    private List<Class<?>> candidates;
+    private PointcutMatchCache cache;
+
+    @Setup
+    public void setUp() throws IOException {
+        candidates = scan("hello/springcoreadvanced2/app", "org/springframework/aop", "org/springframework/context");
+
+        Path file = Files.createTempFile("pointcut-match", ".cache");
+        PointcutMatchCache.write(file, new PrecompiledExecutionPointcut(EXPRESSION), candidates);
+        cache = PointcutMatchCache.load(new FileSystemResource(file), EXPRESSION);
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void canApply(Blackhole blackhole) {
+        Pointcut pc = switch (pointcut) {
+            case "aspectj" -> {
+                AspectJExpressionPointcut aspectJ = new AspectJExpressionPointcut();
+                aspectJ.setExpression(EXPRESSION);
+                yield aspectJ;
+            }
+            case "precompiled" -> new PrecompiledExecutionPointcut(EXPRESSION);
+            case "cached" -> new PrecompiledExecutionPointcut(EXPRESSION, cache);
+            default -> throw new IllegalArgumentException("알 수 없는 포인트컷 = " + pointcut);
+        };
+        for (Class<?> candidate : candidates) {
+            blackhole.consume(AopUtils.canApply(pc, candidate));
+        }
+    }
+
+    private static List<Class<?>> scan(String... paths) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        CachingMetadataReaderFactory readerFactory = new CachingMetadataReaderFactory(resolver);
+        List<Class<?>> classes = new ArrayList<>();
+        for (String path : paths) {
+            for (Resource resource : resolver.getResources("classpath*:" + path + "/**/*.class")) {
+                String className = readerFactory.getMetadataReader(resource).getClassMetadata().getClassName();
+                try {
+                    Class<?> clazz = Class.forName(className, false, PointcutStartupBenchmark.class.getClassLoader());
+                    clazz.getDeclaredMethods();
+                    classes.add(clazz);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // 선택적 의존성이 없는 클래스는 건너뛴다.
+                }
+            }
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,121 @@
+package hello.springcoreadvanced2.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1Impl;
+import hello.springcoreadvanced2.app.v2.OrderRepositoryV2;
+import hello.springcoreadvanced2.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.springcoreadvanced2.config.v4_postprocessor.postprocessor.PackageLogTraceProxyPostProcessor;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 빈이 많을 때 {@link PackageLogTraceProxyPostProcessor}가 시작 시간에 더하는 비용<br>
+ * - 빈 10개 중 1개는 hello.springcoreadvanced2.app 패키지(프록시 대상), 나머지는 다른 패키지의 빈<br>
+ * - 컨텍스트 생성 -> refresh -> close 한 번의 시간<br>
+ * - 로그는 INFO 로 두고, 메시지 조립까지만 하는 appender 로 보낸다. (콘솔 I/O 제외)
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PostProcessorStartupBenchmark {
+
+    /**
+     * none: 빈 후처리기 없음, package: {@link PackageLogTraceProxyPostProcessor} 등록
+     */
+    @Param({"none", "package"})
+    public String processor;
+
+    @Param({"1000", "5000"})
+    public int beanCount;
+
+    private Logger logger;
+    private Logger springLogger;
+    private FormattingAppender appender;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        springLogger = (Logger) LoggerFactory.getLogger("org.springframework");
+        springLogger.setLevel(Level.WARN);
+
+        logger = (Logger) LoggerFactory.getLogger(PackageLogTraceProxyPostProcessor.class);
+        appender = new FormattingAppender(blackhole);
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        logger.setLevel(null);
+        springLogger.setLevel(null);
+    }
+
+    @Benchmark
+    public Object startup() {
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            if (processor.equals("package")) {
+                context.registerBean(PackageLogTraceProxyPostProcessor.class, PostProcessorStartupBenchmark::postProcessor);
+            }
+            for (int i = 0; i < beanCount; i++) {
+                switch (i % 10) {
+                    case 0 -> context.registerBean("repositoryV1_" + i, OrderRepositoryV1.class, OrderRepositoryV1Impl::new);
+                    case 5 -> context.registerBean("repositoryV2_" + i, OrderRepositoryV2.class, OrderRepositoryV2::new);
+                    default -> context.registerBean("plain_" + i, PlainBean.class, PlainBean::new);
+                }
+            }
+            context.refresh();
+            return context.getBean("repositoryV1_0");
+        }
+    }
+
+    private static PackageLogTraceProxyPostProcessor postProcessor() {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*", "order*", "save*");
+        return new PackageLogTraceProxyPostProcessor(
+                "hello.springcoreadvanced2.app",
+                new DefaultPointcutAdvisor(pointcut, new LogTraceAdvice(new ThreadLocalLogTrace()))
+        );
+    }
+
+    /**
+     * 프록시 대상이 아닌 빈
+     */
+    public static class PlainBean {
+        public String save(String itemId) {
+            return itemId;
+        }
+    }
+
+    /**
+     * 메시지를 조립만 하고 버리는 appender
+     */
+    private static class FormattingAppender extends AppenderBase<ILoggingEvent> {
+        private final Blackhole blackhole;
+
+        FormattingAppender(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            blackhole.consume(event.getFormattedMessage());
+        }
+    }
+}
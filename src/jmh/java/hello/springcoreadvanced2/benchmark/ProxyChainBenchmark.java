@@ -0,0 +1,131 @@
+package hello.springcoreadvanced2.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import hello.springcoreadvanced2.app.v1.OrderControllerV1;
+import hello.springcoreadvanced2.app.v2.OrderControllerV2;
+import hello.springcoreadvanced2.config.AppV1Config;
+import hello.springcoreadvanced2.config.AppV2Config;
+import hello.springcoreadvanced2.config.v1_proxy.ConcreteProxyConfig;
+import hello.springcoreadvanced2.config.v1_proxy.InterfaceProxyConfig;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.DynamicProxyBasicConfig;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.DynamicProxyFilterConfig;
+import hello.springcoreadvanced2.config.v2_dynamicproxy_add.DynamicProxyConfig;
+import hello.springcoreadvanced2.config.v3_proxyfactory.ProxyFactoryConfigV1;
+import hello.springcoreadvanced2.config.v3_proxyfactory.ProxyFactoryConfigV2;
+import hello.springcoreadvanced2.config.v4_postprocessor.BeanPostProcessorConfig;
+import hello.springcoreadvanced2.config.v5_autoproxy.AutoProxyConfig;
+import hello.springcoreadvanced2.config.v6_aop.AopConfig;
+import hello.springcoreadvanced2.trace.logtrace.LogTraceConfig;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 프록시 적용 방식별 호출 비용 비교<br>
+ * - OrderController -> OrderService -> OrderRepository 호출 체인을 설정별로 실행한다.<br>
+ * - {@link SleepWrapper}는 아무것도 하지 않도록 교체하고, 로그 출력(appender I/O)은 끈다.
+ * <p>
+ * 실행: <code>./gradlew jmh</code> (build.gradle 의 jmh 블록에서 gc 프로파일러 사용)
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProxyChainBenchmark {
+
+    /**
+     * <ul>
+     * <li>none: 프록시 없음 ({@link AppV1Config})</li>
+     * <li>v1_interface, v1_concrete: 직접 만든 프록시</li>
+     * <li>v2_basic, v2_filter, v2_add: JDK 동적 프록시</li>
+     * <li>v3_interface, v3_concrete: ProxyFactory</li>
+     * <li>v4: 빈 후처리기, v5: 자동 프록시 생성기, v6: @Aspect</li>
+     * </ul>
+     */
+    @Param({
+            "none",
+            "v1_interface", "v1_concrete",
+            "v2_basic", "v2_filter", "v2_add",
+            "v3_interface", "v3_concrete",
+            "v4", "v5", "v6"
+    })
+    public String config;
+
+    private AnnotationConfigApplicationContext context;
+    private Supplier<String> call;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        SleepWrapper.replace(millis -> {
+        });
+        ((Logger) LoggerFactory.getLogger("hello.springcoreadvanced2")).setLevel(Level.WARN);
+
+        context = new AnnotationConfigApplicationContext();
+        context.register(LogTraceConfig.class);
+        switch (config) {
+            case "none" -> context.register(AppV1Config.class);
+            case "v1_interface" -> context.register(InterfaceProxyConfig.class);
+            case "v1_concrete" -> context.register(ConcreteProxyConfig.class);
+            case "v2_basic" -> context.register(DynamicProxyBasicConfig.class);
+            case "v2_filter" -> context.register(DynamicProxyFilterConfig.class);
+            case "v2_add" -> context.register(DynamicProxyConfig.class);
+            case "v3_interface" -> context.register(ProxyFactoryConfigV1.class);
+            case "v3_concrete" -> context.register(ProxyFactoryConfigV2.class);
+            case "v4" -> context.register(BeanPostProcessorConfig.class);
+            case "v5" -> context.register(AutoProxyConfig.class, AspectJAutoProxyConfig.class);
+            case "v6" -> context.register(AopConfig.class, AspectJAutoProxyConfig.class);
+            default -> throw new IllegalArgumentException("알 수 없는 설정 = " + config);
+        }
+        context.refresh();
+
+        if (context.getBeanNamesForType(OrderControllerV1.class).length > 0) {
+            OrderControllerV1 controller = context.getBean(OrderControllerV1.class);
+            call = () -> controller.request("itemA");
+        } else {
+            OrderControllerV2 controller = context.getBean(OrderControllerV2.class);
+            call = () -> controller.request("itemA");
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.close();
+        SleepWrapper.reset();
+    }
+
+    /**
+     * 호출 1번의 평균 비용
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String perCall() {
+        return call.get();
+    }
+
+    /**
+     * 모든 코어를 사용했을 때의 처리량
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String throughput() {
+        return call.get();
+    }
+
+    /**
+     * 스프링 부트 밖에서 자동 프록시 생성기를 등록하기 위한 설정 (v5, v6)
+     */
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class AspectJAutoProxyConfig {
+    }
+}
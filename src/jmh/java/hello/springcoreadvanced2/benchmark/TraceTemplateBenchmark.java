@@ -0,0 +1,86 @@
+package hello.springcoreadvanced2.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import hello.springcoreadvanced2.trace.TraceStatusPool;
+import hello.springcoreadvanced2.trace.callback.TraceCallback;
+import hello.springcoreadvanced2.trace.callback.TraceTemplate;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.sampling.SamplingLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.sampling.SamplingMode;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TraceTemplate} 진입점별 호출 비용, 할당량 비교 (<code>-prof gc</code>의 gc.alloc.rate.norm)<br>
+ * - boxed: 기존 {@link TraceCallback}, 값을 캡처하는 람다 + 박싱된 결과<br>
+ * - primitive: executeLong, 캡처하지 않는 람다 + 기본 타입 결과<br>
+ * - context: 문맥을 넘기는 executeVoid, 캡처하지 않는 메서드 참조
+ * <p>
+ * logTrace<br>
+ * - sampled-out: 기록하지 않는 {@link SamplingLogTrace}, {@link LogTrace} 자체는 할당하지 않는다.<br>
+ * - thread-local: 로그 출력을 끈 {@link ThreadLocalLogTrace}, 호출마다 TraceStatus 를 만든다.<br>
+ * - thread-local-pooled: 위와 같고, {@link TraceStatusPool}로 TraceStatus 를 재사용한다.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TraceTemplateBenchmark {
+    private static final String MESSAGE = "OrderServiceV1.orderItem()";
+
+    private static long counter;
+
+    @Param({"sampled-out", "thread-local", "thread-local-pooled"})
+    public String logTrace;
+
+    private TraceTemplate template;
+
+    /**
+     * context 벤치마크에서 넘기는 문맥
+     */
+    private long total;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("hello.springcoreadvanced2")).setLevel(Level.WARN);
+        LogTrace trace = switch (logTrace) {
+            case "sampled-out" -> new SamplingLogTrace(SamplingMode.HEAD, 0.0, 0);
+            case "thread-local" -> new ThreadLocalLogTrace();
+            case "thread-local-pooled" -> new ThreadLocalLogTrace(new ThreadLocalTraceContextCarrier(), 8);
+            default -> throw new IllegalArgumentException(logTrace);
+        };
+        template = new TraceTemplate(trace);
+    }
+
+    @Benchmark
+    public Long boxed() {
+        long base = counter;
+        return template.execute(MESSAGE, () -> base + 1000);
+    }
+
+    @Benchmark
+    public long primitive() {
+        return template.executeLong(MESSAGE, TraceTemplateBenchmark::next);
+    }
+
+    @Benchmark
+    public long context() {
+        template.executeVoid(MESSAGE, this, TraceTemplateBenchmark::add);
+        return total;
+    }
+
+    private static long next() {
+        return ++counter + 1000;
+    }
+
+    private static void add(TraceTemplateBenchmark state) {
+        state.total += 1000;
+    }
+}
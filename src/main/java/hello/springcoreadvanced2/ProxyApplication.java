@@ -1,16 +1,23 @@
 package hello.springcoreadvanced2;
 
+import hello.springcoreadvanced2.cache.CachingConfig;
 import hello.springcoreadvanced2.config.v6_aop.AopConfig;
+import hello.springcoreadvanced2.singleflight.SingleFlightConfig;
 import hello.springcoreadvanced2.trace.logtrace.LogTraceConfig;
+import hello.springcoreadvanced2.writebehind.WriteBehindProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Import;
 
 @Import({
         LogTraceConfig.class,
-        AopConfig.class
+        AopConfig.class,
+        SingleFlightConfig.class,
+        CachingConfig.class
 })
 @SpringBootApplication(scanBasePackages = "hello.springcoreadvanced2.app.v3")
+@EnableConfigurationProperties(WriteBehindProperties.class)
 public class ProxyApplication {
 
     public static void main(String[] args) {
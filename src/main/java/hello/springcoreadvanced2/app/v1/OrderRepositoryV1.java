@@ -1,10 +1,13 @@
 package hello.springcoreadvanced2.app.v1;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * v1<br>
  * 인터페이스와 구현 클래스 - 스프링 빈으로 수동 등록<br><br>
  * OrderRepository 인터페이스<br>
- * - {@link OrderRepositoryV1Impl}
+ * - {@link OrderRepositoryV1Impl}<br>
+ * - {@link OrderRepositoryV1WriteBehindImpl}
  */
 public interface OrderRepositoryV1 {
 
@@ -14,4 +17,17 @@ public interface OrderRepositoryV1 {
      * @param itemId 아이템 ID
      */
     void save(String itemId);
+
+    /**
+     * 저장 로직, 완료를 Future 로 알려준다.<br>
+     * - 기본 구현은 {@link #save}를 호출하고 완료된 Future 를 돌려준다.
+     *
+     * @param itemId 아이템 ID
+     * @return 저장이 끝나면 완료되는 Future
+     * @throws IllegalStateException itemId.equals("ex"), Future 가 아니라 바로 던진다.
+     */
+    default CompletableFuture<Void> saveAsync(String itemId) {
+        save(itemId);
+        return CompletableFuture.completedFuture(null);
+    }
 }
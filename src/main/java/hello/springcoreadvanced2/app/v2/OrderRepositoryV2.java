@@ -3,6 +3,8 @@ package hello.springcoreadvanced2.app.v2;
 import hello.springcoreadvanced2.wrapper.SleepWrapper;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * v2<br>
  * 인터페이스 없는 구체 클래스 - 스프링 빈 수동 등록<br><br>
@@ -23,4 +25,17 @@ public class OrderRepositoryV2 {
         }
         SleepWrapper.sleep(1000);
     }
+
+    /**
+     * 주문 저장 로직, 완료를 Future 로 알려준다.<br>
+     * - {@link #save}를 호출하고 완료된 Future 를 돌려준다.
+     *
+     * @param itemId 상품 ID
+     * @return 저장이 끝나면 완료되는 Future
+     * @throws IllegalStateException itemId.equals("ex"), Future 가 아니라 바로 던진다.
+     */
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        save(itemId);
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -5,6 +5,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * v3<br>
  * 컴포넌트 스캔으로 스프링 빈 자동 등록<br><br>
@@ -29,6 +31,19 @@ public class OrderControllerV3 {
         return itemId;
     }
 
+    /**
+     * GET /v3/request-async<br>
+     * - Future 를 돌려주면 스프링 MVC 가 비동기로 처리한다. 저장을 기다리는 동안 요청 쓰레드를 붙잡지 않는다.
+     *
+     * @param itemId 상품 ID
+     * @return 저장이 끝나면 ECHO 상품 ID 로 완료되는 Future
+     * @throws IllegalStateException itemId.equals("ex")
+     */
+    @GetMapping("/request-async")
+    public CompletableFuture<String> requestAsync(String itemId) {
+        return orderService.orderItemAsync(itemId).thenApply(ignored -> itemId);
+    }
+
     /**
      * GET /v3/no-log
      *
@@ -2,15 +2,20 @@ package hello.springcoreadvanced2.app.v3;
 
 import hello.springcoreadvanced2.wrapper.SleepWrapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * v3<br>
  * 컴포넌트 스캔으로 스프링 빈 자동 등록<br><br>
- * 주문 저장소
+ * 주문 저장소<br>
+ * - <code>order.repository.mode=write-behind</code> 이면 {@link OrderRepositoryV3WriteBehind}를 대신 등록한다.
  */
 @Slf4j
 @Repository
+@ConditionalOnProperty(name = "order.repository.mode", havingValue = "direct", matchIfMissing = true)
 public class OrderRepositoryV3 {
 
     /**
@@ -25,4 +30,19 @@ public class OrderRepositoryV3 {
         }
         SleepWrapper.sleep(1000);
     }
+
+    /**
+     * 주문 저장 로직, 완료를 Future 로 알려준다.<br>
+     * - 1초 대기를 {@link SleepWrapper#sleepAsync}에 맡기고 바로 돌아간다. 기다리는 동안 쓰레드를 붙잡지 않는다.
+     *
+     * @param itemId 상품 ID
+     * @return 저장이 끝나면 완료되는 Future
+     * @throws IllegalStateException itemId.equals("ex"), Future 가 아니라 바로 던진다.
+     */
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        if (itemId.equals("ex")) {
+            throw new IllegalStateException("예외 발생!");
+        }
+        return SleepWrapper.sleepAsync(1000);
+    }
 }
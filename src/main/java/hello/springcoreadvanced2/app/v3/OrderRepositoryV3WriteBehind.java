@@ -0,0 +1,53 @@
+package hello.springcoreadvanced2.app.v3;
+
+import hello.springcoreadvanced2.writebehind.ItemWriteBehind;
+import hello.springcoreadvanced2.writebehind.WriteBehindProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * v3<br>
+ * 컴포넌트 스캔으로 스프링 빈 자동 등록<br><br>
+ * {@link OrderRepositoryV3} Write-Behind 저장소<br>
+ * - 저장은 {@link ItemWriteBehind}에 맡긴다. 모인 상품을 1초 대기 한 번으로 저장한다.<br>
+ * - 설정은 {@link WriteBehindProperties}, <code>order.repository.write-behind.*</code>
+ */
+@Repository
+@ConditionalOnProperty(name = "order.repository.mode", havingValue = "write-behind")
+public class OrderRepositoryV3WriteBehind extends OrderRepositoryV3 implements AutoCloseable {
+    private final ItemWriteBehind writeBehind;
+
+    /**
+     * @param properties <code>order.repository.write-behind.*</code>
+     */
+    public OrderRepositoryV3WriteBehind(WriteBehindProperties properties) {
+        this.writeBehind = new ItemWriteBehind("order-repository-v3-write-behind", properties);
+    }
+
+    /**
+     * 주문 저장 로직, 저장이 끝날 때까지 기다리지 않는다.
+     *
+     * @param itemId 상품 ID
+     * @throws IllegalStateException                            itemId.equals("ex")
+     * @throws java.util.concurrent.RejectedExecutionException 큐가 가득 찼을 때
+     */
+    @Override
+    public void save(String itemId) {
+        saveAsync(itemId);
+    }
+
+    /**
+     * @see #save
+     */
+    @Override
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        return writeBehind.save(itemId);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        writeBehind.close();
+    }
+}
@@ -1,8 +1,11 @@
 package hello.springcoreadvanced2.app.v3;
 
+import hello.springcoreadvanced2.singleflight.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * v3<br>
  * 컴포넌트 스캔으로 스프링 빈 자동 등록<br><br>
@@ -14,12 +17,27 @@ public class OrderServiceV3 {
     private final OrderRepositoryV3 orderRepository;
 
     /**
-     * 주문 저장 비즈니스 로직
+     * 주문 저장 비즈니스 로직<br>
+     * - <code>single-flight.enabled=true</code> 이면 같은 itemId 로 동시에 들어온 주문은 저장을 한 번만 한다. {@link SingleFlight}
      *
      * @param itemId 상품 ID
      * @throws IllegalStateException itemId.equals("ex")
      */
+    @SingleFlight
     public void orderItem(String itemId) {
         orderRepository.save(itemId);
     }
+
+    /**
+     * 주문 저장 비즈니스 로직, 저장을 기다리지 않는다.<br>
+     * - {@link #orderItem}과 같이 동시에 들어온 같은 itemId 주문을 합친다.
+     *
+     * @param itemId 상품 ID
+     * @return 저장이 끝나면 완료되는 Future
+     * @throws IllegalStateException itemId.equals("ex")
+     */
+    @SingleFlight
+    public CompletableFuture<Void> orderItemAsync(String itemId) {
+        return orderRepository.saveAsync(itemId);
+    }
 }
@@ -0,0 +1,41 @@
+package hello.springcoreadvanced2.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link SegmentedLruCache} 조회 결과
+ */
+@Getter
+@RequiredArgsConstructor
+public class CacheStats {
+    /**
+     * 캐시된 값을 돌려준 횟수
+     */
+    private final long hitCount;
+
+    /**
+     * 캐시된 값이 없거나 만료된 횟수, 다른 호출의 loader 를 기다린 경우 포함
+     */
+    private final long missCount;
+
+    /**
+     * 무게가 넘치거나 만료되어 내보낸 횟수
+     */
+    private final long evictionCount;
+
+    /**
+     * @return 조회 중 캐시된 값을 돌려준 비율, 조회가 없으면 1
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "hit = " + hitCount
+                + ", miss = " + missCount
+                + ", eviction = " + evictionCount;
+    }
+}
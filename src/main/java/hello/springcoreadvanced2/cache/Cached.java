@@ -0,0 +1,26 @@
+package hello.springcoreadvanced2.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드 결과를 캐시한다. ({@link CachingInterceptor})<br>
+ * - 키: 메서드 + 인자 목록, 인자는 equals/hashCode 로 비교한다.<br>
+ * - 예외는 캐시하지 않는다. 반환 타입이 void 이거나 Future 인 메서드는 캐시하지 않고 그대로 호출한다.
+ * <p>
+ * {@link CachingConfig}를 등록해야 동작한다. hello.springcoreadvanced2.app 의 빈 메서드에 붙인다.<br>
+ * - 예) <code>@Cached(ttlMillis = 60_000) public String findItem(String itemId)</code>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+
+    /**
+     * 저장한 뒤 만료될 때까지의 시간
+     */
+    long ttlMillis() default 60_000;
+}
@@ -0,0 +1,49 @@
+package hello.springcoreadvanced2.cache;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link Cached} 설정<br>
+ * - <code>cache.enabled=true</code> 일 때만 어드바이저를 등록한다. 없으면 애노테이션은 아무 일도 하지 않는다.<br>
+ * - 어드바이저만 빈으로 등록하고, 프록시는 자동 프록시 생성기가 만든다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.enabled", havingValue = "true")
+public class CachingConfig {
+
+    /**
+     * <code>cache.max-weight</code> (기본값 10000): 전체 최대 무게, {@link CachingInterceptor#DEFAULT_WEIGHER}<br>
+     * <code>cache.segments</code> (기본값 16): Segment 수
+     */
+    @Bean
+    public CachingInterceptor cachingInterceptor(
+            @Value("${cache.max-weight:10000}") long maxWeight,
+            @Value("${cache.segments:16}") int segments
+    ) {
+        return new CachingInterceptor(new SegmentedLruCache<>(maxWeight, segments, CachingInterceptor.DEFAULT_WEIGHER));
+    }
+
+    /**
+     * <code>cache.base-package</code> (기본값 hello.springcoreadvanced2.app) 의 클래스 중 {@link Cached}가 붙은 메서드
+     */
+    @Bean
+    public Advisor cachingAdvisor(
+            CachingInterceptor cachingInterceptor,
+            @Value("${cache.base-package:hello.springcoreadvanced2.app}") String basePackage
+    ) {
+        String prefix = basePackage + ".";
+        ClassFilter inPackage = clazz -> clazz.getName().startsWith(prefix);
+        ComposablePointcut pointcut = new ComposablePointcut(inPackage)
+                .intersection(AnnotationMatchingPointcut.forMethodAnnotation(Cached.class));
+
+        return new DefaultPointcutAdvisor(pointcut, cachingInterceptor);
+    }
+}
@@ -0,0 +1,99 @@
+package hello.springcoreadvanced2.cache;
+
+import hello.springcoreadvanced2.wrapper.MethodArgumentsKey;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Cached} Advice<br>
+ * - {@link org.springframework.aop.framework.ProxyFactory}에 Advice 로 넣거나, {@link CachingConfig}의 어드바이저로 사용한다.<br>
+ * - 결과는 {@link SegmentedLruCache}에 저장한다. 같은 키를 동시에 처음 호출하면 대상 메서드는 한 번만 실행된다.<br>
+ * - {@link Cached}가 없는 메서드는 그대로 호출한다.
+ */
+public class CachingInterceptor implements MethodInterceptor {
+
+    /**
+     * 기본 무게, 문자열은 길이, 나머지는 1
+     */
+    public static final ToLongFunction<Object> DEFAULT_WEIGHER =
+            value -> value instanceof CharSequence text ? Math.max(text.length(), 1) : 1;
+
+    /**
+     * 캐시하지 않는 메서드
+     */
+    private static final Operation NOT_CACHED = new Operation(null, -1);
+
+    private final SegmentedLruCache<MethodArgumentsKey, Object> cache;
+
+    /**
+     * (메서드, 대상 클래스)별 캐시 방법, 애노테이션은 한 번만 찾는다.
+     */
+    private final Map<MethodClassKey, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param cache 결과를 저장할 캐시
+     */
+    public CachingInterceptor(SegmentedLruCache<MethodArgumentsKey, Object> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Object invoke(
+            MethodInvocation invocation
+    ) throws Throwable {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Operation operation = operations.computeIfAbsent(
+                new MethodClassKey(method, targetClass), key -> operation(method, targetClass)
+        );
+        if (operation == NOT_CACHED) {
+            return invocation.proceed();
+        }
+        // 인터페이스 메서드가 아니라 대상 클래스의 메서드로 키를 만든다. 구현체가 달라도 같은 키가 되지 않는다.
+        MethodArgumentsKey key = new MethodArgumentsKey(operation.method, invocation.getArguments());
+        return cache.get(key, operation.ttlMillis, invocation::proceed);
+    }
+
+    /**
+     * @return 캐시 조회 횟수와 내보낸 횟수
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 대상 클래스의 메서드에 붙은 {@link Cached}, 없으면 {@link #NOT_CACHED}
+     */
+    private static Operation operation(Method method, Class<?> targetClass) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class || Future.class.isAssignableFrom(returnType)) {
+            return NOT_CACHED;
+        }
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Cached cached = AnnotatedElementUtils.findMergedAnnotation(specificMethod, Cached.class);
+        return cached == null ? NOT_CACHED : new Operation(specificMethod, Math.max(cached.ttlMillis(), 0));
+    }
+
+    /**
+     * 대상 클래스의 메서드와 만료 시간
+     */
+    private static final class Operation {
+        private final Method method;
+        private final long ttlMillis;
+
+        private Operation(Method method, long ttlMillis) {
+            this.method = method;
+            this.ttlMillis = ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package hello.springcoreadvanced2.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 동시성 Segmented LRU 캐시<br>
+ * - 키의 해시로 Segment 를 나누고, Segment 마다 락 하나를 둔다. 다른 Segment 의 키는 서로 기다리지 않는다.<br>
+ * - 항목마다 만료 시간(TTL)과 무게(weight)가 있다. 무게 합이 maxWeight 를 넘으면 오래 안 쓴 항목부터 내보낸다.
+ * <p>
+ * Segment 의 두 구역<br>
+ * - probation: 새 항목이 들어가는 곳, 한 번만 읽힌 항목은 여기서 먼저 내보낸다.<br>
+ * - protected: probation 에서 한 번 더 읽힌 항목, 무게의 {@link #PROTECTED_RATIO}까지만 둔다. 넘치면 probation 으로 내린다.<br>
+ * - 한 번씩만 읽는 키가 쏟아져도(scan) 자주 읽는 항목은 protected 에 남는다.
+ * <p>
+ * 같은 키를 동시에 처음 읽으면 loader 는 한 번만 실행하고, 나머지는 그 결과를 기다린다. (stampede 방지)<br>
+ * - loader 가 던진 예외는 기다린 호출도 같이 받는다. 예외는 캐시하지 않는다.
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입
+ */
+public class SegmentedLruCache<K, V> {
+
+    /**
+     * Segment 무게 중 protected 구역이 차지할 수 있는 비율
+     */
+    static final double PROTECTED_RATIO = 0.8;
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    private final ToLongFunction<? super V> weigher;
+    private final LongSupplier ticker;
+
+    /**
+     * loader 를 실행중인 키
+     */
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxWeight    전체 최대 무게, Segment 마다 maxWeight / segmentCount 씩 나눠 갖는다.
+     * @param segmentCount Segment 수, 2의 거듭제곱으로 올림한다.
+     * @param weigher      값의 무게, 1 이상
+     */
+    public SegmentedLruCache(long maxWeight, int segmentCount, ToLongFunction<? super V> weigher) {
+        this(maxWeight, segmentCount, weigher, System::nanoTime);
+    }
+
+    /**
+     * @param ticker 현재 시간(ns), 테스트에서 시간을 움직일 때 교체한다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SegmentedLruCache(long maxWeight, int segmentCount, ToLongFunction<? super V> weigher, LongSupplier ticker) {
+        if (segmentCount < 1 || segmentCount > (1 << 16) || maxWeight < segmentCount) {
+            throw new IllegalArgumentException(
+                    "segmentCount 는 1 ~ 65536, maxWeight 는 segmentCount 이상이어야 합니다. maxWeight = " + maxWeight
+                            + ", segmentCount = " + segmentCount
+            );
+        }
+        int size = Math.max(Integer.highestOneBit(segmentCount - 1) << 1, 1);
+        this.segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment<>(maxWeight / size, evictions);
+        }
+        this.mask = size - 1;
+        this.weigher = weigher;
+        this.ticker = ticker;
+    }
+
+    /**
+     * 캐시된 값 조회, 없거나 만료되었으면 loader 로 만들어서 저장한다.
+     *
+     * @param key       키
+     * @param ttlMillis 새로 저장할 때의 만료 시간
+     * @param loader    값을 만드는 방법
+     * @return 캐시된 값 또는 loader 가 만든 값
+     * @throws Throwable loader 가 던진 예외, 같은 키를 기다리던 호출도 같은 예외를 받는다.
+     */
+    public V get(K key, long ttlMillis, Loader<? extends V> loader) throws Throwable {
+        Segment<K, V> segment = segmentFor(key);
+        Node<V> node = segment.get(key, ticker.getAsLong());
+        if (node != null) {
+            hits.increment();
+            return node.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // 조회한 뒤 loading 에 들어가기 전에, 다른 호출이 저장을 끝냈을 수 있다.
+            node = segment.get(key, ticker.getAsLong());
+            V value = node != null ? node.value : loader.load();
+            if (node == null) {
+                long weight = Math.max(weigher.applyAsLong(value), 1);
+                long expiresAt = ticker.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+                segment.put(key, new Node<>(value, weight, expiresAt));
+            }
+            flight.complete(value);
+            return value;
+        } catch (Throwable t) {
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            // 캐시에 넣은 뒤에 지운다. 새로 들어온 호출은 캐시나 loading 중 하나에서 찾는다.
+            loading.remove(key, flight);
+        }
+    }
+
+    /**
+     * 항목 삭제
+     */
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * @return 조회 횟수와 내보낸 횟수
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * @return 저장된 항목 수, 만료되었지만 아직 지우지 않은 항목 포함
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return 저장된 항목의 무게 합
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) throws Throwable {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    /**
+     * 값을 만드는 방법, 메서드 호출({@link org.aopalliance.intercept.MethodInvocation#proceed()})처럼 아무 예외나 던질 수 있다.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws Throwable;
+    }
+
+    /**
+     * 저장된 값, 무게, 만료 시각
+     */
+    private static final class Node<V> {
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+
+        private Node(V value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * 락 하나로 보호하는 probation + protected 구역
+     */
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<K, Node<V>> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxWeight;
+        private final long protectedMaxWeight;
+        private final LongAdder evictions;
+
+        private long weight;
+        private long protectedWeight;
+
+        private Segment(long maxWeight, LongAdder evictions) {
+            this.maxWeight = maxWeight;
+            this.protectedMaxWeight = (long) (maxWeight * PROTECTED_RATIO);
+            this.evictions = evictions;
+        }
+
+        /**
+         * 조회, probation 에서 읽히면 protected 로 올린다. 만료된 항목은 지우고 null
+         */
+        private synchronized Node<V> get(K key, long now) {
+            Node<V> node = protectedArea.get(key);
+            if (node != null) {
+                if (node.isExpired(now)) {
+                    protectedArea.remove(key);
+                    protectedWeight -= node.weight;
+                    weight -= node.weight;
+                    evictions.increment();
+                    return null;
+                }
+                return node;
+            }
+
+            node = probation.remove(key);
+            if (node == null) {
+                return null;
+            }
+            if (node.isExpired(now)) {
+                weight -= node.weight;
+                evictions.increment();
+                return null;
+            }
+            protectedArea.put(key, node);
+            protectedWeight += node.weight;
+            demoteOverflow();
+            return node;
+        }
+
+        /**
+         * 저장, probation 의 가장 최근 위치에 넣고 무게가 넘치면 내보낸다.<br>
+         * - 만료된 항목을 찾아다니지 않는다. 만료된 항목은 조회될 때 지우거나, 오래 안 쓰였으므로 먼저 내보내진다.
+         */
+        private synchronized void put(K key, Node<V> node) {
+            remove(key);
+            probation.put(key, node);
+            weight += node.weight;
+            while (weight > maxWeight) {
+                evictOne();
+            }
+        }
+
+        private synchronized void remove(K key) {
+            Node<V> node = probation.remove(key);
+            if (node == null) {
+                node = protectedArea.remove(key);
+                if (node != null) {
+                    protectedWeight -= node.weight;
+                }
+            }
+            if (node != null) {
+                weight -= node.weight;
+            }
+        }
+
+        private synchronized int size() {
+            return probation.size() + protectedArea.size();
+        }
+
+        private synchronized long weight() {
+            return weight;
+        }
+
+        /**
+         * protected 가 넘치면 가장 오래 안 쓴 항목을 probation 의 가장 최근 위치로 내린다.
+         */
+        private void demoteOverflow() {
+            Iterator<Map.Entry<K, Node<V>>> it = protectedArea.entrySet().iterator();
+            while (protectedWeight > protectedMaxWeight && it.hasNext()) {
+                Map.Entry<K, Node<V>> eldest = it.next();
+                it.remove();
+                protectedWeight -= eldest.getValue().weight;
+                probation.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        /**
+         * probation 에서 가장 오래 안 쓴 항목, 비어있으면 protected 에서 내보낸다.
+         */
+        private void evictOne() {
+            LinkedHashMap<K, Node<V>> area = probation.isEmpty() ? protectedArea : probation;
+            Iterator<Node<V>> it = area.values().iterator();
+            Node<V> victim = it.next();
+            it.remove();
+            weight -= victim.weight;
+            if (area == protectedArea) {
+                protectedWeight -= victim.weight;
+            }
+            evictions.increment();
+        }
+    }
+}
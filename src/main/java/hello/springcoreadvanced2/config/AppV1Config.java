@@ -1,6 +1,9 @@
 package hello.springcoreadvanced2.config;
 
 import hello.springcoreadvanced2.app.v1.*;
+import hello.springcoreadvanced2.writebehind.WriteBehindProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,32 +11,49 @@ import org.springframework.context.annotation.Configuration;
  * v1<br>
  * 인터페이스와 구현 클래스 - 스프링 빈으로 수동 등록<br><br>
  * <p>
- * 스프링 빈 수동 등록 설정
+ * 스프링 빈 수동 등록 설정<br>
+ * - <code>order.repository.mode</code> 속성으로 저장소를 선택한다. direct (기본값), write-behind
  */
 @Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
 public class AppV1Config {
 
     /**
      * @return {@link OrderControllerV1Impl}
      */
     @Bean
-    public OrderControllerV1 orderControllerV1() {
-        return new OrderControllerV1Impl(orderServiceV1());
+    public OrderControllerV1 orderControllerV1(OrderServiceV1 orderServiceV1) {
+        return new OrderControllerV1Impl(orderServiceV1);
     }
 
     /**
      * @return {@link OrderServiceV1Impl}
      */
     @Bean
-    public OrderServiceV1 orderServiceV1() {
-        return new OrderServiceV1Impl(orderRepositoryV1());
+    public OrderServiceV1 orderServiceV1(OrderRepositoryV1 orderRepositoryV1) {
+        return new OrderServiceV1Impl(orderRepositoryV1);
     }
 
     /**
+     * <code>order.repository.mode=direct</code> (기본값)
+     *
      * @return {@link OrderRepositoryV1Impl}
      */
     @Bean
+    @ConditionalOnProperty(name = "order.repository.mode", havingValue = "direct", matchIfMissing = true)
     public OrderRepositoryV1 orderRepositoryV1() {
         return new OrderRepositoryV1Impl();
     }
+
+    /**
+     * <code>order.repository.mode=write-behind</code><br>
+     * - {@link WriteBehindProperties}, <code>order.repository.write-behind.*</code>
+     *
+     * @return {@link OrderRepositoryV1WriteBehindImpl}
+     */
+    @Bean
+    @ConditionalOnProperty(name = "order.repository.mode", havingValue = "write-behind")
+    public OrderRepositoryV1 orderRepositoryV1WriteBehind(WriteBehindProperties properties) {
+        return new OrderRepositoryV1WriteBehindImpl(properties);
+    }
 }
@@ -2,30 +2,47 @@ package hello.springcoreadvanced2.config;
 
 import hello.springcoreadvanced2.app.v2.OrderControllerV2;
 import hello.springcoreadvanced2.app.v2.OrderRepositoryV2;
+import hello.springcoreadvanced2.app.v2.OrderRepositoryV2WriteBehind;
 import hello.springcoreadvanced2.app.v2.OrderServiceV2;
+import hello.springcoreadvanced2.writebehind.WriteBehindProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * v2<br>
  * 인터페이스 없는 구체 클래스 - 스프링 빈 수동 등록<br><br>
- * 스프링 빈 수동 등록 설정
+ * 스프링 빈 수동 등록 설정<br>
+ * - <code>order.repository.mode</code> 속성으로 저장소를 선택한다. direct (기본값), write-behind
  */
 @Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
 public class AppV2Config {
 
     @Bean
-    public OrderControllerV2 orderControllerV2() {
-        return new OrderControllerV2(orderServiceV2());
+    public OrderControllerV2 orderControllerV2(OrderServiceV2 orderServiceV2) {
+        return new OrderControllerV2(orderServiceV2);
     }
 
     @Bean
-    public OrderServiceV2 orderServiceV2() {
-        return new OrderServiceV2(orderRepositoryV2());
+    public OrderServiceV2 orderServiceV2(OrderRepositoryV2 orderRepositoryV2) {
+        return new OrderServiceV2(orderRepositoryV2);
     }
 
     @Bean
+    @ConditionalOnProperty(name = "order.repository.mode", havingValue = "direct", matchIfMissing = true)
     public OrderRepositoryV2 orderRepositoryV2() {
         return new OrderRepositoryV2();
     }
-}
\ No newline at end of file
+
+    /**
+     * <code>order.repository.mode=write-behind</code><br>
+     * - {@link WriteBehindProperties}, <code>order.repository.write-behind.*</code>
+     */
+    @Bean
+    @ConditionalOnProperty(name = "order.repository.mode", havingValue = "write-behind")
+    public OrderRepositoryV2 orderRepositoryV2WriteBehind(WriteBehindProperties properties) {
+        return new OrderRepositoryV2WriteBehind(properties);
+    }
+}
@@ -3,47 +3,50 @@ package hello.springcoreadvanced2.config.v1_proxy;
 import hello.springcoreadvanced2.app.v2.OrderControllerV2;
 import hello.springcoreadvanced2.app.v2.OrderRepositoryV2;
 import hello.springcoreadvanced2.app.v2.OrderServiceV2;
-import hello.springcoreadvanced2.config.v1_proxy.concrete_proxy.OrderControllerConcreteProxy;
-import hello.springcoreadvanced2.config.v1_proxy.concrete_proxy.OrderRepositoryConcreteProxy;
-import hello.springcoreadvanced2.config.v1_proxy.concrete_proxy.OrderServiceConcreteProxy;
 import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * V2 구체 클래스 Proxy 설정
+ * V2 구체 클래스 Proxy 설정<br>
+ * - 프록시 클래스는 컴파일할 때 {@link GenerateTraceProxies}로 생성한다.
  */
 @Configuration
+@GenerateTraceProxies(
+        value = {OrderControllerV2.class, OrderServiceV2.class, OrderRepositoryV2.class},
+        patterns = {"request*", "order*", "save*"}
+)
 public class ConcreteProxyConfig {
 
     /**
-     * @return {@link OrderControllerConcreteProxy}
+     * @return {@link OrderControllerV2TraceProxy}
      */
     @Bean
     public OrderControllerV2 orderControllerV2(LogTrace logTrace) {
-        return new OrderControllerConcreteProxy(
+        return new OrderControllerV2TraceProxy(
                 new OrderControllerV2(orderServiceV2(logTrace)),
                 logTrace
         );
     }
 
     /**
-     * @return {@link OrderServiceConcreteProxy}
+     * @return {@link OrderServiceV2TraceProxy}
      */
     @Bean
     public OrderServiceV2 orderServiceV2(LogTrace logTrace) {
-        return new OrderServiceConcreteProxy(
+        return new OrderServiceV2TraceProxy(
                 new OrderServiceV2(orderRepositoryV2(logTrace)),
                 logTrace
         );
     }
 
     /**
-     * @return {@link OrderRepositoryConcreteProxy}
+     * @return {@link OrderRepositoryV2TraceProxy}
      */
     @Bean
     public OrderRepositoryV2 orderRepositoryV2(LogTrace logTrace) {
-        return new OrderRepositoryConcreteProxy(
+        return new OrderRepositoryV2TraceProxy(
                 new OrderRepositoryV2(), logTrace
         );
     }
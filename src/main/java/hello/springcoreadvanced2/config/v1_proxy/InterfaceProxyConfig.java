@@ -1,43 +1,46 @@
 package hello.springcoreadvanced2.config.v1_proxy;
 
 import hello.springcoreadvanced2.app.v1.*;
-import hello.springcoreadvanced2.config.v1_proxy.interface_proxy.OrderControllerInterfaceProxy;
-import hello.springcoreadvanced2.config.v1_proxy.interface_proxy.OrderRepositoryInterfaceProxy;
-import hello.springcoreadvanced2.config.v1_proxy.interface_proxy.OrderServiceInterfaceProxy;
 import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * V1 Proxy Configuration
+ * V1 Proxy Configuration<br>
+ * - 프록시 클래스는 컴파일할 때 {@link GenerateTraceProxies}로 생성한다.
  */
 @Configuration
+@GenerateTraceProxies(
+        value = {OrderControllerV1.class, OrderServiceV1.class, OrderRepositoryV1.class},
+        patterns = {"request*", "order*", "save*"}
+)
 public class InterfaceProxyConfig {
 
     /**
-     * @return {@link OrderControllerInterfaceProxy}
+     * @return {@link OrderControllerV1TraceProxy}
      */
     @Bean
     public OrderControllerV1 orderController(LogTrace logTrace) {
         OrderControllerV1Impl controllerImpl = new OrderControllerV1Impl(orderService(logTrace));
-        return new OrderControllerInterfaceProxy(controllerImpl, logTrace);
+        return new OrderControllerV1TraceProxy(controllerImpl, logTrace);
     }
 
     /**
-     * @return {@link OrderServiceInterfaceProxy}
+     * @return {@link OrderServiceV1TraceProxy}
      */
     @Bean
     public OrderServiceV1 orderService(LogTrace logTrace) {
         OrderServiceV1Impl serviceImpl = new OrderServiceV1Impl(orderRepository(logTrace));
-        return new OrderServiceInterfaceProxy(serviceImpl, logTrace);
+        return new OrderServiceV1TraceProxy(serviceImpl, logTrace);
     }
 
     /**
-     * @return {@link OrderRepositoryInterfaceProxy}
+     * @return {@link OrderRepositoryV1TraceProxy}
      */
     @Bean
     public OrderRepositoryV1 orderRepository(LogTrace logTrace) {
         OrderRepositoryV1Impl repositoryImpl = new OrderRepositoryV1Impl();
-        return new OrderRepositoryInterfaceProxy(repositoryImpl, logTrace);
+        return new OrderRepositoryV1TraceProxy(repositoryImpl, logTrace);
     }
 }
@@ -1,36 +0,0 @@
-package hello.springcoreadvanced2.config.v1_proxy.concrete_proxy;
-
-import hello.springcoreadvanced2.app.v2.OrderControllerV2;
-import hello.springcoreadvanced2.trace.TraceStatus;
-import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-
-/**
- * {@link OrderControllerV2}를 상속받은 Proxy 객체
- */
-public class OrderControllerConcreteProxy extends OrderControllerV2 {
-    private final OrderControllerV2 target;
-    private final LogTrace logTrace;
-
-    public OrderControllerConcreteProxy(OrderControllerV2 target, LogTrace logTrace) {
-        super(null);
-        this.target = target;
-        this.logTrace = logTrace;
-    }
-
-    @Override
-    public String request(String itemId) {
-        TraceStatus status = null;
-
-        try {
-            status = logTrace.begin("OrderController.request()");
-
-            String result = target.request(itemId);
-
-            logTrace.end(status);
-            return result;
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
-        }
-    }
-}
@@ -1,31 +0,0 @@
-package hello.springcoreadvanced2.config.v1_proxy.concrete_proxy;
-
-import hello.springcoreadvanced2.app.v2.OrderRepositoryV2;
-import hello.springcoreadvanced2.trace.TraceStatus;
-import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-import lombok.RequiredArgsConstructor;
-
-/**
- * {@link OrderRepositoryV2}를 상속받은 Proxy 객체
- */
-@RequiredArgsConstructor
-public class OrderRepositoryConcreteProxy extends OrderRepositoryV2 {
-    private final OrderRepositoryV2 target;
-    private final LogTrace logTrace;
-
-    @Override
-    public void save(String itemId) {
-        TraceStatus status = null;
-
-        try {
-            status = logTrace.begin("OrderRepository.save()");
-
-            target.save(itemId);
-
-            logTrace.end(status);
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
-        }
-    }
-}
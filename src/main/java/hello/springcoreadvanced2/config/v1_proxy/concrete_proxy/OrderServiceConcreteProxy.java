@@ -1,35 +0,0 @@
-package hello.springcoreadvanced2.config.v1_proxy.concrete_proxy;
-
-import hello.springcoreadvanced2.app.v2.OrderServiceV2;
-import hello.springcoreadvanced2.trace.TraceStatus;
-import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-
-/**
- * {@link OrderServiceV2}를 상속받은 Proxy 객체
- */
-public class OrderServiceConcreteProxy extends OrderServiceV2 {
-    private final OrderServiceV2 target;
-    private final LogTrace logTrace;
-
-    public OrderServiceConcreteProxy(OrderServiceV2 target, LogTrace logTrace) {
-        super(null);
-        this.target = target;
-        this.logTrace = logTrace;
-    }
-
-    @Override
-    public void orderItem(String itemId) {
-        TraceStatus status = null;
-
-        try {
-            status = logTrace.begin("OrderService.orderItem()");
-
-            target.orderItem(itemId);
-
-            logTrace.end(status);
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
-        }
-    }
-}
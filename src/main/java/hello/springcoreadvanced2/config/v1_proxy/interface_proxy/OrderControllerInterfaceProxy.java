@@ -1,38 +0,0 @@
-package hello.springcoreadvanced2.config.v1_proxy.interface_proxy;
-
-import hello.springcoreadvanced2.app.v1.OrderControllerV1;
-import hello.springcoreadvanced2.trace.TraceStatus;
-import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-import lombok.RequiredArgsConstructor;
-
-/**
- * {@link OrderControllerV1} Proxy
- */
-@RequiredArgsConstructor
-public class OrderControllerInterfaceProxy implements OrderControllerV1 {
-
-    private final OrderControllerV1 target;
-    private final LogTrace logTrace;
-
-    @Override
-    public String request(String itemId) {
-        TraceStatus status = null;
-
-        try {
-            status = logTrace.begin("OrderController.save()");
-
-            String result = target.request(itemId);
-
-            logTrace.end(status);
-            return result;
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
-        }
-    }
-
-    @Override
-    public String noLog() {
-        return target.noLog();
-    }
-}
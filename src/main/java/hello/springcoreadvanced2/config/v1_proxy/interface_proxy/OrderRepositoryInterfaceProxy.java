@@ -1,32 +0,0 @@
-package hello.springcoreadvanced2.config.v1_proxy.interface_proxy;
-
-import hello.springcoreadvanced2.app.v1.OrderRepositoryV1;
-import hello.springcoreadvanced2.trace.TraceStatus;
-import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-import lombok.RequiredArgsConstructor;
-
-/**
- * {@link OrderRepositoryV1} Proxy
- */
-@RequiredArgsConstructor
-public class OrderRepositoryInterfaceProxy implements OrderRepositoryV1 {
-
-    private final OrderRepositoryV1 target;
-    private final LogTrace logTrace;
-
-    @Override
-    public void save(String itemId) {
-        TraceStatus status = null;
-
-        try {
-            status = logTrace.begin("OrderRepository.save()");
-
-            target.save(itemId);
-
-            logTrace.end(status);
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
-        }
-    }
-}
@@ -1,32 +0,0 @@
-package hello.springcoreadvanced2.config.v1_proxy.interface_proxy;
-
-import hello.springcoreadvanced2.app.v1.OrderServiceV1;
-import hello.springcoreadvanced2.trace.TraceStatus;
-import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-import lombok.RequiredArgsConstructor;
-
-/**
- * {@link OrderServiceV1} Proxy
- */
-@RequiredArgsConstructor
-public class OrderServiceInterfaceProxy implements OrderServiceV1 {
-
-    private final OrderServiceV1 target;
-    private final LogTrace logTrace;
-
-    @Override
-    public void orderItem(String itemId) {
-        TraceStatus status = null;
-
-        try {
-            status = logTrace.begin("OrderService.save()");
-
-            target.orderItem(itemId);
-
-            logTrace.end(status);
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
-        }
-    }
-}
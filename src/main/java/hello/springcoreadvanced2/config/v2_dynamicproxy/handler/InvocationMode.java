@@ -0,0 +1,25 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy.handler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * 프록시 핸들러가 타겟 메서드를 호출하는 방법
+ *
+ * @see MethodInvoker
+ */
+public enum InvocationMode {
+
+    /**
+     * {@link Method#invoke(Object, Object...)}<br>
+     * - 호출마다 접근 검사를 하고, 예외를 {@link java.lang.reflect.InvocationTargetException}으로 감싼다.
+     */
+    REFLECTION,
+
+    /**
+     * 타겟에 묶인(bound) {@link MethodHandle}<br>
+     * - 메서드마다 한 번만 만들고, 호출할 때는 {@link MethodHandle#invokeExact}를 사용한다.<br>
+     * - 타겟이 던진 예외가 그대로 전달된다.
+     */
+    METHOD_HANDLE
+}
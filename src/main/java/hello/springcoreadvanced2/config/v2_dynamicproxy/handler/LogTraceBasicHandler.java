@@ -4,10 +4,10 @@ import hello.springcoreadvanced2.app.v1.OrderControllerV1;
 import hello.springcoreadvanced2.app.v1.OrderControllerV1Impl;
 import hello.springcoreadvanced2.trace.TraceStatus;
 import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -16,13 +16,26 @@ import java.lang.reflect.Method;
  * - 이 핸들러는 {@link LogTrace}를 사용하기 위한 프록시 핸들러이다.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class LogTraceBasicHandler implements InvocationHandler {
-    private final Object target;
     private final LogTrace logTrace;
+    private final TraceMethodCache methodCache;
+
+    public LogTraceBasicHandler(Object target, LogTrace logTrace) {
+        this(target, logTrace, InvocationMode.METHOD_HANDLE);
+    }
+
+    /**
+     * @param target   실제 호출 대상, 예) {@link OrderControllerV1Impl}
+     * @param logTrace {@link LogTrace}
+     * @param mode     타겟 호출 방법
+     */
+    public LogTraceBasicHandler(Object target, LogTrace logTrace, InvocationMode mode) {
+        this.logTrace = logTrace;
+        this.methodCache = new TraceMethodCache(target, null, mode);
+    }
 
     /**
-     * @param proxy  프록시 자신, 여기서는 {@link #target}과 같다. - {@link OrderControllerV1Impl}
+     * @param proxy  프록시 자신, 예) {@link OrderControllerV1}의 JDK 동적 프록시
      * @param method 인터페이스의 메서드, 여기서는 {@link OrderControllerV1#request}이다.
      * @param args   메서드를 호출할 때 전달할 인수
      */
@@ -38,27 +51,25 @@ public class LogTraceBasicHandler implements InvocationHandler {
         try {
 
             /**
-             * {@link Method#getClass()}           {@link Method}
-             * {@link Method#getDeclaringClass()}  원본 {@link Class}, {@link OrderControllerV1}
-             * {@link Class#getSimpleName()}       클래스의 이름, OrderControllerV1
-             * {@link Method#getName()}            메서드의 이름, request
+             * {@link TraceMethodCache#get(Method)} 미리 만들어 둔 메시지, 예) OrderControllerV1.request()
              */
-            String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
-            status = logTrace.begin(message);
+            TraceMethod traceMethod = methodCache.get(method);
+            status = logTrace.begin(traceMethod.getMessage());
 
             /**
-             * {@link Method#invoke(Object, Object...)}
+             * {@link TraceMethod#invoke(Object[])}
+             * 타겟에 묶인 {@link MethodInvoker}로 호출, 타겟이 던진 예외가 그대로 전달된다.
              *
-             * @param Object    실행을 원하는 인스턴스, {@link #target}
-             * @param Object... 해당 메서드를 실행하기 위해 필요한 파라미터, args
+             * @param Object[] 해당 메서드를 실행하기 위해 필요한 파라미터, args
              */
-            Object result = method.invoke(target, args);
+            Object result = traceMethod.invoke(args);
 
             logTrace.end(status);
             return result;
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
+        } catch (Throwable t) {
+            // Error 도 기록해야 Level 이 되돌아간다. LogTrace 는 Exception 만 받으므로 리플렉션처럼 감싸서 기록한다.
+            logTrace.exception(status, t instanceof Exception e ? e : new InvocationTargetException(t, t.toString()));
+            throw t;
         }
     }
 }
@@ -2,24 +2,38 @@ package hello.springcoreadvanced2.config.v2_dynamicproxy.handler;
 
 import hello.springcoreadvanced2.trace.TraceStatus;
 import hello.springcoreadvanced2.trace.logtrace.LogTrace;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.PatternMatchUtils;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
  * JDK 동적 프록시 사용<br>
  * - {@link InvocationHandler} JDK 동적 프록시에 로직을 적용하기 위한 Handler<br>
- * - {@link PatternMatchUtils#simpleMatch}로 WhiteList 기반 URL 패턴 필터링
+ * - {@link PatternMatchUtils#simpleMatch}로 WhiteList 기반 URL 패턴 필터링<br>
+ * - 매칭 결과와 메시지는 {@link TraceMethodCache}에 미리 계산해 둔다.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class LogTraceFilterHandler implements InvocationHandler {
-    private final Object target;
     private final LogTrace logTrace;
-    private final String[] patterns;
+    private final TraceMethodCache methodCache;
+
+    public LogTraceFilterHandler(Object target, LogTrace logTrace, String[] patterns) {
+        this(target, logTrace, patterns, InvocationMode.METHOD_HANDLE);
+    }
+
+    /**
+     * @param target   실제 호출 대상
+     * @param logTrace {@link LogTrace}
+     * @param patterns 로그를 남길 메서드 이름 패턴
+     * @param mode     타겟 호출 방법
+     */
+    public LogTraceFilterHandler(Object target, LogTrace logTrace, String[] patterns, InvocationMode mode) {
+        this.logTrace = logTrace;
+        this.methodCache = new TraceMethodCache(target, patterns, mode);
+    }
 
     @Override
     public Object invoke(
@@ -28,24 +42,26 @@ public class LogTraceFilterHandler implements InvocationHandler {
             Object[] args
     ) throws Throwable {
 
+        TraceMethod traceMethod = methodCache.get(method);
+
         // patterns 에 해당 메서드 이름이 없다면,
-        if (!PatternMatchUtils.simpleMatch(patterns, method.getName())) {
-            return method.invoke(target, args);
+        if (!traceMethod.isTraced()) {
+            return traceMethod.invoke(args);
         }
 
         // LogTrace 로직 실행
         TraceStatus status = null;
         try {
-            String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
-            status = logTrace.begin(message);
+            status = logTrace.begin(traceMethod.getMessage());
 
-            Object result = method.invoke(target, args);
+            Object result = traceMethod.invoke(args);
 
             logTrace.end(status);
             return result;
-        } catch (Exception e) {
-            logTrace.exception(status, e);
-            throw e;
+        } catch (Throwable t) {
+            // Error 도 기록해야 Level 이 되돌아간다. LogTrace 는 Exception 만 받으므로 리플렉션처럼 감싸서 기록한다.
+            logTrace.exception(status, t instanceof Exception e ? e : new InvocationTargetException(t, t.toString()));
+            throw t;
         }
     }
 }
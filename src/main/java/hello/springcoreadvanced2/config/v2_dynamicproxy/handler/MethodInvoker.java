@@ -0,0 +1,72 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy.handler;
+
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 하나의 타겟, 하나의 메서드에 묶인 호출기<br>
+ * - 타겟이 던진 예외는 감싸지 않고 그대로 던진다.
+ *
+ * @see InvocationMode
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * @param args 프록시가 넘겨준 인수, 인수가 없으면 null
+     */
+    Object invoke(Object[] args) throws Throwable;
+
+    /**
+     * @param target 호출할 인스턴스
+     * @param method 호출할 메서드
+     * @param mode   호출 방법
+     */
+    static MethodInvoker of(Object target, Method method, InvocationMode mode) {
+        if (mode == InvocationMode.METHOD_HANDLE) {
+            try {
+                return methodHandle(target, method);
+            } catch (IllegalAccessException e) {
+                // public 이 아닌 인터페이스 등, MethodHandle 을 만들 수 없으면 리플렉션 사용
+                LoggerFactory.getLogger(MethodInvoker.class)
+                        .debug("MethodHandle 을 만들 수 없어 리플렉션으로 호출합니다. method = {}", method, e);
+                return reflection(target, method);
+            }
+        }
+        return reflection(target, method);
+    }
+
+    /**
+     * {@link Method#invoke} + {@link InvocationTargetException} 벗기기
+     */
+    private static MethodInvoker reflection(Object target, Method method) {
+        return args -> {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    /**
+     * (Object[])Object 모양으로 맞춘 {@link MethodHandle}<br>
+     * - bindTo: 타겟 고정<br>
+     * - asSpreader: Object[] 를 인수 목록으로 펼침<br>
+     * - asType: 반환 타입을 Object 로 맞춤 (void -> null, 기본형 -> 박싱)
+     */
+    private static MethodInvoker methodHandle(Object target, Method method) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.publicLookup()
+                .unreflect(method)
+                .bindTo(target)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        return args -> (Object) handle.invokeExact(args);
+    }
+}
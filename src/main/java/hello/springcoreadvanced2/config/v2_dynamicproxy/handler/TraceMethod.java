@@ -0,0 +1,37 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy.handler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.reflect.Method;
+
+/**
+ * 프록시 호출마다 다시 계산하지 않도록, {@link Method}별로 미리 계산해 둔 정보
+ *
+ * @see TraceMethodCache
+ */
+@Getter
+@RequiredArgsConstructor
+public class TraceMethod {
+    /**
+     * 로그 메시지, 예) OrderControllerV1.request()
+     */
+    private final String message;
+
+    /**
+     * 로그를 남길 메서드인지 여부 - 패턴 매칭 결과
+     */
+    private final boolean traced;
+
+    /**
+     * 다음 대상을 호출하는 호출기
+     */
+    private final MethodInvoker invoker;
+
+    /**
+     * {@link #invoker}로 다음 대상 호출
+     */
+    public Object invoke(Object[] args) throws Throwable {
+        return invoker.invoke(args);
+    }
+}
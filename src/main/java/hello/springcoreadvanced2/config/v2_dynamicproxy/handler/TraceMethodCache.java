@@ -0,0 +1,72 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy.handler;
+
+import org.springframework.util.PatternMatchUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Method} -> {@link TraceMethod} 캐시<br>
+ * - 프록시 생성 시점에 타겟 인터페이스의 메서드를 미리 계산해 둔다.<br>
+ * - 그 외의 메서드(예: {@link Object#toString()})는 처음 호출될 때 한 번만 계산한다.
+ * <p>
+ * JDK 동적 프록시는 같은 메서드에 대해 항상 같은 {@link Method} 인스턴스를 넘겨주므로,
+ * 호출마다 문자열을 합치거나 {@link PatternMatchUtils#simpleMatch}를 실행할 필요가 없다.
+ * 타겟을 호출하는 {@link MethodInvoker}도 여기서 한 번만 만든다.
+ */
+public class TraceMethodCache {
+    private final Map<Method, TraceMethod> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 호출할 대상
+     */
+    private final Object target;
+
+    /**
+     * 필터링 패턴, null 이면 모든 메서드에 로그를 남긴다.
+     */
+    private final String[] patterns;
+
+    private final InvocationMode mode;
+
+    /**
+     * @param target   타겟 구현체, 구현한 인터페이스의 메서드를 미리 계산한다.
+     * @param patterns {@link PatternMatchUtils#simpleMatch} 패턴, null 이면 모두 허용
+     * @param mode     타겟 호출 방법
+     */
+    public TraceMethodCache(Object target, String[] patterns, InvocationMode mode) {
+        this.target = target;
+        this.patterns = patterns;
+        this.mode = mode;
+        for (Class<?> intf : target.getClass().getInterfaces()) {
+            for (Method method : intf.getMethods()) {
+                cache.put(method, create(method));
+            }
+        }
+    }
+
+    /**
+     * @param method 프록시가 넘겨준 메서드
+     * @return 미리 계산된 {@link TraceMethod}
+     */
+    public TraceMethod get(Method method) {
+        TraceMethod traceMethod = cache.get(method);
+        if (traceMethod == null) {
+            traceMethod = cache.computeIfAbsent(method, this::create);
+        }
+        return traceMethod;
+    }
+
+    /**
+     * {@link Method#getDeclaringClass()}  원본 {@link Class}, 예) OrderControllerV1<br>
+     * {@link Class#getSimpleName()}       클래스의 이름, 예) OrderControllerV1<br>
+     * {@link Method#getName()}            메서드의 이름, 예) request
+     */
+    private TraceMethod create(Method method) {
+        String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+        boolean traced = patterns == null || PatternMatchUtils.simpleMatch(patterns, method.getName());
+        MethodInvoker invoker = MethodInvoker.of(target, method, mode);
+        return new TraceMethod(message, traced, invoker);
+    }
+}
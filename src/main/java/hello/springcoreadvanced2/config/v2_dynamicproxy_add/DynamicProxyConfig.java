@@ -1,8 +1,7 @@
 package hello.springcoreadvanced2.config.v2_dynamicproxy_add;
 
 import hello.springcoreadvanced2.app.v1.*;
-import hello.springcoreadvanced2.config.v2_dynamicproxy_add.handler.FilterHandler;
-import hello.springcoreadvanced2.config.v2_dynamicproxy_add.handler.LogTraceHandler;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
 import hello.springcoreadvanced2.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -15,8 +14,7 @@ import java.lang.reflect.Proxy;
  *
  * @author MinyShrimp
  * @see Proxy
- * @see FilterHandler
- * @see LogTraceHandler
+ * @see LogTraceFilterHandler
  * @since 2023-03-02
  */
 @Slf4j
@@ -24,19 +22,23 @@ import java.lang.reflect.Proxy;
 public class DynamicProxyConfig {
 
     /**
-     * {@link FilterHandler}에서 사용하는 필터링 조건들, Whitelist 방식.
+     * {@link LogTraceFilterHandler}에서 사용하는 필터링 조건들, Whitelist 방식.
      */
     private static final String[] METHOD_PATTERNS = {
             "request*", "order*", "save*"
     };
 
     /**
-     * 이 메서드를 사용하기 위해선 FilterHandler와 LogTraceHandler는
+     * 이 메서드를 사용하기 위해선 LogTraceFilterHandler는
      * target의 첫 번째 인터페이스를 기반으로 프록시를 생성할 수 있어야 한다.
+     * <p>
+     * 프록시와 핸들러는 하나만 만든다. v2_dynamicproxy 의 {@link LogTraceFilterHandler}를 그대로 사용하고,<br>
+     * 핸들러가 메서드별로 미리 계산한 route 에 따라
+     * 로그를 남기고 target 을 호출하거나, target 을 바로 호출한다.
      *
      * @param target   최종 목표 구현체, 예) {@link OrderControllerV1Impl}
      * @param logTrace {@link LogTrace}
-     * @return {@link FilterHandler} -> {@link LogTraceHandler} -> {@link OrderControllerV1Impl}
+     * @return {@link LogTraceFilterHandler} -> {@link OrderControllerV1Impl}
      */
     private static Object filterLogProxyFactory(
             Object target,
@@ -45,18 +47,11 @@ public class DynamicProxyConfig {
         // 타겟이 상속받은 인터페이스들을 가져온다.
         Class<?>[] supIntfs = target.getClass().getInterfaces();
 
-        // LogTraceProxy 생성
-        Object logTraceProxy = Proxy.newProxyInstance(
-                supIntfs[0].getClassLoader(),
-                supIntfs,
-                new LogTraceHandler(target, logTrace)
-        );
-
-        // LogTraceProxy, 목표 타겟을 담은 FilterProxy 생성
+        // Filter + LogTrace 를 한 번에 처리하는 FilterProxy 생성
         return Proxy.newProxyInstance(
                 supIntfs[0].getClassLoader(),
                 supIntfs,
-                new FilterHandler(target, logTraceProxy, METHOD_PATTERNS)
+                new LogTraceFilterHandler(target, logTrace, METHOD_PATTERNS)
         );
     }
 
@@ -1,24 +1,52 @@
 package hello.springcoreadvanced2.config.v4_postprocessor.postprocessor;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 빈 후처리기를 사용해서 프록시를 등록
+ * <p>
+ * 빈이 많아도 시작 시간이 늘어나지 않도록<br>
+ * - 프록시 여부는 클래스마다 한 번만 판단하고 저장한다. ({@link PackagePrefixTrie}, {@link AopUtils#canApply})<br>
+ * - 클래스에 적용할 Advisor 배열과 인터페이스 목록도 함께 저장해서, 빈마다 다시 찾지 않는다.<br>
+ * - 빈마다 남기는 로그는 DEBUG
  *
  * @see BeanPostProcessor
  * @see BeanPostProcessor#postProcessAfterInitialization(Object, String)
  */
 @Slf4j
-@RequiredArgsConstructor
 public class PackageLogTraceProxyPostProcessor implements BeanPostProcessor {
 
-    private final String basePackage;
-    private final Advisor advisor;
+    private final PackagePrefixTrie basePackages;
+    private final List<Advisor> advisors;
+
+    /**
+     * 클래스별 프록시 판단 결과
+     */
+    private final Map<Class<?>, ProxyDecision> decisions = new ConcurrentHashMap<>();
+
+    public PackageLogTraceProxyPostProcessor(String basePackage, Advisor advisor) {
+        this(List.of(basePackage), List.of(advisor));
+    }
+
+    /**
+     * @param basePackages 프록시를 적용할 패키지, 하위 패키지 포함
+     * @param advisors     적용할 Advisor, 순서대로 적용한다.
+     */
+    public PackageLogTraceProxyPostProcessor(Collection<String> basePackages, List<Advisor> advisors) {
+        this.basePackages = new PackagePrefixTrie(basePackages);
+        this.advisors = List.copyOf(advisors);
+    }
 
     /**
      * 빈 생성 -> @PostConstruct -> postProcessAfterInitialization
@@ -30,19 +58,60 @@ public class PackageLogTraceProxyPostProcessor implements BeanPostProcessor {
             Object bean,
             String beanName
     ) throws BeansException {
-        log.info("[       param] beanName = {} bean = {}", beanName, bean);
+        log.debug("[       param] beanName = {} bean = {}", beanName, bean);
 
-        String packageName = bean.getClass().getPackageName();
-        if (!packageName.startsWith(basePackage)) {
+        Class<?> beanClass = bean.getClass();
+        ProxyDecision decision = decisions.get(beanClass);
+        if (decision == null) {
+            decision = decisions.computeIfAbsent(beanClass, this::decide);
+        }
+        if (decision == ProxyDecision.NO_PROXY) {
             return bean;
         }
 
-        ProxyFactory proxyFactory = new ProxyFactory(bean);
-        proxyFactory.addAdvisor(advisor);
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.setInterfaces(decision.interfaces);
+        proxyFactory.addAdvisors(decision.advisors);
 
         Object proxy = proxyFactory.getProxy();
-        log.info("[create proxy] target = {} proxy = {}", bean.getClass(), proxy.getClass());
+        log.debug("[create proxy] target = {} proxy = {}", beanClass, proxy.getClass());
 
         return proxy;
     }
+
+    /**
+     * 클래스의 프록시 여부 판단, 클래스마다 한 번만 호출된다.<br>
+     * - 패키지가 다르거나 적용할 Advisor 가 없다면 {@link ProxyDecision#NO_PROXY}
+     */
+    private ProxyDecision decide(Class<?> beanClass) {
+        if (!basePackages.matches(beanClass.getPackageName())) {
+            return ProxyDecision.NO_PROXY;
+        }
+
+        List<Advisor> candidates = AopUtils.findAdvisorsThatCanApply(advisors, beanClass);
+        if (candidates.isEmpty()) {
+            return ProxyDecision.NO_PROXY;
+        }
+
+        return new ProxyDecision(
+                candidates.toArray(new Advisor[0]),
+                ClassUtils.getAllInterfacesForClass(beanClass)
+        );
+    }
+
+    /**
+     * 클래스별 프록시 판단 결과
+     */
+    private static final class ProxyDecision {
+        private static final ProxyDecision NO_PROXY = new ProxyDecision(new Advisor[0], new Class<?>[0]);
+
+        private final Advisor[] advisors;
+        private final Class<?>[] interfaces;
+
+        private ProxyDecision(Advisor[] advisors, Class<?>[] interfaces) {
+            this.advisors = advisors;
+            this.interfaces = interfaces;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package hello.springcoreadvanced2.config.v4_postprocessor.postprocessor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 패키지 이름을 '.' 단위로 나눈 Trie<br>
+ * - 등록한 패키지 또는 그 하위 패키지라면 일치한다.<br>
+ * - 예) "hello.springcoreadvanced2.app" 등록 -> "hello.springcoreadvanced2.app.v1" 일치, "hello.springcoreadvanced2.application" 불일치
+ * <p>
+ * 패키지가 여러 개라도 이름을 한 번만 훑는다. 생성 후에는 읽기만 하므로 여러 쓰레드에서 사용해도 된다.
+ */
+final class PackagePrefixTrie {
+
+    private final Node root = new Node();
+
+    PackagePrefixTrie(Collection<String> basePackages) {
+        for (String basePackage : basePackages) {
+            if (basePackage == null || basePackage.isBlank()) {
+                throw new IllegalArgumentException("basePackage 가 비어있습니다.");
+            }
+            Node node = root;
+            for (String segment : basePackage.split("\\.")) {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+            node.terminal = true;
+        }
+    }
+
+    /**
+     * @param packageName 확인할 패키지 이름, 기본 패키지는 ""
+     * @return 등록한 패키지이거나 그 하위 패키지라면 true
+     */
+    boolean matches(String packageName) {
+        Node node = root;
+        int start = 0;
+        int length = packageName.length();
+        while (start < length) {
+            int end = packageName.indexOf('.', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(packageName.substring(start, end));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -3,6 +3,8 @@ package hello.springcoreadvanced2.config.v5_autoproxy;
 import hello.springcoreadvanced2.config.AppV1Config;
 import hello.springcoreadvanced2.config.AppV2Config;
 import hello.springcoreadvanced2.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.springcoreadvanced2.config.v5_autoproxy.pointcut.PointcutMatchCache;
+import hello.springcoreadvanced2.config.v5_autoproxy.pointcut.PrecompiledExecutionPointcut;
 import hello.springcoreadvanced2.trace.logtrace.LogTrace;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
@@ -12,6 +14,7 @@ import org.springframework.aop.support.NameMatchMethodPointcut;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
 
 /**
  * {@link AnnotationAwareAspectJAutoProxyCreator} 사용<br>
@@ -53,7 +56,7 @@ public class AutoProxyConfig {
     /**
      * {@link AspectJExpressionPointcut} Pointcut 사용
      */
-    @Bean
+    // @Bean
     public Advisor advisor3(LogTrace logTrace) {
         final String aspectJString = """
                     execution(* hello.springcoreadvanced2.app..*(..)) &&
@@ -67,4 +70,26 @@ public class AutoProxyConfig {
 
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
+
+    /**
+     * {@link PrecompiledExecutionPointcut} Pointcut 사용<br>
+     * - {@link #advisor3}와 같은 표현식, 빌드할 때 만든 {@link PointcutMatchCache}가 있으면 사용한다.
+     */
+    @Bean
+    public Advisor advisor4(LogTrace logTrace) {
+        final String aspectJString = """
+                    execution(* hello.springcoreadvanced2.app..*(..)) &&
+                    !execution(* hello.springcoreadvanced2.app..noLog(..))
+                """;
+
+        PointcutMatchCache cache = PointcutMatchCache.load(
+                new ClassPathResource(PointcutMatchCache.DEFAULT_LOCATION),
+                aspectJString
+        );
+        PrecompiledExecutionPointcut pointcut = new PrecompiledExecutionPointcut(aspectJString, cache);
+
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
+
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
 }
@@ -0,0 +1,236 @@
+package hello.springcoreadvanced2.config.v5_autoproxy.pointcut;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * {@link PrecompiledExecutionPointcut} 매칭 결과 캐시<br>
+ * - 빌드할 때 {@link #main}으로 파일을 만들고, 시작할 때 {@link #load}로 읽는다. (<code>./gradlew pointcutMatchCache</code>)<br>
+ * - 표현식이 다르면 캐시를 사용하지 않는다. 캐시에 없는 클래스는 시작할 때 계산한다.<br>
+ * - 클래스마다 {@link #fingerprint}를 같이 기록한다. 빌드 후 클래스가 바뀌었다면 그 클래스는 시작할 때 다시 계산한다.
+ * <p>
+ * 파일 형식 (UTF-8)
+ * <pre>
+ * # precompiled-pointcut-match-cache v2
+ * expression=execution(* hello.springcoreadvanced2.app..*(..)) &amp;&amp; ...
+ * hello.springcoreadvanced2.app.v2.OrderControllerV2=5f3a09c2 request(java.lang.String)
+ * hello.springcoreadvanced2.app.v2.OrderRepositoryV2=91be0d4e save(java.lang.String)
+ * </pre>
+ * 클래스 이름 뒤에 fingerprint(16진수), 매칭된 메서드 시그니처를 공백으로 구분해서 나열한다. 메서드가 없다면 프록시 대상이 아니다.
+ */
+@Slf4j
+public class PointcutMatchCache {
+
+    /**
+     * 기본 위치, classpath 기준
+     */
+    public static final String DEFAULT_LOCATION = "META-INF/trace/pointcut-match.cache";
+
+    private static final String HEADER = "# precompiled-pointcut-match-cache v2";
+    private static final String EXPRESSION_KEY = "expression=";
+
+    private final Map<String, Entry> entries;
+
+    private PointcutMatchCache(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * @return 클래스에서 매칭된 메서드 시그니처, 캐시에 없거나 빌드 후 클래스가 바뀌었다면 null
+     */
+    Set<String> get(Class<?> clazz) {
+        Entry entry = entries.get(clazz.getName());
+        if (entry == null) {
+            return null;
+        }
+        if (entry.fingerprint != fingerprint(clazz)) {
+            log.debug("[pointcut cache] 빌드 후 클래스가 바뀌어 다시 계산합니다. class = {}", clazz.getName());
+            return null;
+        }
+        return entry.methods;
+    }
+
+    /**
+     * @return 캐시에 담긴 클래스 수
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 매칭 결과에 영향을 주는 클래스 파일의 CRC32<br>
+     * - 클래스와 상위 클래스, 모든 인터페이스의 .class 바이트를 차례로 더한다.<br>
+     * - .class 를 읽을 수 없는 타입(JDK 등)은 이름만 더한다.
+     *
+     * @return fingerprint, 같은 클래스 파일이라면 항상 같다.
+     */
+    static long fingerprint(Class<?> clazz) {
+        CRC32 crc = new CRC32();
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            update(crc, type);
+        }
+        for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+            update(crc, ifc);
+        }
+        return crc.getValue();
+    }
+
+    private static void update(CRC32 crc, Class<?> type) {
+        crc.update(type.getName().getBytes(StandardCharsets.UTF_8));
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            return;
+        }
+        try (InputStream in = classLoader.getResourceAsStream(ClassUtils.convertClassNameToResourcePath(type.getName()) + ".class")) {
+            if (in != null) {
+                crc.update(in.readAllBytes());
+            }
+        } catch (IOException e) {
+            log.debug("[pointcut cache] 클래스 파일을 읽지 못했습니다. class = {}", type.getName(), e);
+        }
+    }
+
+    /**
+     * 캐시 파일 읽기
+     *
+     * @param resource   캐시 파일
+     * @param expression 사용할 표현식, 파일의 표현식과 다르면 캐시를 사용하지 않는다.
+     * @return 파일이 없거나 표현식이 다르면 null
+     */
+    public static PointcutMatchCache load(Resource resource, String expression) {
+        if (!resource.exists()) {
+            log.debug("[pointcut cache] 캐시 파일이 없습니다. resource = {}", resource);
+            return null;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            String expressionLine = reader.readLine();
+            if (!HEADER.equals(header) || expressionLine == null || !expressionLine.startsWith(EXPRESSION_KEY)) {
+                log.warn("[pointcut cache] 캐시 형식이 다릅니다. resource = {}", resource);
+                return null;
+            }
+            if (!expressionLine.substring(EXPRESSION_KEY.length()).equals(PrecompiledExecutionPointcut.normalize(expression))) {
+                log.warn("[pointcut cache] 표현식이 달라 캐시를 사용하지 않습니다. resource = {}", resource);
+                return null;
+            }
+
+            Map<String, Entry> entries = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('=');
+                if (separator < 0) {
+                    continue;
+                }
+                String[] values = line.substring(separator + 1).split(" ");
+                long fingerprint = Long.parseLong(values[0], 16);
+                Set<String> methods = values.length == 1
+                        ? Set.of()
+                        : Set.of(Arrays.copyOfRange(values, 1, values.length));
+                entries.put(line.substring(0, separator), new Entry(fingerprint, methods));
+            }
+            log.info("[pointcut cache] 클래스 {}개를 읽었습니다. resource = {}", entries.size(), resource);
+            return new PointcutMatchCache(entries);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("[pointcut cache] 캐시를 읽지 못했습니다. resource = {}", resource, e);
+            return null;
+        }
+    }
+
+    /**
+     * 캐시 파일 쓰기
+     *
+     * @param path     캐시 파일
+     * @param pointcut 매칭에 사용할 포인트컷
+     * @param classes  캐시에 담을 클래스
+     */
+    public static void write(Path path, PrecompiledExecutionPointcut pointcut, Collection<Class<?>> classes) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(HEADER + "\n");
+            writer.write(EXPRESSION_KEY + pointcut.getExpression() + "\n");
+            for (Class<?> clazz : classes) {
+                StringBuilder line = new StringBuilder(clazz.getName())
+                        .append('=')
+                        .append(Long.toHexString(fingerprint(clazz)));
+                for (String method : new TreeSet<>(pointcut.compute(clazz))) {
+                    line.append(' ').append(method);
+                }
+                writer.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    /**
+     * 빌드할 때 캐시 파일 생성<br>
+     * - 패키지와 하위 패키지의 클래스를 모두 읽어서 매칭 결과를 기록한다.
+     *
+     * @param args [0] 표현식, [1] 캐시 파일 경로, [2..] 패키지
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("사용법: PointcutMatchCache <expression> <output> <basePackage>...");
+        }
+        PrecompiledExecutionPointcut pointcut = new PrecompiledExecutionPointcut(args[0]);
+        List<Class<?>> classes = scan(Arrays.asList(args).subList(2, args.length));
+        write(Path.of(args[1]), pointcut, classes);
+        log.info("[pointcut cache] 클래스 {}개를 기록했습니다. path = {}", classes.size(), args[1]);
+    }
+
+    /**
+     * 패키지와 하위 패키지의 클래스, 초기화하지 않고 읽는다.
+     */
+    private static List<Class<?>> scan(List<String> basePackages) throws IOException {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory readerFactory = new CachingMetadataReaderFactory(resolver);
+
+        Set<String> classNames = new TreeSet<>();
+        for (String basePackage : basePackages) {
+            String pattern = "classpath*:" + ClassUtils.convertClassNameToResourcePath(basePackage) + "/**/*.class";
+            for (Resource resource : resolver.getResources(pattern)) {
+                classNames.add(readerFactory.getMetadataReader(resource).getClassMetadata().getClassName());
+            }
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new IllegalStateException("클래스를 읽지 못했습니다. className = " + className, e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 클래스 하나의 캐시 항목
+     */
+    private static final class Entry {
+        private final long fingerprint;
+        private final Set<String> methods;
+
+        private Entry(long fingerprint, Set<String> methods) {
+            this.fingerprint = fingerprint;
+            this.methods = methods;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package hello.springcoreadvanced2.config.v5_autoproxy.pointcut;
+
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 미리 컴파일한 execution 포인트컷<br>
+ * - {@link AspectJExpressionPointcut}의 표현식 중 패키지와 이름 패턴만 쓰는 부분을 지원한다.<br>
+ * - 표현식은 생성할 때 한 번만 해석하고, 매칭 결과는 클래스마다 한 번만 계산해서 저장한다.<br>
+ * - {@link PointcutMatchCache}를 주면 빌드할 때 계산한 결과를 그대로 사용한다. 빌드 후 바뀐 클래스는 다시 계산한다.<br>
+ * - 실행 중 인자는 보지 않는다. ({@link StaticMethodMatcherPointcut})
+ * <p>
+ * 지원하는 표현식<br>
+ * - <code>execution(* 패키지..메서드(..))</code>: 패키지와 하위 패키지의 모든 타입, 예) <code>execution(* hello.springcoreadvanced2.app..*(..))</code><br>
+ * - <code>execution(* 패키지..타입.메서드(..))</code>, <code>execution(* 패키지.타입.메서드(..))</code>: 타입 이름 패턴<br>
+ * - <code>execution(* *..메서드(..))</code>: 모든 패키지<br>
+ * - <code>!</code>, <code>&&</code>로 조합, 이름 패턴에는 <code>*</code> 사용 가능<br>
+ * - 반환 타입은 <code>*</code>, 파라미터는 <code>(..)</code>만 지원한다. 그 외에는 {@link IllegalArgumentException}
+ * <p>
+ * AspectJ 와 같이, 메서드를 선언한 클래스 또는 같은 메서드를 선언한 인터페이스 중 하나가 일치하면 매칭된다.
+ */
+public class PrecompiledExecutionPointcut extends StaticMethodMatcherPointcut implements ClassFilter {
+
+    private static final Pattern TERM = Pattern.compile("(!)?\\s*execution\\(\\s*\\*\\s+([\\w.*$]+)\\s*\\(\\s*\\.\\.\\s*\\)\\s*\\)");
+
+    private final String expression;
+    private final List<Term> terms;
+    private final PointcutMatchCache cache;
+
+    /**
+     * 클래스별로 매칭된 메서드 시그니처, {@link #signature(Method)}
+     */
+    private final Map<Class<?>, Set<String>> matchedMethods = new ConcurrentHashMap<>();
+
+    public PrecompiledExecutionPointcut(String expression) {
+        this(expression, null);
+    }
+
+    /**
+     * @param expression 포인트컷 표현식
+     * @param cache      빌드할 때 만든 매칭 캐시, 없으면 null
+     */
+    public PrecompiledExecutionPointcut(String expression, PointcutMatchCache cache) {
+        this.expression = normalize(expression);
+        this.terms = parse(this.expression);
+        this.cache = cache;
+    }
+
+    /**
+     * 공백을 하나로 줄인 표현식, {@link PointcutMatchCache}의 키로 사용
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * 클래스 필터도 이 객체가 맡는다. {@link #matches(Class)}
+     */
+    @Override
+    public ClassFilter getClassFilter() {
+        return this;
+    }
+
+    /**
+     * 매칭되는 메서드가 하나도 없는 클래스는 메서드를 하나씩 확인하지 않고 제외한다.
+     */
+    @Override
+    public boolean matches(Class<?> clazz) {
+        return !matchedMethods(clazz).isEmpty();
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        if (targetClass == null) {
+            return matchesAny(method, List.of(method.getDeclaringClass()));
+        }
+        return matchedMethods(targetClass).contains(signature(method));
+    }
+
+    /**
+     * 클래스에서 매칭되는 메서드 시그니처, 클래스마다 한 번만 계산한다.<br>
+     * - {@link PointcutMatchCache}에 있고 빌드 후 바뀌지 않았다면 계산하지 않는다.
+     */
+    Set<String> matchedMethods(Class<?> clazz) {
+        Set<String> matched = matchedMethods.get(clazz);
+        if (matched == null) {
+            matched = matchedMethods.computeIfAbsent(clazz, this::loadOrCompute);
+        }
+        return matched;
+    }
+
+    private Set<String> loadOrCompute(Class<?> clazz) {
+        if (cache != null) {
+            Set<String> cached = cache.get(clazz);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return compute(clazz);
+    }
+
+    /**
+     * 클래스의 모든 메서드를 표현식과 비교<br>
+     * - 상속 계층의 어떤 타입도 표현식의 패키지, 타입 패턴과 맞지 않으면 메서드를 읽지 않는다.<br>
+     * - 인터페이스는 패키지, 타입 패턴이 맞는 것만 메서드를 선언했는지 확인한다.
+     */
+    Set<String> compute(Class<?> clazz) {
+        List<Class<?>> interfaces = new ArrayList<>();
+        boolean typeMatched = false;
+        for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+            if (matchesAnyType(ifc)) {
+                interfaces.add(ifc);
+                typeMatched = true;
+            }
+        }
+        for (Class<?> type = clazz; type != null && !typeMatched; type = type.getSuperclass()) {
+            typeMatched = matchesAnyType(type);
+        }
+        if (!typeMatched && hasPositiveTerm()) {
+            return Set.of();
+        }
+
+        Set<String> matched = new HashSet<>();
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(clazz)) {
+            List<Class<?>> declaringTypes = new ArrayList<>();
+            declaringTypes.add(method.getDeclaringClass());
+            for (Class<?> ifc : interfaces) {
+                if (ifc != method.getDeclaringClass() && ClassUtils.hasMethod(ifc, method.getName(), method.getParameterTypes())) {
+                    declaringTypes.add(ifc);
+                }
+            }
+            if (matchesAny(method, declaringTypes)) {
+                matched.add(signature(method));
+            }
+        }
+        return matched.isEmpty() ? Set.of() : Set.copyOf(matched);
+    }
+
+    private boolean matchesAnyType(Class<?> type) {
+        for (Term term : terms) {
+            if (term.matchesType(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasPositiveTerm() {
+        for (Term term : terms) {
+            if (!term.negated) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 선언한 타입 중 하나라도 표현식과 일치하면 true
+     */
+    private boolean matchesAny(Method method, List<Class<?>> declaringTypes) {
+        for (Term term : terms) {
+            boolean matched = false;
+            for (Class<?> declaringType : declaringTypes) {
+                if (term.matches(declaringType, method.getName())) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (matched == term.negated) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 메서드 시그니처, 예) <code>request(java.lang.String)</code>
+     */
+    static String signature(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length == 0) {
+            return method.getName() + "()";
+        }
+        StringBuilder sb = new StringBuilder(method.getName()).append('(');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(parameterTypes[i].getTypeName());
+        }
+        return sb.append(')').toString();
+    }
+
+    static String normalize(String expression) {
+        return expression.strip().replaceAll("\\s+", " ");
+    }
+
+    private static List<Term> parse(String expression) {
+        List<Term> terms = new ArrayList<>();
+        for (String part : expression.split("&&")) {
+            Matcher matcher = TERM.matcher(part.strip());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException(
+                        "지원하지 않는 표현식입니다. AspectJExpressionPointcut 을 사용하세요. expression = " + expression
+                );
+            }
+            terms.add(Term.parse(matcher.group(1) != null, matcher.group(2), expression));
+        }
+        return List.copyOf(terms);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + expression;
+    }
+
+    /**
+     * <code>execution(...)</code> 하나
+     */
+    private static final class Term {
+        private final boolean negated;
+
+        /**
+         * 패키지, null 이면 모든 패키지
+         */
+        private final String packageName;
+
+        /**
+         * true 면 하위 패키지 포함
+         */
+        private final boolean subpackages;
+
+        private final String typePattern;
+        private final String methodPattern;
+
+        private Term(boolean negated, String packageName, boolean subpackages, String typePattern, String methodPattern) {
+            this.negated = negated;
+            this.packageName = packageName;
+            this.subpackages = subpackages;
+            this.typePattern = typePattern;
+            this.methodPattern = methodPattern;
+        }
+
+        /**
+         * @param pattern 예) "hello.springcoreadvanced2.app..*", "*..noLog", "hello.app.v1.*Impl.request*"
+         */
+        static Term parse(boolean negated, String pattern, String expression) {
+            int methodStart = pattern.lastIndexOf('.');
+            if (methodStart < 0) {
+                if (!pattern.equals("*")) {
+                    throw new IllegalArgumentException("타입 패턴이 없습니다. expression = " + expression);
+                }
+                return new Term(negated, null, true, "*", "*");
+            }
+
+            String methodPattern = pattern.substring(methodStart + 1);
+            String typePart = pattern.substring(0, methodStart);
+            if (typePart.endsWith(".")) {
+                // 패키지.. -> 하위 패키지의 모든 타입
+                return new Term(negated, packagePrefix(typePart.substring(0, typePart.length() - 1), expression), true,
+                        "*", methodPattern);
+            }
+
+            int subpackageIndex = typePart.lastIndexOf("..");
+            if (subpackageIndex >= 0) {
+                // 패키지..타입
+                return new Term(negated, packagePrefix(typePart.substring(0, subpackageIndex), expression), true,
+                        typePart.substring(subpackageIndex + 2), methodPattern);
+            }
+
+            int typeStart = typePart.lastIndexOf('.');
+            if (typeStart < 0) {
+                throw new IllegalArgumentException("패키지가 없는 타입 패턴은 지원하지 않습니다. expression = " + expression);
+            }
+            // 패키지.타입
+            return new Term(negated, typePart.substring(0, typeStart), false,
+                    typePart.substring(typeStart + 1), methodPattern);
+        }
+
+        /**
+         * @return "*" 이면 null (모든 패키지)
+         */
+        private static String packagePrefix(String packageName, String expression) {
+            if (packageName.isEmpty()) {
+                throw new IllegalArgumentException("패키지 패턴이 비어있습니다. expression = " + expression);
+            }
+            if (packageName.equals("*")) {
+                return null;
+            }
+            if (packageName.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("패키지 이름 패턴은 지원하지 않습니다. expression = " + expression);
+            }
+            return packageName;
+        }
+
+        boolean matches(Class<?> declaringType, String methodName) {
+            return matchesType(declaringType) && PatternMatchUtils.simpleMatch(methodPattern, methodName);
+        }
+
+        boolean matchesType(Class<?> type) {
+            return matchesPackage(type.getPackageName()) && PatternMatchUtils.simpleMatch(typePattern, type.getSimpleName());
+        }
+
+        private boolean matchesPackage(String name) {
+            if (packageName == null) {
+                return true;
+            }
+            if (!name.startsWith(packageName)) {
+                return false;
+            }
+            if (name.length() == packageName.length()) {
+                return true;
+            }
+            return subpackages && name.charAt(packageName.length()) == '.';
+        }
+    }
+}
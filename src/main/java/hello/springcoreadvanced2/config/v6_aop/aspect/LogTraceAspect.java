@@ -9,6 +9,8 @@ import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * {@link Aspect} 애노테이션을 이용해 어드바이저 생성
  *
@@ -22,7 +24,8 @@ public class LogTraceAspect {
 
     /**
      * {@link Around} 애노테이션을 이용해서 포인트컷과 어드바이스를 동시에 생성<br>
-     * - AspectJ 표현식
+     * - AspectJ 표현식<br>
+     * - 결과가 {@link CompletableFuture}이면 {@link LogTrace#endAsync}로 끝낸다. 걸린 시간은 Future 가 완료될 때까지다.
      *
      * @see Around
      * @see ProceedingJoinPoint
@@ -44,6 +47,10 @@ public class LogTraceAspect {
 
             Object result = joinPoint.proceed();
 
+            // 비동기 호출: 쓰레드는 바로 돌려주고, 종료 로그는 Future 가 완료될 때 남긴다.
+            if (result instanceof CompletableFuture<?> future) {
+                return logTrace.endAsync(status, future);
+            }
             logTrace.end(status);
             return result;
         } catch (Exception e) {
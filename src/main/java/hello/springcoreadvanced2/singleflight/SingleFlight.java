@@ -0,0 +1,21 @@
+package hello.springcoreadvanced2.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 같은 인자로 동시에 들어온 호출을 하나로 합친다. ({@link SingleFlightInterceptor})<br>
+ * - 먼저 들어온 호출 하나만 실제로 실행하고, 나머지는 그 결과(또는 예외)를 같이 받는다.<br>
+ * - 끝난 호출은 기억하지 않는다. 실행이 끝난 뒤에 들어온 호출은 다시 실행한다. (캐시가 아니다)
+ * <p>
+ * {@link SingleFlightConfig}를 등록해야 동작한다. hello.springcoreadvanced2.app 의 빈 메서드에 붙인다.<br>
+ * - 예) <code>@SingleFlight public void orderItem(String itemId)</code>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SingleFlight {
+}
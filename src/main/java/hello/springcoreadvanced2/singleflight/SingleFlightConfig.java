@@ -0,0 +1,39 @@
+package hello.springcoreadvanced2.singleflight;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link SingleFlight} 설정<br>
+ * - <code>single-flight.enabled=true</code> 일 때만 어드바이저를 등록한다. 없으면 애노테이션은 아무 일도 하지 않는다.<br>
+ * - 어드바이저만 빈으로 등록하고, 프록시는 자동 프록시 생성기가 만든다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "single-flight.enabled", havingValue = "true")
+public class SingleFlightConfig {
+
+    private static final String APP_PACKAGE = "hello.springcoreadvanced2.app.";
+
+    @Bean
+    public SingleFlightInterceptor singleFlightInterceptor() {
+        return new SingleFlightInterceptor();
+    }
+
+    /**
+     * hello.springcoreadvanced2.app 의 클래스 중 {@link SingleFlight}가 붙은 메서드
+     */
+    @Bean
+    public Advisor singleFlightAdvisor(SingleFlightInterceptor singleFlightInterceptor) {
+        ClassFilter appPackage = clazz -> clazz.getName().startsWith(APP_PACKAGE);
+        ComposablePointcut pointcut = new ComposablePointcut(appPackage)
+                .intersection(AnnotationMatchingPointcut.forMethodAnnotation(SingleFlight.class));
+
+        return new DefaultPointcutAdvisor(pointcut, singleFlightInterceptor);
+    }
+}
@@ -0,0 +1,93 @@
+package hello.springcoreadvanced2.singleflight;
+
+import hello.springcoreadvanced2.wrapper.MethodArgumentsKey;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SingleFlight} Advice<br>
+ * - 키: 메서드 + 인자 목록, 같은 키로 실행중인 호출이 있으면 기다렸다가 같은 결과를 받는다.<br>
+ * - 예외도 같이 받는다. 기다린 호출은 실행한 호출과 같은 예외 객체를 던진다.
+ * <p>
+ * {@link CompletableFuture}를 돌려주는 메서드<br>
+ * - Future 가 완료될 때까지를 실행중으로 본다. 기다리지 않고 같은 Future 의 복사본을 바로 돌려준다.<br>
+ * - 실행한 호출이 Future 대신 바로 던진 예외는, 기다린 호출에는 같은 예외로 실패한 Future 로 전달된다.
+ */
+@Slf4j
+public class SingleFlightInterceptor implements MethodInterceptor {
+
+    /**
+     * 실행중인 호출, 끝나면 바로 지운다.
+     */
+    private final Map<MethodArgumentsKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 실행중인 호출에 합쳐진 횟수
+     */
+    private final LongAdder merged = new LongAdder();
+
+    @Override
+    public Object invoke(
+            MethodInvocation invocation
+    ) throws Throwable {
+        Method method = invocation.getMethod();
+        MethodArgumentsKey key = new MethodArgumentsKey(method, invocation.getArguments());
+        boolean async = CompletableFuture.class.isAssignableFrom(method.getReturnType());
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            merged.increment();
+            log.debug("[single-flight] merged key = {}", key);
+            return async ? existing.copy() : await(existing);
+        }
+
+        try {
+            Object result = invocation.proceed();
+            if (async && result instanceof CompletableFuture<?> future) {
+                future.whenComplete((value, t) -> {
+                    inFlight.remove(key, flight);
+                    if (t == null) {
+                        flight.complete(value);
+                    } else {
+                        flight.completeExceptionally(t);
+                    }
+                });
+                return flight.copy();
+            }
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable t) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    /**
+     * @return 실행중인 호출에 합쳐진 횟수
+     */
+    public long getMergedCount() {
+        return merged.sum();
+    }
+
+    /**
+     * 실행한 호출이 끝날 때까지 기다린다. 실행한 호출이 던진 예외를 그대로 던진다.
+     */
+    private static Object await(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hello.springcoreadvanced2.trace;
+
+/**
+ * 예외 클래스 이름 캐시<br>
+ * - 클래스마다 한 번만 {@link Class#getName()}을 만들어 intern 해 둔다. ({@link ClassValue})
+ */
+public final class ExceptionNames {
+
+    private static final ClassValue<String> NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getName().intern();
+        }
+    };
+
+    private ExceptionNames() {
+    }
+
+    /**
+     * @return 예외 클래스 이름, 예) java.lang.IllegalStateException
+     */
+    public static String of(Throwable e) {
+        return NAMES.get(e.getClass());
+    }
+}
@@ -0,0 +1,144 @@
+package hello.springcoreadvanced2.trace;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 쓰레드별 가변 Trace 프레임<br>
+ * - Level 이 바뀔 때마다 {@link TraceId}를 새로 만들지 않고, 이 객체의 {@link #level}만 바꾼다.<br>
+ * - {@link TraceId}는 Trace 하나(최상위 호출)당 한 번만 만든다.
+ * <p>
+ * 한 쓰레드에서만 사용해야 한다.
+ */
+public class TraceFrame {
+    /**
+     * 현재 참여중인 Trace
+     */
+    private TraceId traceId;
+
+    /**
+     * 현재 Trace Level, 진행중인 Trace 가 없으면 -1
+     */
+    private int level = -1;
+
+    /**
+     * 현재 Trace 에서 이미 기록한 예외, 상위 Level 로 다시 던져지면 이름만 기록한다.
+     */
+    private Exception recordedException;
+
+    /**
+     * 현재 Trace 에서 비동기로 끝난 호출이 기록한 예외, 사용할 때만 만든다. - {@link #asyncException()}<br>
+     * - 완료 콜백은 다른 쓰레드에서 실행되므로 {@link #recordedException}과 따로 둔다.
+     */
+    private AtomicReference<Exception> asyncException;
+
+    /**
+     * {@link TraceStatus} 재사용 스택, 사용할 때만 만든다. - {@link #statusPool(int)}
+     */
+    private TraceStatusPool statusPool;
+
+    public TraceFrame() {
+    }
+
+    private TraceFrame(TraceId traceId, int level) {
+        this.traceId = traceId;
+        this.level = level;
+    }
+
+    /**
+     * 다른 쓰레드에서 이어서 기록할 프레임 생성<br>
+     * - 같은 {@link TraceId}, 같은 Level 에서 시작한다.<br>
+     * - 넘겨받은 쓰레드의 {@link #exit()}는 시작 Level 아래로 내려가지 않으므로 true 를 반환하지 않는다.<br>
+     * - 이 프레임을 사용하는 쓰레드에서 호출해야 한다. 다른 쓰레드에서 읽으면 진행중인 값을 볼 수 없다.
+     *
+     * @return 현재 상태를 복사한 새 프레임
+     */
+    public TraceFrame fork() {
+        return new TraceFrame(traceId, level);
+    }
+
+    /**
+     * 다음 Level 로 진입
+     *
+     * @return 진입한 Level
+     */
+    public int enter() {
+        if (level < 0) {
+            traceId = new TraceId();
+        }
+        return ++level;
+    }
+
+    /**
+     * 이전 Level 로 복귀
+     *
+     * @return 최상위 Level 에서 빠져나왔다면 true
+     */
+    public boolean exit() {
+        if (--level < 0) {
+            traceId = null;
+            recordedException = null;
+            asyncException = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 예외 기록<br>
+     * - 가장 깊은 Level 에서 처음 기록할 때만 true, 같은 예외가 상위 Level 로 다시 던져지면 false
+     *
+     * @param e 발생한 예외
+     * @return 이 Trace 에서 처음 보는 예외라면 true
+     */
+    public boolean recordException(Exception e) {
+        if (recordedException == e) {
+            return false;
+        }
+        recordedException = e;
+        return true;
+    }
+
+    /**
+     * 비동기로 끝나는 호출이 공유하는 예외 기록<br>
+     * - 같은 Trace 의 호출은 같은 객체를 받는다. 최상위 Level 을 빠져나가면 다음 Trace 는 새 객체를 받는다.<br>
+     * - 완료 콜백에서 {@link AtomicReference#getAndSet}으로 처음 보는 예외인지 확인한다.
+     *
+     * @return 현재 Trace 의 비동기 예외 기록
+     */
+    public AtomicReference<Exception> asyncException() {
+        AtomicReference<Exception> recorded = asyncException;
+        if (recorded == null) {
+            recorded = new AtomicReference<>();
+            asyncException = recorded;
+        }
+        return recorded;
+    }
+
+    /**
+     * @param depth 처음 만들 때 미리 만들어 둘 Level 수
+     * @return 이 프레임(쓰레드)의 {@link TraceStatusPool}
+     */
+    public TraceStatusPool statusPool(int depth) {
+        TraceStatusPool pool = statusPool;
+        if (pool == null) {
+            pool = new TraceStatusPool(depth);
+            statusPool = pool;
+        }
+        return pool;
+    }
+
+    public TraceId getTraceId() {
+        return traceId;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return 진행중인 Trace 가 없다면 true
+     */
+    public boolean isIdle() {
+        return level < 0;
+    }
+}
@@ -1,62 +1,77 @@
 package hello.springcoreadvanced2.trace;
 
-import lombok.Getter;
-
-import java.util.UUID;
-
 /**
- * 현재 Trace 의 정보
+ * 현재 Trace 의 정보<br>
+ * - ID 는 long 으로 가지고 있다가, 로그를 실제로 출력할 때 문자열로 변환한다. {@link #toString()}
  */
-@Getter
 public class TraceId {
     /**
-     * 쓰레드 고유 번호
+     * 쓰레드 고유 번호 - {@link TraceIdGenerator#nextId()}
      */
-    private final String id;
+    private final long value;
 
     /**
      * 현재 Trace Level
      */
     private final int level;
 
+    /**
+     * {@link #value}의 문자열, 처음 사용할 때 만든다.
+     */
+    private String id;
+
     /**
      * 외부 호출용 생성자
      */
     public TraceId() {
-        this.id = createId();
-        this.level = 0;
+        this(TraceIdGenerator.nextId(), 0, null);
     }
 
     /**
      * 내부 호출용 생성자
      *
-     * @param id    참여중인 Trace ID
+     * @param value 참여중인 Trace ID
      * @param level 현재 Trace Level
+     * @param id    이미 만들어진 ID 문자열, 없으면 null
      */
-    private TraceId(String id, int level) {
-        this.id = id;
+    private TraceId(long value, int level, String id) {
+        this.value = value;
         this.level = level;
+        this.id = id;
     }
 
     /**
-     * 새로운 UUID 생성 - {@link TraceId#TraceId()}
+     * @return 12자리 16진수 ID (노드 4자리 + 8자리), 예) 3fa25519e992
      */
-    private String createId() {
-        return UUID.randomUUID().toString().substring(0, 8);
+    public String getId() {
+        String id = this.id;
+        if (id == null) {
+            id = TraceIdGenerator.format(value);
+            this.id = id;
+        }
+        return id;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public int getLevel() {
+        return level;
     }
 
     /**
      * @return 자식 Level Trace
      */
     public TraceId createNextId() {
-        return new TraceId(id, level + 1);
+        return new TraceId(value, level + 1, id);
     }
 
     /**
      * @return 부모 Level Trace
      */
     public TraceId createPreviousId() {
-        return new TraceId(id, level - 1);
+        return new TraceId(value, level - 1, id);
     }
 
     /**
@@ -65,4 +80,13 @@ public class TraceId {
     public boolean isFirstLevel() {
         return level == 0;
     }
+
+    /**
+     * 로그 인자로 {@link TraceId}를 그대로 넘기면,
+     * 로그가 실제로 출력될 때만 문자열이 만들어진다.
+     */
+    @Override
+    public String toString() {
+        return getId();
+    }
 }
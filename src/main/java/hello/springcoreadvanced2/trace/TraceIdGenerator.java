@@ -0,0 +1,65 @@
+package hello.springcoreadvanced2.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link TraceId} 값 생성기<br>
+ * - {@link java.util.UUID#randomUUID()}는 SecureRandom 을 사용하고, 문자열도 2번 만든다.<br>
+ * - 대신 쓰레드별 난수 상태({@link ThreadLocalRandom})와 노드 ID 를 섞은 long 값을 사용한다.
+ */
+public final class TraceIdGenerator {
+
+    /**
+     * 상위 16bit 에 들어가는 노드(프로세스) 구분 값
+     */
+    private static final long NODE_ID = mix(ProcessHandle.current().pid() ^ System.nanoTime()) & 0xFFFFL;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceIdGenerator() {
+    }
+
+    /**
+     * 새로운 Trace ID 생성, 객체를 만들지 않는다.
+     */
+    public static long nextId() {
+        long random = ThreadLocalRandom.current().nextLong() & 0xFFFF_FFFF_FFFFL;
+        return (NODE_ID << 48) | random;
+    }
+
+    /**
+     * 노드 ID(상위 16bit) 4자리 + 하위 32bit 8자리, 12자리 16진수 문자열로 변환<br>
+     * - 뒤 8자리는 기존 UUID 앞 8자리와 같은 모양, 예) 3fa25519e992<br>
+     * - 노드 ID 를 출력해야 여러 노드의 로그를 모았을 때 ID 가 겹치지 않는다.
+     */
+    public static String format(long id) {
+        char[] chars = new char[12];
+        long node = id >>> 48;
+        for (int i = 3; i >= 0; i--) {
+            chars[i] = HEX[(int) (node & 0xF)];
+            node >>>= 4;
+        }
+        long low = id;
+        for (int i = 11; i >= 4; i--) {
+            chars[i] = HEX[(int) (low & 0xF)];
+            low >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return 이 노드(프로세스)의 ID, {@link #nextId()}의 상위 16bit
+     */
+    static long nodeId() {
+        return NODE_ID;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,26 +1,143 @@
 package hello.springcoreadvanced2.trace;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-
 /**
  * Trace 상태 정보
+ * <p>
+ * 보통은 호출마다 새로 만든다.<br>
+ * {@link TraceStatusPool}에서 꺼낸 객체는 end/exception 에서 반환되고, 다음 호출에서 다시 사용된다.<br>
+ * - 반환된 뒤에 값을 읽으면 assert 로 잡는다. (<code>-ea</code>, 테스트 실행 시)
  */
-@Getter
-@RequiredArgsConstructor
 public class TraceStatus {
+    /**
+     * 기록하지 않기로 한 호출의 상태, 호출마다 새로 만들지 않는다.<br>
+     * - 값은 모두 비어있으므로, 데코레이터는 {@link #isSampled()}로 먼저 확인해야 한다.
+     */
+    public static final TraceStatus NOT_SAMPLED = new TraceStatus(null, -1, 0, 0, null);
+
     /**
      * Trace ID
      */
-    private final TraceId traceId;
+    private TraceId traceId;
+
+    /**
+     * 시작할 때의 Trace Level<br>
+     * - {@link TraceFrame}을 사용하면 {@link TraceId#getLevel()}은 항상 0 이므로, 여기에 따로 담는다.
+     */
+    private int level;
+
+    /**
+     * 시작 시간, {@link System#nanoTime()}<br>
+     * - 걸린 시간 계산용 - {@link TraceTime#elapsedMicros(long)}
+     */
+    private long startNanos;
 
     /**
-     * 시작 시간
+     * 시작 시각, {@link System#currentTimeMillis()}<br>
+     * - 화면 표시용, 걸린 시간 계산에는 사용하지 않는다.
      */
-    private final Long startTimeMs;
+    private long startTimeMs;
 
     /**
      * 메서드 이름
      */
-    private final String message;
+    private String message;
+
+    /**
+     * {@link TraceStatusPool}에서 꺼낸 객체라면 true
+     */
+    private final boolean pooled;
+
+    /**
+     * {@link TraceStatusPool}에 반환되었다면 true
+     */
+    private boolean released;
+
+    public TraceStatus(TraceId traceId, int level, long startNanos, long startTimeMs, String message) {
+        this.traceId = traceId;
+        this.level = level;
+        this.startNanos = startNanos;
+        this.startTimeMs = startTimeMs;
+        this.message = message;
+        this.pooled = false;
+    }
+
+    /**
+     * {@link TraceStatusPool} 전용, 반환된 상태로 만든다.
+     */
+    TraceStatus() {
+        this.pooled = true;
+        this.released = true;
+    }
+
+    public TraceId getTraceId() {
+        assert !released : "반환된 TraceStatus 를 사용했습니다.";
+        return traceId;
+    }
+
+    public int getLevel() {
+        assert !released : "반환된 TraceStatus 를 사용했습니다.";
+        return level;
+    }
+
+    public long getStartNanos() {
+        assert !released : "반환된 TraceStatus 를 사용했습니다.";
+        return startNanos;
+    }
+
+    public long getStartTimeMs() {
+        assert !released : "반환된 TraceStatus 를 사용했습니다.";
+        return startTimeMs;
+    }
+
+    public String getMessage() {
+        assert !released : "반환된 TraceStatus 를 사용했습니다.";
+        return message;
+    }
+
+    /**
+     * @return {@link #NOT_SAMPLED}가 아니라면 true
+     */
+    public boolean isSampled() {
+        return this != NOT_SAMPLED;
+    }
+
+    /**
+     * @return {@link TraceStatusPool}에서 꺼낸 객체라면 true
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * {@link TraceStatusPool}에 속하지 않는 복사본<br>
+     * - 반환한 뒤에도 값을 읽어야 할 때 사용한다. 예) 비동기 호출의 완료 로그
+     *
+     * @return 같은 값을 가진 새 객체
+     */
+    public TraceStatus copy() {
+        return new TraceStatus(getTraceId(), getLevel(), getStartNanos(), getStartTimeMs(), getMessage());
+    }
+
+    /**
+     * {@link TraceStatusPool#acquire}에서 호출
+     */
+    void reuse(TraceId traceId, int level, long startNanos, long startTimeMs, String message) {
+        assert released : "사용중인 TraceStatus 를 다시 꺼냈습니다. level = " + level;
+        this.traceId = traceId;
+        this.level = level;
+        this.startNanos = startNanos;
+        this.startTimeMs = startTimeMs;
+        this.message = message;
+        this.released = false;
+    }
+
+    /**
+     * {@link TraceStatusPool#release}에서 호출, 다른 객체를 붙잡지 않도록 참조를 지운다.
+     */
+    void release() {
+        assert !released : "이미 반환된 TraceStatus 입니다.";
+        this.traceId = null;
+        this.message = null;
+        this.released = true;
+    }
 }
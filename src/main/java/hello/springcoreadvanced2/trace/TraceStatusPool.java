@@ -0,0 +1,51 @@
+package hello.springcoreadvanced2.trace;
+
+/**
+ * 쓰레드별 {@link TraceStatus} 스택<br>
+ * - Level 마다 객체 하나를 미리 만들어 두고, begin 에서 꺼내고 end/exception 에서 반환한다.<br>
+ * - {@link #depth}보다 깊은 Level 은 평소처럼 새로 만든다.
+ * <p>
+ * 한 쓰레드에서만 사용해야 한다. - {@link TraceFrame#statusPool(int)}<br>
+ * 반환한 뒤에는 {@link TraceStatus}를 보관하거나 다시 사용하면 안 된다.
+ */
+public final class TraceStatusPool {
+    private final TraceStatus[] stack;
+
+    /**
+     * @param depth 미리 만들어 둘 Level 수
+     */
+    public TraceStatusPool(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth 는 1 이상이어야 합니다. depth = " + depth);
+        }
+        this.stack = new TraceStatus[depth];
+        for (int i = 0; i < depth; i++) {
+            stack[i] = new TraceStatus();
+        }
+    }
+
+    /**
+     * @return 해당 Level 의 {@link TraceStatus}, 미리 만든 Level 보다 깊다면 새로 만든다.
+     */
+    public TraceStatus acquire(TraceId traceId, int level, long startNanos, long startTimeMs, String message) {
+        if (level < 0 || level >= stack.length) {
+            return new TraceStatus(traceId, level, startNanos, startTimeMs, message);
+        }
+        TraceStatus status = stack[level];
+        status.reuse(traceId, level, startNanos, startTimeMs, message);
+        return status;
+    }
+
+    /**
+     * {@link TraceStatus} 반환, 새로 만든 객체라면 아무것도 하지 않는다.
+     */
+    public void release(TraceStatus status) {
+        if (status.isPooled()) {
+            status.release();
+        }
+    }
+
+    public int depth() {
+        return stack.length;
+    }
+}
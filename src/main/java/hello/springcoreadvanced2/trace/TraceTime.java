@@ -0,0 +1,38 @@
+package hello.springcoreadvanced2.trace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace 시간 계산 유틸<br>
+ * - 걸린 시간은 {@link System#nanoTime()}으로 계산한다. (시스템 시간이 바뀌어도 영향을 받지 않는다.)<br>
+ * - {@link System#currentTimeMillis()}는 화면 표시용으로만 사용한다.
+ */
+public final class TraceTime {
+
+    private TraceTime() {
+    }
+
+    /**
+     * @param startNanos {@link TraceStatus#getStartNanos()}
+     * @return 지금까지 걸린 시간 (µs)
+     */
+    public static long elapsedMicros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * µs 를 소수점 3자리 ms 문자열로 변환, 예) 1003127 -> "1003.127"
+     */
+    public static String formatMillis(long micros) {
+        long millis = micros / 1000;
+        long fraction = micros % 1000;
+        StringBuilder sb = new StringBuilder(24).append(millis).append('.');
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
@@ -0,0 +1,14 @@
+package hello.springcoreadvanced2.trace.callback;
+
+/**
+ * 템플릿 콜백 패턴 - boolean 를 반환하는 콜백<br>
+ * - 결과를 박싱하지 않는다. - {@link TraceTemplate#executeBoolean(String, TraceBooleanCallback)}
+ */
+@FunctionalInterface
+public interface TraceBooleanCallback {
+
+    /**
+     * 로직
+     */
+    boolean call();
+}
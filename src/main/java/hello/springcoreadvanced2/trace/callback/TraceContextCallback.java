@@ -0,0 +1,22 @@
+package hello.springcoreadvanced2.trace.callback;
+
+/**
+ * 템플릿 콜백 패턴 - 문맥을 인자로 받는 콜백<br>
+ * - 필요한 값을 인자로 넘겨받으므로, 값을 캡처하지 않는 람다(매번 새로 만들지 않는다)를 사용할 수 있다.<br>
+ * - 예) <code>template.execute("ItemId.normalize()", itemId, String::trim)</code><br>
+ * - <code>repository::save</code>처럼 객체에 묶인 메서드 참조는 repository 를 캡처하므로 호출마다 새로 만들어질 수 있다.
+ * 이때는 repository 를 문맥으로 넘기고 <code>OrderRepository::save</code>처럼 묶이지 않은 참조를 사용한다.
+ *
+ * @param <C> 문맥 타입
+ * @param <T> 결과 타입
+ */
+@FunctionalInterface
+public interface TraceContextCallback<C, T> {
+
+    /**
+     * 로직
+     *
+     * @param context {@link TraceTemplate}에 넘긴 문맥
+     */
+    T call(C context);
+}
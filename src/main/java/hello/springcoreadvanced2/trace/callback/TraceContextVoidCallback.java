@@ -0,0 +1,18 @@
+package hello.springcoreadvanced2.trace.callback;
+
+/**
+ * 템플릿 콜백 패턴 - 문맥을 인자로 받고 반환 값이 없는 콜백<br>
+ * - {@link TraceContextCallback}의 void 버전
+ *
+ * @param <C> 문맥 타입
+ */
+@FunctionalInterface
+public interface TraceContextVoidCallback<C> {
+
+    /**
+     * 로직
+     *
+     * @param context {@link TraceTemplate}에 넘긴 문맥
+     */
+    void call(C context);
+}
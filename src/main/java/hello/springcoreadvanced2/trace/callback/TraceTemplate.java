@@ -6,6 +6,12 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * 템플릿 콜백 패턴 - 템플릿
+ * <p>
+ * 결과 타입별 진입점<br>
+ * - {@link #execute(String, TraceCallback)}: 객체 반환<br>
+ * - {@link #executeVoid}, {@link #executeInt}, {@link #executeLong}, {@link #executeBoolean}: 반환 값 없음, 기본 타입 반환 (박싱 없음)<br>
+ * - {@link #execute(String, Object, TraceContextCallback)}, {@link #executeVoid(String, Object, TraceContextVoidCallback)}:
+ * 문맥을 인자로 넘기므로, 캡처하지 않는 람다나 메서드 참조를 사용할 수 있다.
  */
 @RequiredArgsConstructor
 public class TraceTemplate {
@@ -33,4 +39,136 @@ public class TraceTemplate {
             throw e;
         }
     }
+
+    /**
+     * 문맥을 넘기는 템플릿
+     *
+     * @param message  로그 메시지
+     * @param context  callback 에 넘길 문맥
+     * @param callback 비즈니스 로직
+     */
+    public <C, T> T execute(String message, C context, TraceContextCallback<C, T> callback) {
+        TraceStatus status = null;
+
+        try {
+            status = logTrace.begin(message);
+
+            T result = callback.call(context);
+
+            logTrace.end(status);
+            return result;
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 반환 값이 없는 템플릿
+     *
+     * @param message  로그 메시지
+     * @param callback 비즈니스 로직
+     */
+    public void executeVoid(String message, TraceVoidCallback callback) {
+        TraceStatus status = null;
+
+        try {
+            status = logTrace.begin(message);
+
+            callback.call();
+
+            logTrace.end(status);
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 문맥을 넘기고, 반환 값이 없는 템플릿
+     *
+     * @param message  로그 메시지
+     * @param context  callback 에 넘길 문맥
+     * @param callback 비즈니스 로직
+     */
+    public <C> void executeVoid(String message, C context, TraceContextVoidCallback<C> callback) {
+        TraceStatus status = null;
+
+        try {
+            status = logTrace.begin(message);
+
+            callback.call(context);
+
+            logTrace.end(status);
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * int 를 반환하는 템플릿
+     *
+     * @param message  로그 메시지
+     * @param callback 비즈니스 로직
+     */
+    public int executeInt(String message, TraceIntCallback callback) {
+        TraceStatus status = null;
+
+        try {
+            status = logTrace.begin(message);
+
+            int result = callback.call();
+
+            logTrace.end(status);
+            return result;
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * long 을 반환하는 템플릿
+     *
+     * @param message  로그 메시지
+     * @param callback 비즈니스 로직
+     */
+    public long executeLong(String message, TraceLongCallback callback) {
+        TraceStatus status = null;
+
+        try {
+            status = logTrace.begin(message);
+
+            long result = callback.call();
+
+            logTrace.end(status);
+            return result;
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * boolean 을 반환하는 템플릿
+     *
+     * @param message  로그 메시지
+     * @param callback 비즈니스 로직
+     */
+    public boolean executeBoolean(String message, TraceBooleanCallback callback) {
+        TraceStatus status = null;
+
+        try {
+            status = logTrace.begin(message);
+
+            boolean result = callback.call();
+
+            logTrace.end(status);
+            return result;
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
 }
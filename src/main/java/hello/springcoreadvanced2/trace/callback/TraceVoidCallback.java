@@ -0,0 +1,14 @@
+package hello.springcoreadvanced2.trace.callback;
+
+/**
+ * 템플릿 콜백 패턴 - 반환 값이 없는 콜백<br>
+ * - <code>return null</code>이 필요 없다. - {@link TraceTemplate#executeVoid(String, TraceVoidCallback)}
+ */
+@FunctionalInterface
+public interface TraceVoidCallback {
+
+    /**
+     * 로직
+     */
+    void call();
+}
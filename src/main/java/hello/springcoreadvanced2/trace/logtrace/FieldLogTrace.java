@@ -2,6 +2,7 @@ package hello.springcoreadvanced2.trace.logtrace;
 
 import hello.springcoreadvanced2.trace.TraceId;
 import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.TraceTime;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -14,14 +15,22 @@ import lombok.extern.slf4j.Slf4j;
 public class FieldLogTrace implements LogTrace {
     private TraceId traceIdHolder;
 
+    /**
+     * 현재 Trace 에서 이미 기록한 예외, 상위 Level 로 다시 던져지면 이름만 기록한다.
+     */
+    private Exception recordedException;
+
     @Override
     public TraceStatus begin(String message) {
         syncTraceId();
         TraceId traceId = traceIdHolder;
-        Long startTimeMs = System.currentTimeMillis();
-        log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
+        long startNanos = System.nanoTime();
+        long startTimeMs = System.currentTimeMillis();
+        if (log.isInfoEnabled()) {
+            TraceLogRenderer.start(log, traceId, traceId.getLevel(), message);
+        }
 
-        return new TraceStatus(traceId, startTimeMs, message);
+        return new TraceStatus(traceId, traceId.getLevel(), startNanos, startTimeMs, message);
     }
 
     @Override
@@ -50,28 +59,28 @@ public class FieldLogTrace implements LogTrace {
             @Nonnull TraceStatus status,
             @Nullable Exception e
     ) {
-        Long stopTimeMs = System.currentTimeMillis();
-        long resultTime = stopTimeMs - status.getStartTimeMs();
-        TraceId traceId = status.getTraceId();
-        if (e == null) {
-            log.info(
-                    "[{}] {}{} time = [{}ms]",
-                    traceId.getId(),
-                    addSpace(COMPLETE_PREFIX, traceId.getLevel()),
-                    status.getMessage(), resultTime
-            );
-        } else {
-            log.info(
-                    "[{}] {}{} time = [{}ms] e = {}",
-                    traceId.getId(),
-                    addSpace(EX_PREFIX, traceId.getLevel()),
-                    status.getMessage(), resultTime, e.toString()
+        // 로그를 출력하지 않는다면 시간 계산, 들여쓰기, 문자열 생성을 모두 건너뛴다.
+        if (log.isInfoEnabled()) {
+            TraceLogRenderer.complete(
+                    log, status.getTraceId(), status.getLevel(), status.getMessage(),
+                    TraceTime.elapsedMicros(status.getStartNanos()), e, e != null && recordException(e)
             );
         }
 
         releaseTraceId();
     }
 
+    /**
+     * @return 이 Trace 에서 처음 보는 예외라면 true, 하위 Level 에서 다시 던져진 예외라면 false
+     */
+    private boolean recordException(Exception e) {
+        if (recordedException == e) {
+            return false;
+        }
+        recordedException = e;
+        return true;
+    }
+
     /**
      * 다음 TraceID 로 전환<br>
      * - {@link #begin}에서 호출
@@ -91,6 +100,7 @@ public class FieldLogTrace implements LogTrace {
     private void releaseTraceId() {
         if (traceIdHolder.isFirstLevel()) {
             traceIdHolder = null;
+            recordedException = null;
         } else {
             traceIdHolder = traceIdHolder.createPreviousId();
         }
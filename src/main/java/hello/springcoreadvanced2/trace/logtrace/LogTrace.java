@@ -2,10 +2,13 @@ package hello.springcoreadvanced2.trace.logtrace;
 
 import hello.springcoreadvanced2.trace.TraceId;
 import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.async.AsyncLogTrace;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 로그 Trace Interface<br>
- * - 구현체: {@link FieldLogTrace}, {@link ThreadLocalLogTrace}
+ * - 구현체: {@link FieldLogTrace}, {@link StripedFieldLogTrace}, {@link ThreadLocalLogTrace}, {@link AsyncLogTrace}
  * - 스프링 빈으로 등록되어있다. {@link LogTraceConfig}
  */
 public interface LogTrace {
@@ -36,6 +39,22 @@ public interface LogTrace {
      */
     void exception(TraceStatus status, Exception e);
 
+    /**
+     * 현재 Trace 종료 - 결과가 {@link CompletableFuture}인 비동기 호출<br>
+     * - 호출한 쓰레드의 Level 은 바로 되돌리고, 종료 로그는 Future 가 완료될 때 남긴다.<br>
+     * - 돌려준 Future 는 종료 로그를 남긴 뒤에 완료된다. 호출한 쪽이 이 Future 를 이어 쓰면 하위 Level 이 먼저 기록된다.
+     * <p>
+     * 기본 구현은 {@link #end}를 바로 호출한다. 걸린 시간은 Future 를 돌려받을 때까지의 시간이다.
+     *
+     * @param status {@link TraceStatus}
+     * @param future 메서드가 돌려준 Future
+     * @return 호출한 쪽에 돌려줄 Future
+     */
+    default <T> CompletableFuture<T> endAsync(TraceStatus status, CompletableFuture<T> future) {
+        end(status);
+        return future;
+    }
+
     /**
      * @return {@link TraceId#isFirstLevel()}
      */
@@ -49,14 +68,12 @@ public interface LogTrace {
      * - Level 2: |   |-->
      * </code>
      *
+     * 자주 쓰는 prefix, Level 은 {@link TraceIndent}에 미리 만들어 둔 문자열을 돌려준다.
+     *
      * @param prefix {@link LogTrace#START_PREFIX}, {@link LogTrace#COMPLETE_PREFIX}, {@link LogTrace#EX_PREFIX}
      * @param level  Trace Level
      */
     default String addSpace(String prefix, int level) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < level; i++) {
-            sb.append((i == level - 1) ? "|" + prefix : "|   ");
-        }
-        return sb.toString();
+        return TraceIndent.of(prefix, level);
     }
 }
@@ -1,12 +1,133 @@
 package hello.springcoreadvanced2.trace.logtrace;
 
+import hello.springcoreadvanced2.trace.logtrace.async.AsyncLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.async.OverflowPolicy;
+import hello.springcoreadvanced2.trace.logtrace.binary.BinaryLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.binary.BinaryTraceWriter;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadMapTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.context.TraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.metrics.MetricsLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.sampling.SamplingLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.sampling.SamplingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * {@link LogTrace} 설정<br>
+ * - <code>trace.mode</code> 속성으로 구현체를 선택한다. 기본값은 {@link ThreadLocalLogTrace}<br>
+ * - <code>trace.context</code> 속성으로 {@link ThreadLocalLogTrace}의 {@link TraceContextCarrier}를 선택한다.<br>
+ * - <code>trace.metrics.enabled=true</code> 이면 선택된 구현체를 {@link MetricsLogTrace}로 감싼다.
+ */
 @Configuration
 public class LogTraceConfig {
+
+    /**
+     * <code>trace.mode=thread-local</code> (기본값)<br>
+     * - <code>trace.context=thread-local</code> (기본값): {@link ThreadLocalTraceContextCarrier}<br>
+     * - <code>trace.context=thread-map</code>: {@link ThreadMapTraceContextCarrier}, 짧게 사는 쓰레드가 많을 때<br>
+     * - <code>trace.status-pool.depth</code> (기본값 0, 사용 안 함): 1 이상이면 쓰레드별로 TraceStatus 를 재사용한다.
+     * 프레임을 쓰레드마다 남겨두므로, 오래 사는 쓰레드 풀과 <code>trace.context=thread-local</code>에서 사용한다.<br>
+     * - <code>trace.context=thread-map</code>과 함께 쓰면 끝난 쓰레드의 프레임이 Map 에 계속 남으므로, 시작할 때 거부한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "thread-local", matchIfMissing = true)
+    public LogTrace logTrace(
+            @Value("${trace.context:thread-local}") String context,
+            @Value("${trace.status-pool.depth:0}") int statusPoolDepth
+    ) {
+        if (context.equals("thread-map") && statusPoolDepth > 0) {
+            throw new IllegalArgumentException(
+                    "trace.context=thread-map 은 trace.status-pool.depth 와 함께 사용할 수 없습니다. trace.status-pool.depth = " + statusPoolDepth
+            );
+        }
+        return new ThreadLocalLogTrace(traceContextCarrier(context), statusPoolDepth);
+    }
+
+    private static TraceContextCarrier traceContextCarrier(String context) {
+        return switch (context) {
+            case "thread-local" -> new ThreadLocalTraceContextCarrier();
+            case "thread-map" -> new ThreadMapTraceContextCarrier();
+            default -> throw new IllegalArgumentException(
+                    "trace.context 는 thread-local, thread-map 중 하나여야 합니다. trace.context = " + context
+            );
+        };
+    }
+
+    /**
+     * <code>trace.mode=striped</code><br>
+     * - 쓰레드별 칸을 미리 만들어 둔 {@link StripedFieldLogTrace}, 칸 수는 <code>trace.striped.stripes</code>
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "striped")
+    public LogTrace stripedFieldLogTrace(
+            @Value("${trace.striped.stripes:1024}") int stripes
+    ) {
+        return new StripedFieldLogTrace(stripes);
+    }
+
+    /**
+     * <code>trace.mode=async</code><br>
+     * - 컨텍스트 종료 시 {@link AsyncLogTrace#close()}로 남은 로그를 모두 출력한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "async")
+    public LogTrace asyncLogTrace(
+            @Value("${trace.async.capacity:8192}") int capacity,
+            @Value("${trace.async.batch-size:256}") int batchSize,
+            @Value("${trace.async.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+            @Value("${trace.async.sample-rate:8}") int sampleRate
+    ) {
+        return new AsyncLogTrace(capacity, batchSize, overflowPolicy, sampleRate);
+    }
+
+    /**
+     * <code>trace.mode=binary</code><br>
+     * - 로그 대신 <code>trace.binary.directory</code>에 바이너리 Segment 파일을 기록한다.<br>
+     * - 컨텍스트 종료 시 {@link BinaryLogTrace#close()}로 기록된 내용을 디스크에 반영한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "binary")
+    public LogTrace binaryLogTrace(
+            @Value("${trace.binary.directory:${java.io.tmpdir}/log-trace}") Path directory,
+            @Value("${trace.binary.segment-bytes:16777216}") int segmentBytes,
+            @Value("${trace.binary.max-segments:8}") int maxSegments,
+            @Value("${trace.context:thread-local}") String context
+    ) throws IOException {
+        BinaryTraceWriter writer = new BinaryTraceWriter(directory, segmentBytes, maxSegments);
+        return new BinaryLogTrace(writer, traceContextCarrier(context));
+    }
+
+    /**
+     * <code>trace.mode=sampling</code><br>
+     * - <code>trace.sampling.mode=HEAD</code> (기본값): <code>trace.sampling.rate</code> 비율의 Trace 만 기록<br>
+     * - <code>trace.sampling.mode=TAIL</code>: <code>trace.sampling.slow-threshold-ms</code> 이상 걸렸거나 예외로 끝난 Trace 만 기록
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "sampling")
+    public LogTrace samplingLogTrace(
+            @Value("${trace.sampling.mode:HEAD}") SamplingMode mode,
+            @Value("${trace.sampling.rate:0.01}") double rate,
+            @Value("${trace.sampling.slow-threshold-ms:500}") long slowThresholdMs
+    ) {
+        return new SamplingLogTrace(mode, rate, slowThresholdMs);
+    }
+
+    /**
+     * <code>trace.metrics.enabled=true</code><br>
+     * - {@link Primary}이므로 {@link LogTrace}를 주입받는 곳에는 이 데코레이터가 주입된다.<br>
+     * - 자기 자신은 주입 후보에서 제외되므로, logTrace 에는 위에서 선택된 구현체가 주입된다.
+     */
     @Bean
-    public LogTrace logTrace() {
-        return new ThreadLocalLogTrace();
+    @Primary
+    @ConditionalOnProperty(name = "trace.metrics.enabled", havingValue = "true")
+    public MetricsLogTrace metricsLogTrace(LogTrace logTrace) {
+        return new MetricsLogTrace(logTrace);
     }
 }
@@ -0,0 +1,161 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import hello.springcoreadvanced2.trace.TraceFrame;
+import hello.springcoreadvanced2.trace.TraceId;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.TraceTime;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 동시성 문제를 해결한 Field 기반 LogTrace<br>
+ * - {@link FieldLogTrace}처럼 필드에 상태를 두지만, 하나가 아니라 미리 만든 {@link TraceFrame} 배열을 둔다.<br>
+ * - 쓰레드 ID 로 칸(stripe)을 고르고, 최상위 호출에서 CAS 로 그 칸을 차지한다. 잠금과 ThreadLocal 조회가 없다.<br>
+ * - 이미 다른 쓰레드가 차지한 칸이라면, 그 Trace 는 {@link #overflow} Map 에 둔다.
+ * <p>
+ * 칸의 주인({@link #owners})은 최상위 호출이 끝나면 비운다.
+ */
+@Slf4j
+public class StripedFieldLogTrace implements LogTrace {
+    private static final int DEFAULT_STRIPES = 1024;
+
+    private final TraceFrame[] frames;
+    private final AtomicReferenceArray<Thread> owners;
+    private final int mask;
+
+    /**
+     * 칸이 겹친 쓰레드의 {@link TraceFrame}
+     */
+    private final ConcurrentHashMap<Thread, TraceFrame> overflow = new ConcurrentHashMap<>();
+
+    public StripedFieldLogTrace() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes 미리 만들 {@link TraceFrame} 수, 2의 거듭제곱으로 올림한다.
+     */
+    public StripedFieldLogTrace(int stripes) {
+        if (stripes < 1 || stripes > (1 << 30)) {
+            throw new IllegalArgumentException("stripes 는 1 ~ 2^30 이어야 합니다. stripes = " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.frames = new TraceFrame[size];
+        for (int i = 0; i < size; i++) {
+            frames[i] = new TraceFrame();
+        }
+        this.owners = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceFrame frame = syncTraceFrame();
+        int level = frame.enter();
+        TraceId traceId = frame.getTraceId();
+        long startNanos = System.nanoTime();
+        long startTimeMs = System.currentTimeMillis();
+        if (log.isInfoEnabled()) {
+            TraceLogRenderer.start(log, traceId, level, message);
+        }
+
+        return new TraceStatus(traceId, level, startNanos, startTimeMs, message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    @Override
+    public boolean isFirstLevel() {
+        return currentFrame(Thread.currentThread()) == null;
+    }
+
+    /**
+     * 현재 Trace 종료<br>
+     * - {@link #end}, {@link #exception}에서 호출
+     *
+     * @param status 현재 상태
+     * @param e      발생한 예외
+     */
+    private void complete(
+            @Nonnull TraceStatus status,
+            @Nullable Exception e
+    ) {
+        Thread thread = Thread.currentThread();
+        TraceFrame frame = currentFrame(thread);
+
+        if (log.isInfoEnabled()) {
+            TraceLogRenderer.complete(
+                    log, status.getTraceId(), status.getLevel(), status.getMessage(),
+                    TraceTime.elapsedMicros(status.getStartNanos()), e, e != null && frame.recordException(e)
+            );
+        }
+
+        releaseTraceFrame(thread, frame);
+    }
+
+    private int stripe(Thread thread) {
+        return (int) thread.getId() & mask;
+    }
+
+    /**
+     * @return 현재 쓰레드가 진행중인 {@link TraceFrame}, 없으면 null
+     */
+    private TraceFrame currentFrame(Thread thread) {
+        int stripe = stripe(thread);
+        if (owners.get(stripe) == thread) {
+            return frames[stripe];
+        }
+        return overflow.get(thread);
+    }
+
+    /**
+     * 현재 쓰레드의 {@link TraceFrame} 조회, 없으면 칸을 차지한다.<br>
+     * - {@link #begin}에서 호출
+     */
+    private TraceFrame syncTraceFrame() {
+        Thread thread = Thread.currentThread();
+        TraceFrame frame = currentFrame(thread);
+        if (frame != null) {
+            return frame;
+        }
+
+        int stripe = stripe(thread);
+        if (owners.compareAndSet(stripe, null, thread)) {
+            return frames[stripe];
+        }
+        frame = new TraceFrame();
+        overflow.put(thread, frame);
+        return frame;
+    }
+
+    /**
+     * 이전 Level 로 전환, 최상위 Level 이 끝나면 칸을 비운다.<br>
+     * - {@link #complete}에서 호출
+     */
+    private void releaseTraceFrame(Thread thread, TraceFrame frame) {
+        if (!frame.exit()) {
+            return;
+        }
+        int stripe = stripe(thread);
+        if (owners.get(stripe) == thread) {
+            owners.set(stripe, null);
+        } else {
+            overflow.remove(thread);
+        }
+    }
+}
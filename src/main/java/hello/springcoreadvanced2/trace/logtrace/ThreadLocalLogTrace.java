@@ -1,27 +1,81 @@
 package hello.springcoreadvanced2.trace.logtrace;
 
+import hello.springcoreadvanced2.trace.TraceFrame;
 import hello.springcoreadvanced2.trace.TraceId;
 import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.TraceStatusPool;
+import hello.springcoreadvanced2.trace.TraceTime;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.context.TraceContextCarrier;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
- * ThreadLocal 기반 LogTrace
+ * ThreadLocal 기반 LogTrace<br>
+ * - 쓰레드마다 하나의 {@link TraceFrame}을 두고, 중첩 호출에서는 Level 만 바꾼다.<br>
+ * - {@link TraceFrame}을 보관하는 곳은 {@link TraceContextCarrier}로 교체할 수 있다. 기본값은 {@link ThreadLocal}<br>
+ * - 예외는 가장 깊은 Level 에서 한 번만 기록하고, 다시 던져진 상위 Level 에는 <code>e = ^클래스 이름</code>만 남긴다.<br>
+ * - statusPoolDepth 가 1 이상이면 {@link TraceStatus}를 쓰레드별 {@link TraceStatusPool}에서 꺼내 쓴다.
+ * 이때 {@link TraceFrame}은 최상위 호출이 끝나도 지우지 않고 재사용한다.
+ * <p>
+ * 다른 쓰레드로 작업을 넘길 때는 {@link #wrap}으로 감싸면 같은 Trace 로 이어서 기록된다.<br>
+ * {@link CompletableFuture}를 돌려주는 호출은 {@link #endAsync}로 끝내면 완료될 때 종료 로그를 남긴다.
  */
 @Slf4j
 public class ThreadLocalLogTrace implements LogTrace {
 
-    private final ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+    private final TraceContextCarrier frameHolder;
+
+    /**
+     * {@link TraceStatusPool} 크기, 0 이면 사용하지 않는다.
+     */
+    private final int statusPoolDepth;
+
+    public ThreadLocalLogTrace() {
+        this(new ThreadLocalTraceContextCarrier());
+    }
+
+    /**
+     * @param frameHolder {@link TraceFrame}을 보관할 곳
+     */
+    public ThreadLocalLogTrace(TraceContextCarrier frameHolder) {
+        this(frameHolder, 0);
+    }
+
+    /**
+     * @param frameHolder     {@link TraceFrame}을 보관할 곳
+     * @param statusPoolDepth {@link TraceStatusPool} 크기, 0 이면 호출마다 {@link TraceStatus}를 새로 만든다.
+     */
+    public ThreadLocalLogTrace(TraceContextCarrier frameHolder, int statusPoolDepth) {
+        if (statusPoolDepth < 0) {
+            throw new IllegalArgumentException("statusPoolDepth 는 0 이상이어야 합니다. statusPoolDepth = " + statusPoolDepth);
+        }
+        this.frameHolder = frameHolder;
+        this.statusPoolDepth = statusPoolDepth;
+    }
 
     @Override
     public TraceStatus begin(String message) {
-        syncTraceId();
-        TraceId traceId = traceIdHolder.get();
-        Long startTimeMs = System.currentTimeMillis();
-        log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
+        TraceFrame frame = syncTraceFrame();
+        int level = frame.enter();
+        TraceId traceId = frame.getTraceId();
+        long startNanos = System.nanoTime();
+        long startTimeMs = System.currentTimeMillis();
+        if (log.isInfoEnabled()) {
+            TraceLogRenderer.start(log, traceId, level, message);
+        }
 
-        return new TraceStatus(traceId, startTimeMs, message);
+        if (statusPoolDepth > 0) {
+            return frame.statusPool(statusPoolDepth).acquire(traceId, level, startNanos, startTimeMs, message);
+        }
+        return new TraceStatus(traceId, level, startNanos, startTimeMs, message);
     }
 
     @Override
@@ -34,9 +88,62 @@ public class ThreadLocalLogTrace implements LogTrace {
         complete(status, e);
     }
 
+    /**
+     * 비동기 호출 종료<br>
+     * - 지금 쓰레드의 Level 은 바로 되돌린다. 이 쓰레드는 Future 가 완료되기 전에 다른 요청을 처리할 수 있다.<br>
+     * - 종료 로그는 Future 가 완료된 쓰레드에서 남긴다. 시작 시간과 Level 은 status 에 있으므로 쓰레드와 상관없다.<br>
+     * - {@link TraceStatusPool}에서 꺼낸 status 는 바로 반환하므로, 복사본으로 기록한다.<br>
+     * - 예외는 같은 Trace 의 비동기 호출끼리 {@link TraceFrame#asyncException()}으로 한 번만 전체를 기록한다.
+     */
+    @Override
+    public <T> CompletableFuture<T> endAsync(TraceStatus status, CompletableFuture<T> future) {
+        TraceFrame frame = frameHolder.get();
+        TraceStatus detached = status.isPooled() ? status.copy() : status;
+        AtomicReference<Exception> recorded = frame.asyncException();
+
+        if (statusPoolDepth > 0) {
+            frame.statusPool(statusPoolDepth).release(status);
+        }
+        releaseTraceFrame(frame);
+
+        return future.whenComplete((result, t) -> {
+            if (!log.isInfoEnabled()) {
+                return;
+            }
+            if (t == null) {
+                logComplete(detached, null, false);
+            } else {
+                Exception e = unwrap(t);
+                logComplete(detached, e, recorded.getAndSet(e) != e);
+            }
+        });
+    }
+
     @Override
     public boolean isFirstLevel() {
-        return traceIdHolder.get() == null;
+        TraceFrame frame = frameHolder.get();
+        return frame == null || frame.isIdle();
+    }
+
+    /**
+     * 현재 Trace 문맥을 담은 작업, {@link TraceContextCarrier#wrap(Runnable)}
+     */
+    public Runnable wrap(Runnable task) {
+        return frameHolder.wrap(task);
+    }
+
+    /**
+     * 현재 Trace 문맥을 담은 작업, {@link TraceContextCarrier#wrap(Callable)}
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return frameHolder.wrap(task);
+    }
+
+    /**
+     * 작업을 넘길 때마다 Trace 문맥을 담는 {@link Executor}, {@link TraceContextCarrier#wrap(Executor)}
+     */
+    public Executor wrap(Executor executor) {
+        return frameHolder.wrap(executor);
     }
 
     /**
@@ -50,51 +157,70 @@ public class ThreadLocalLogTrace implements LogTrace {
             @Nonnull TraceStatus status,
             @Nullable Exception e
     ) {
-        Long stopTimeMs = System.currentTimeMillis();
-        long resultTime = stopTimeMs - status.getStartTimeMs();
-        TraceId traceId = status.getTraceId();
-        if (e == null) {
-            log.info(
-                    "[{}] {}{} time = [{}ms]",
-                    traceId.getId(),
-                    addSpace(COMPLETE_PREFIX, traceId.getLevel()),
-                    status.getMessage(), resultTime
-            );
-        } else {
-            log.info(
-                    "[{}] {}{} time = [{}ms] e = {}",
-                    traceId.getId(),
-                    addSpace(EX_PREFIX, traceId.getLevel()),
-                    status.getMessage(), resultTime, e.toString()
-            );
+        TraceFrame frame = frameHolder.get();
+
+        // 로그를 출력하지 않는다면 시간 계산, 들여쓰기, 문자열 생성을 모두 건너뛴다.
+        if (log.isInfoEnabled()) {
+            logComplete(status, e, e != null && frame.recordException(e));
         }
 
-        releaseTraceId();
+        if (statusPoolDepth > 0) {
+            frame.statusPool(statusPoolDepth).release(status);
+        }
+        releaseTraceFrame(frame);
+    }
+
+    /**
+     * 종료 로그 출력 - {@link TraceLogRenderer#complete}
+     *
+     * @param status         현재 상태
+     * @param e              발생한 예외
+     * @param firstException 이 Trace 에서 처음 기록하는 예외라면 true
+     */
+    private void logComplete(
+            @Nonnull TraceStatus status,
+            @Nullable Exception e,
+            boolean firstException
+    ) {
+        TraceLogRenderer.complete(
+                log, status.getTraceId(), status.getLevel(), status.getMessage(),
+                TraceTime.elapsedMicros(status.getStartNanos()), e, firstException
+        );
+    }
+
+    /**
+     * 완료 콜백이 받은 예외에서 원래 예외 꺼내기<br>
+     * - 이어 붙인 단계의 Future 는 {@link CompletionException}으로 감싸서 완료된다.
+     */
+    private static Exception unwrap(Throwable t) {
+        Throwable cause = t;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception e ? e : new CompletionException(cause);
     }
 
     /**
-     * 다음 TraceID 로 전환<br>
+     * 현재 쓰레드의 {@link TraceFrame} 조회, 없으면 생성<br>
      * - {@link #begin}에서 호출
      */
-    private void syncTraceId() {
-        TraceId traceId = traceIdHolder.get();
-        if (traceId == null) {
-            traceIdHolder.set(new TraceId());
-        } else {
-            traceIdHolder.set(traceId.createNextId());
+    private TraceFrame syncTraceFrame() {
+        TraceFrame frame = frameHolder.get();
+        if (frame == null) {
+            frame = new TraceFrame();
+            frameHolder.set(frame);
         }
+        return frame;
     }
 
     /**
-     * 이전 TraceID 로 전환<br>
+     * 이전 Level 로 전환, 최상위 Level 이 끝나면 {@link TraceContextCarrier} 정리<br>
+     * - {@link TraceStatusPool}을 사용한다면 프레임을 재사용하므로 지우지 않는다.<br>
      * - {@link #complete}에서 호출
      */
-    private void releaseTraceId() {
-        TraceId traceId = traceIdHolder.get();
-        if (traceId.isFirstLevel()) {
-            traceIdHolder.remove();
-        } else {
-            traceIdHolder.set(traceId.createPreviousId());
+    private void releaseTraceFrame(TraceFrame frame) {
+        if (frame.exit() && statusPoolDepth == 0) {
+            frameHolder.remove();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+/**
+ * {@link LogTrace#addSpace} 결과 캐시<br>
+ * - {@link LogTrace#START_PREFIX}, {@link LogTrace#COMPLETE_PREFIX}, {@link LogTrace#EX_PREFIX}의
+ * Level {@value #CACHED_LEVELS} 미만 들여쓰기를 미리 만들어 둔다.<br>
+ * - 그 밖의 prefix, 더 깊은 Level 은 호출할 때마다 만든다.
+ */
+public final class TraceIndent {
+    static final int CACHED_LEVELS = 32;
+
+    private static final String[] START = table(LogTrace.START_PREFIX);
+    private static final String[] COMPLETE = table(LogTrace.COMPLETE_PREFIX);
+    private static final String[] EX = table(LogTrace.EX_PREFIX);
+
+    private TraceIndent() {
+    }
+
+    /**
+     * @param prefix {@link LogTrace#START_PREFIX}, {@link LogTrace#COMPLETE_PREFIX}, {@link LogTrace#EX_PREFIX}
+     * @param level  Trace Level
+     * @return 들여쓰기 문자열, 예) Level 2: <code>|   |--></code>
+     */
+    public static String of(String prefix, int level) {
+        if (level >= 0 && level < CACHED_LEVELS) {
+            String[] table = switch (prefix) {
+                case LogTrace.START_PREFIX -> START;
+                case LogTrace.COMPLETE_PREFIX -> COMPLETE;
+                case LogTrace.EX_PREFIX -> EX;
+                default -> null;
+            };
+            if (table != null) {
+                return table[level];
+            }
+        }
+        return build(prefix, level);
+    }
+
+    private static String[] table(String prefix) {
+        String[] table = new String[CACHED_LEVELS];
+        for (int level = 0; level < CACHED_LEVELS; level++) {
+            table[level] = build(prefix, level).intern();
+        }
+        return table;
+    }
+
+    private static String build(String prefix, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append((i == level - 1) ? "|" + prefix : "|   ");
+        }
+        return sb.toString();
+    }
+}
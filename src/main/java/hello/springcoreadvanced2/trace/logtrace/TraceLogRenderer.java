@@ -0,0 +1,80 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import hello.springcoreadvanced2.trace.ExceptionNames;
+import hello.springcoreadvanced2.trace.TraceId;
+import hello.springcoreadvanced2.trace.TraceTime;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * {@link LogTrace} 구현체가 공유하는 로그 출력<br>
+ * - 로그는 구현체의 Logger 로 남긴다. Level 확인은 호출한 쪽에서 먼저 한다.<br>
+ * - 예외는 가장 깊은 Level 에서 한 번만 전체를 출력하고, 다시 던져진 상위 Level 에는 <code>e = ^클래스 이름</code>만 남긴다.
+ * <p>
+ * <code>
+ * [3fa25519e992] OrderController.request()<br>
+ * [3fa25519e992] |--&gt;OrderService.orderItem()<br>
+ * [3fa25519e992] |   |--&gt;OrderRepository.save()<br>
+ * [3fa25519e992] |   |&lt;X-OrderRepository.save() time = [0.012ms] e = java.lang.IllegalStateException: 예외 발생!<br>
+ * [3fa25519e992] |&lt;X-OrderService.orderItem() time = [0.034ms] e = ^java.lang.IllegalStateException<br>
+ * [3fa25519e992] &lt;X-OrderController.request() time = [0.051ms] e = ^java.lang.IllegalStateException
+ * </code>
+ */
+public final class TraceLogRenderer {
+
+    private TraceLogRenderer() {
+    }
+
+    /**
+     * 시작 로그
+     *
+     * @param log     구현체의 Logger
+     * @param traceId Trace ID
+     * @param level   Trace Level
+     * @param message 메서드 이름
+     */
+    public static void start(Logger log, TraceId traceId, int level, String message) {
+        log.info("[{}] {}{}", traceId, TraceIndent.of(LogTrace.START_PREFIX, level), message);
+    }
+
+    /**
+     * 종료 로그
+     *
+     * @param log              구현체의 Logger
+     * @param traceId          Trace ID
+     * @param level            Trace Level
+     * @param message          메서드 이름
+     * @param resultTimeMicros 걸린 시간 (µs)
+     * @param e                발생한 예외, 정상 종료라면 null
+     * @param firstException   이 Trace 에서 처음 출력하는 예외라면 true, 하위 Level 에서 다시 던져진 예외라면 false
+     */
+    public static void complete(
+            Logger log,
+            TraceId traceId,
+            int level,
+            String message,
+            long resultTimeMicros,
+            @Nullable Exception e,
+            boolean firstException
+    ) {
+        String resultTime = TraceTime.formatMillis(resultTimeMicros);
+        if (e == null) {
+            log.info(
+                    "[{}] {}{} time = [{}ms]",
+                    traceId, TraceIndent.of(LogTrace.COMPLETE_PREFIX, level), message, resultTime
+            );
+        } else if (firstException) {
+            // 가장 깊은 Level: 예외 전체를 한 번만 기록
+            log.info(
+                    "[{}] {}{} time = [{}ms] e = {}",
+                    traceId, TraceIndent.of(LogTrace.EX_PREFIX, level), message, resultTime, e.toString()
+            );
+        } else {
+            // 상위 Level: 하위 Level 에서 기록한 예외가 다시 던져졌다. 이름만 남긴다.
+            log.info(
+                    "[{}] {}{} time = [{}ms] e = ^{}",
+                    traceId, TraceIndent.of(LogTrace.EX_PREFIX, level), message, resultTime, ExceptionNames.of(e)
+            );
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package hello.springcoreadvanced2.trace.logtrace.async;
+
+import hello.springcoreadvanced2.trace.TraceFrame;
+import hello.springcoreadvanced2.trace.TraceId;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.TraceTime;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.TraceLogRenderer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 LogTrace<br>
+ * - Trace ID 관리는 {@link ThreadLocalLogTrace}와 같다.<br>
+ * - 요청 쓰레드는 {@link TraceEvent}를 {@link TraceEventRingBuffer}에 넣기만 한다.<br>
+ * - 로그 출력은 백그라운드 쓰레드가 이벤트를 모아서(batch) 처리한다.<br>
+ * - 다시 던져진 예외인지는 요청 쓰레드에서 정해 두고, 출력 쓰레드는 {@link TraceLogRenderer}로 출력만 한다.
+ *
+ * @see OverflowPolicy
+ * @see TraceEventRingBuffer
+ */
+@Slf4j
+public class AsyncLogTrace implements LogTrace, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final int DEFAULT_SAMPLE_RATE = 8;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ThreadLocal<TraceFrame> frameHolder = new ThreadLocal<>();
+
+    private final TraceEventRingBuffer ringBuffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncLogTrace() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.DROP, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * @param capacity       {@link TraceEventRingBuffer} 크기
+     * @param batchSize      한 번에 꺼내서 출력할 최대 이벤트 수
+     * @param overflowPolicy 버퍼가 가득 찼을 때의 처리 정책
+     * @param sampleRate     {@link OverflowPolicy#SAMPLE}일 때, N개 중 1개만 받는다.
+     */
+    public AsyncLogTrace(
+            int capacity,
+            int batchSize,
+            OverflowPolicy overflowPolicy,
+            int sampleRate
+    ) {
+        if (batchSize < 1 || sampleRate < 1) {
+            throw new IllegalArgumentException(
+                    "batchSize, sampleRate 는 1 이상이어야 합니다. batchSize = " + batchSize + ", sampleRate = " + sampleRate
+            );
+        }
+        this.ringBuffer = new TraceEventRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+
+        this.writer = new Thread(this::writeLoop, "async-log-trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceFrame frame = syncTraceFrame();
+        int level = frame.enter();
+        TraceId traceId = frame.getTraceId();
+        long startNanos = System.nanoTime();
+        long startTimeMs = System.currentTimeMillis();
+        // 로그를 출력하지 않는다면 이벤트를 만들지도, 버퍼에 넣지도 않는다.
+        if (log.isInfoEnabled()) {
+            publish(new TraceEvent(traceId, level, message, -1, null, false));
+        }
+
+        return new TraceStatus(traceId, level, startNanos, startTimeMs, message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    @Override
+    public boolean isFirstLevel() {
+        return frameHolder.get() == null;
+    }
+
+    /**
+     * @return 버퍼가 가득 차서 버려진 이벤트 수
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 로그 출력 쓰레드를 멈추고, 남은 이벤트를 모두 출력한다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+
+    /**
+     * 현재 Trace 종료<br>
+     * - {@link #end}, {@link #exception}에서 호출
+     *
+     * @param status 현재 상태
+     * @param e      발생한 예외
+     */
+    private void complete(
+            @Nonnull TraceStatus status,
+            @Nullable Exception e
+    ) {
+        if (log.isInfoEnabled()) {
+            long resultTime = TraceTime.elapsedMicros(status.getStartNanos());
+            boolean firstException = e != null && frameHolder.get().recordException(e);
+            publish(new TraceEvent(
+                    status.getTraceId(), status.getLevel(), status.getMessage(), resultTime, e, firstException
+            ));
+        }
+
+        releaseTraceFrame();
+    }
+
+    /**
+     * {@link #overflowPolicy}에 따라 이벤트를 버퍼에 넣는다.<br>
+     * - 로그 Level 은 호출한 쪽에서 이벤트를 만들기 전에 확인한다.
+     */
+    private void publish(TraceEvent event) {
+        switch (overflowPolicy) {
+            case DROP -> offerOrDrop(event);
+            case BLOCK -> {
+                while (!ringBuffer.offer(event)) {
+                    if (!running) {
+                        droppedCount.increment();
+                        return;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            case SAMPLE -> {
+                boolean overHalf = ringBuffer.size() >= ringBuffer.capacity() / 2;
+                if (overHalf && sampleCounter.getAndIncrement() % sampleRate != 0) {
+                    droppedCount.increment();
+                    return;
+                }
+                offerOrDrop(event);
+            }
+        }
+    }
+
+    private void offerOrDrop(TraceEvent event) {
+        if (!ringBuffer.offer(event)) {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * 로그 출력 쓰레드<br>
+     * - 버퍼가 비어있으면 잠시 쉬고, 아니면 {@link #batchSize}만큼 꺼내서 출력한다.
+     */
+    private void writeLoop() {
+        List<TraceEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            write(batch);
+        }
+
+        // 종료 전에 남은 이벤트 출력
+        while (ringBuffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    /**
+     * {@link TraceLogRenderer}로 출력, 로그 모양은 {@link ThreadLocalLogTrace}와 같다.
+     */
+    private void write(List<TraceEvent> batch) {
+        for (TraceEvent event : batch) {
+            if (event.getResultTimeMicros() < 0) {
+                TraceLogRenderer.start(log, event.getTraceId(), event.getLevel(), event.getMessage());
+            } else {
+                TraceLogRenderer.complete(
+                        log, event.getTraceId(), event.getLevel(), event.getMessage(),
+                        event.getResultTimeMicros(), event.getException(), event.isFirstException()
+                );
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * 현재 쓰레드의 {@link TraceFrame} 조회, 없으면 생성<br>
+     * - {@link #begin}에서 호출
+     */
+    private TraceFrame syncTraceFrame() {
+        TraceFrame frame = frameHolder.get();
+        if (frame == null) {
+            frame = new TraceFrame();
+            frameHolder.set(frame);
+        }
+        return frame;
+    }
+
+    /**
+     * 이전 Level 로 전환, 최상위 Level 이 끝나면 ThreadLocal 정리<br>
+     * - {@link #complete}에서 호출
+     */
+    private void releaseTraceFrame() {
+        if (frameHolder.get().exit()) {
+            frameHolder.remove();
+        }
+    }
+}
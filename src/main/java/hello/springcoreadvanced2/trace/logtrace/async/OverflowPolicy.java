@@ -0,0 +1,27 @@
+package hello.springcoreadvanced2.trace.logtrace.async;
+
+/**
+ * {@link TraceEventRingBuffer}가 가득 찼을 때의 처리 정책
+ *
+ * @see AsyncLogTrace
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 버퍼가 가득 차면 이벤트를 버린다.<br>
+     * - 요청 쓰레드는 절대 기다리지 않는다.
+     */
+    DROP,
+
+    /**
+     * 버퍼에 빈 자리가 생길 때까지 요청 쓰레드가 기다린다.<br>
+     * - 이벤트는 버려지지 않지만, 로그 출력 속도가 요청 처리 속도를 제한한다.
+     */
+    BLOCK,
+
+    /**
+     * 버퍼가 절반 이상 차면 N개 중 1개의 이벤트만 받는다.<br>
+     * - 버퍼가 가득 차면 {@link #DROP}과 동일하다.
+     */
+    SAMPLE
+}
@@ -0,0 +1,47 @@
+package hello.springcoreadvanced2.trace.logtrace.async;
+
+import hello.springcoreadvanced2.trace.TraceId;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 요청 쓰레드에서 로그 출력 쓰레드로 넘겨지는 Trace 이벤트<br>
+ * - 로그 문자열은 만들지 않고, 출력에 필요한 값만 담는다.
+ *
+ * @see AsyncLogTrace
+ */
+@Getter
+@RequiredArgsConstructor
+public class TraceEvent {
+    /**
+     * Trace ID
+     */
+    private final TraceId traceId;
+
+    /**
+     * Trace Level
+     */
+    private final int level;
+
+    /**
+     * 메서드 이름
+     */
+    private final String message;
+
+    /**
+     * 걸린 시간 (µs), 시작 이벤트는 -1<br>
+     * - 종료 이벤트의 들여쓰기는 {@link #exception} 유무로 정한다.
+     */
+    private final long resultTimeMicros;
+
+    /**
+     * 발생한 예외, 없으면 null
+     */
+    private final Exception exception;
+
+    /**
+     * 이 Trace 에서 처음 기록하는 예외라면 true, 하위 Level 에서 다시 던져진 예외라면 false<br>
+     * - 요청 쓰레드의 {@link hello.springcoreadvanced2.trace.TraceFrame#recordException}으로 정한다.
+     */
+    private final boolean firstException;
+}
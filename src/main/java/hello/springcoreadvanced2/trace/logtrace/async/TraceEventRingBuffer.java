@@ -0,0 +1,108 @@
+package hello.springcoreadvanced2.trace.logtrace.async;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기가 고정된 Lock-Free Ring Buffer<br>
+ * - 여러 요청 쓰레드가 넣고(Multi Producer), 하나의 로그 출력 쓰레드가 꺼낸다(Single Consumer).<br>
+ * - 각 칸의 sequence 값으로 "비어있음 / 채워짐"을 판단하기 때문에 락이 필요 없다.
+ *
+ * @see AsyncLogTrace
+ */
+public class TraceEventRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<TraceEvent> buffer;
+    private final AtomicLongArray sequences;
+
+    /**
+     * 다음에 넣을 위치, 요청 쓰레드들이 CAS 로 경쟁한다.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 다음에 꺼낼 위치, 로그 출력 쓰레드만 쓴다.
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity 버퍼 크기, 2의 제곱수로 올림된다.
+     */
+    public TraceEventRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity 는 2 이상이어야 합니다. capacity = " + capacity);
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 이벤트 추가
+     *
+     * @return 버퍼가 가득 찼다면 false
+     */
+    public boolean offer(TraceEvent event) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, event);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 이벤트를 최대 maxEvents 개 꺼내서 events 에 담는다.<br>
+     * - 로그 출력 쓰레드에서만 호출해야 한다.
+     *
+     * @return 꺼낸 이벤트 수
+     */
+    public int drainTo(List<TraceEvent> events, int maxEvents) {
+        long pos = head;
+        int count = 0;
+        while (count < maxEvents) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                break;
+            }
+            events.add(buffer.get(index));
+            buffer.lazySet(index, null);
+            sequences.set(index, pos + capacity);
+            pos++;
+            count++;
+        }
+        head = pos;
+        return count;
+    }
+
+    /**
+     * @return 현재 버퍼에 쌓인 이벤트 수 (근사값)
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,121 @@
+package hello.springcoreadvanced2.trace.logtrace.binary;
+
+import hello.springcoreadvanced2.trace.TraceFrame;
+import hello.springcoreadvanced2.trace.TraceId;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.context.TraceContextCarrier;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * 바이너리 LogTrace<br>
+ * - Trace ID 관리는 {@link ThreadLocalLogTrace}와 같다.<br>
+ * - 문자열 로그 대신 고정 길이 이벤트를 {@link BinaryTraceWriter}로 Segment 파일에 기록한다.<br>
+ * - 기록된 파일은 {@link BinaryTraceDecoder}로 기존 로그 모양으로 되돌릴 수 있다.
+ *
+ * @see BinaryTraceFormat
+ */
+public class BinaryLogTrace implements LogTrace, AutoCloseable {
+
+    private final TraceContextCarrier frameHolder;
+    private final BinaryTraceWriter writer;
+
+    public BinaryLogTrace(BinaryTraceWriter writer) {
+        this(writer, new ThreadLocalTraceContextCarrier());
+    }
+
+    /**
+     * @param writer      이벤트를 기록할 곳
+     * @param frameHolder {@link TraceFrame}을 보관할 곳
+     */
+    public BinaryLogTrace(BinaryTraceWriter writer, TraceContextCarrier frameHolder) {
+        this.writer = writer;
+        this.frameHolder = frameHolder;
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceFrame frame = syncTraceFrame();
+        int level = frame.enter();
+        TraceId traceId = frame.getTraceId();
+        long startNanos = System.nanoTime();
+        long startTimeMs = System.currentTimeMillis();
+        writer.write(
+                BinaryTraceFormat.BEGIN, level, writer.intern(message),
+                traceId.getValue(), startNanos, 0, BinaryTraceFormat.NO_ID
+        );
+
+        return new TraceStatus(traceId, level, startNanos, startTimeMs, message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    @Override
+    public boolean isFirstLevel() {
+        return frameHolder.get() == null;
+    }
+
+    /**
+     * {@link BinaryTraceWriter#close()}
+     */
+    @Override
+    public void close() {
+        writer.close();
+    }
+
+    /**
+     * 현재 Trace 종료<br>
+     * - {@link #end}, {@link #exception}에서 호출
+     *
+     * @param status 현재 상태
+     * @param e      발생한 예외
+     */
+    private void complete(
+            @Nonnull TraceStatus status,
+            @Nullable Exception e
+    ) {
+        long endNanos = System.nanoTime();
+        byte type = (e == null) ? BinaryTraceFormat.END : BinaryTraceFormat.EXCEPTION;
+        int exceptionId = (e == null) ? BinaryTraceFormat.NO_ID : writer.intern(e.getClass().getName());
+        writer.write(
+                type, status.getLevel(), writer.intern(status.getMessage()),
+                status.getTraceId().getValue(), status.getStartNanos(), endNanos, exceptionId
+        );
+
+        releaseTraceFrame();
+    }
+
+    /**
+     * 현재 쓰레드의 {@link TraceFrame} 조회, 없으면 생성<br>
+     * - {@link #begin}에서 호출
+     */
+    private TraceFrame syncTraceFrame() {
+        TraceFrame frame = frameHolder.get();
+        if (frame == null) {
+            frame = new TraceFrame();
+            frameHolder.set(frame);
+        }
+        return frame;
+    }
+
+    /**
+     * 이전 Level 로 전환, 최상위 Level 이 끝나면 {@link TraceContextCarrier} 정리<br>
+     * - {@link #complete}에서 호출
+     */
+    private void releaseTraceFrame() {
+        if (frameHolder.get().exit()) {
+            frameHolder.remove();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package hello.springcoreadvanced2.trace.logtrace.binary;
+
+import hello.springcoreadvanced2.trace.TraceIdGenerator;
+import hello.springcoreadvanced2.trace.TraceTime;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.TraceIndent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static hello.springcoreadvanced2.trace.logtrace.binary.BinaryTraceFormat.*;
+
+/**
+ * {@link BinaryTraceFormat} Segment 파일을 기존 로그 모양으로 되돌린다.<br>
+ * <code>
+ * [3fa25519e992] OrderControllerV1.request()<br>
+ * [3fa25519e992] |-->OrderServiceV1.orderItem()<br>
+ * [3fa25519e992] |&lt;--OrderServiceV1.orderItem() time = [1003.127ms]<br>
+ * </code>
+ * <p>
+ * 사용법: <code>java BinaryTraceDecoder &lt;segment 파일 또는 디렉토리&gt;</code>
+ */
+public final class BinaryTraceDecoder {
+
+    private BinaryTraceDecoder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: BinaryTraceDecoder <segment file | directory>");
+            System.exit(1);
+        }
+        decode(Path.of(args[0])).forEach(System.out::println);
+    }
+
+    /**
+     * @param path Segment 파일, 또는 Segment 파일이 있는 디렉토리 (Segment 번호 순서로 읽는다.)
+     * @return 로그 한 줄씩
+     */
+    public static List<String> decode(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return decodeSegment(path);
+        }
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(path)) {
+            segments = files
+                    .filter(file -> segmentIndex(file.getFileName().toString()) >= 0)
+                    .sorted(Comparator.comparingLong(file -> segmentIndex(file.getFileName().toString())))
+                    .toList();
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (Path segment : segments) {
+            lines.addAll(decodeSegment(segment));
+        }
+        return lines;
+    }
+
+    /**
+     * Segment 파일 하나 해석
+     */
+    public static List<String> decodeSegment(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("바이너리 Trace Segment 가 아닙니다. file = " + segment);
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 버전입니다. version = " + version + ", file = " + segment);
+        }
+
+        Map<Integer, String> dictionary = new HashMap<>();
+        List<String> lines = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            byte type = buffer.get();
+            switch (type) {
+                case END_OF_SEGMENT -> {
+                    return lines;
+                }
+                case DICTIONARY -> {
+                    int id = buffer.getInt();
+                    byte[] utf8 = new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(utf8);
+                    dictionary.put(id, new String(utf8, StandardCharsets.UTF_8));
+                }
+                case BEGIN, END, EXCEPTION -> lines.add(event(type, buffer, dictionary));
+                default -> throw new IOException("알 수 없는 레코드입니다. type = " + type + ", file = " + segment);
+            }
+        }
+        return lines;
+    }
+
+    private static String event(byte type, ByteBuffer buffer, Map<Integer, String> dictionary) {
+        int level = buffer.getShort();
+        String message = dictionary.get(buffer.getInt());
+        String traceId = TraceIdGenerator.format(buffer.getLong());
+        long startNanos = buffer.getLong();
+        long endNanos = buffer.getLong();
+        int exceptionId = buffer.getInt();
+
+        if (type == BEGIN) {
+            return "[" + traceId + "] " + TraceIndent.of(LogTrace.START_PREFIX, level) + message;
+        }
+
+        String resultTime = TraceTime.formatMillis(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+        if (type == END) {
+            return "[" + traceId + "] " + TraceIndent.of(LogTrace.COMPLETE_PREFIX, level)
+                    + message + " time = [" + resultTime + "ms]";
+        }
+        return "[" + traceId + "] " + TraceIndent.of(LogTrace.EX_PREFIX, level)
+                + message + " time = [" + resultTime + "ms] e = " + dictionary.get(exceptionId);
+    }
+}
@@ -0,0 +1,69 @@
+package hello.springcoreadvanced2.trace.logtrace.binary;
+
+/**
+ * 바이너리 Trace Segment 파일 형식<br>
+ * <p>
+ * 헤더: <code>MAGIC(int) VERSION(byte)</code><br>
+ * 이후 레코드가 이어지고, type 이 {@link #END_OF_SEGMENT}(0)이면 끝이다. (남은 영역은 0으로 채워져 있다.)
+ * <p>
+ * 사전 레코드 - 메서드 메시지, 예외 클래스 이름을 번호로 바꾼다.<br>
+ * <code>type(byte) id(int) length(short) UTF-8(bytes)</code>
+ * <p>
+ * 이벤트 레코드 - {@value #EVENT_BYTES} bytes 고정 길이<br>
+ * <code>type(byte) level(short) messageId(int) traceId(long) startNanos(long) endNanos(long) exceptionId(int)</code><br>
+ * - {@link #BEGIN}은 endNanos 가 0, 예외가 없다면 exceptionId 는 {@link #NO_ID}
+ * <p>
+ * 각 Segment 는 앞쪽에 지금까지의 사전을 다시 기록하므로, 하나만 있어도 해석할 수 있다.
+ */
+public final class BinaryTraceFormat {
+    public static final int MAGIC = 0x42545243; // "BTRC"
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES;
+
+    public static final byte END_OF_SEGMENT = 0;
+    public static final byte DICTIONARY = 1;
+    public static final byte BEGIN = 2;
+    public static final byte END = 3;
+    public static final byte EXCEPTION = 4;
+
+    public static final int NO_ID = -1;
+
+    public static final int EVENT_BYTES = Byte.BYTES + Short.BYTES + Integer.BYTES
+            + Long.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * 사전 레코드의 고정 부분, 뒤에 UTF-8 문자열이 붙는다.
+     */
+    public static final int DICTIONARY_HEADER_BYTES = Byte.BYTES + Integer.BYTES + Short.BYTES;
+
+    public static final String SEGMENT_PREFIX = "trace-";
+    public static final String SEGMENT_SUFFIX = ".seg";
+
+    private BinaryTraceFormat() {
+    }
+
+    /**
+     * @return Segment 파일 이름, 예) trace-00003.seg
+     */
+    public static String segmentName(long index) {
+        return String.format("%s%05d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * {@link #segmentName}의 반대<br>
+     * - 번호가 5자리를 넘으면 이름 순서와 번호 순서가 다르다. 정렬은 이 번호로 한다.
+     *
+     * @param fileName 파일 이름
+     * @return Segment 번호, Segment 파일이 아니면 -1
+     */
+    public static long segmentIndex(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        String digits = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+        if (digits.isEmpty() || digits.length() > 18 || !digits.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Long.parseLong(digits);
+    }
+}
@@ -0,0 +1,334 @@
+package hello.springcoreadvanced2.trace.logtrace.binary;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static hello.springcoreadvanced2.trace.logtrace.binary.BinaryTraceFormat.*;
+
+/**
+ * 메모리 맵 Segment 파일에 {@link BinaryTraceFormat} 레코드를 기록한다.<br>
+ * - Segment 가 가득 차면 다음 파일로 넘어가고, {@link #maxSegments}개를 넘으면 가장 오래된 파일을 지운다.<br>
+ * - 문자열은 처음 한 번만 사전 레코드로 기록하고, 이후에는 번호만 기록한다.<br>
+ * - 디렉토리에 이전 실행의 Segment 가 있다면 가장 큰 번호 다음부터 이어서 기록한다. 이전 실행과 섞이지 않는다.
+ * <p>
+ * 여러 쓰레드에서 동시에 호출할 수 있다.<br>
+ * - 이벤트는 {@link Segment#position}을 getAndAdd 로 올려서 자기 칸을 차지하고, 잠그지 않고 그 칸에 기록한다.<br>
+ * - 차지한 칸이 Segment 끝을 넘을 때만 잠그고 다음 Segment 로 넘어간다. ({@link #roll})<br>
+ * - 처음 보는 문자열의 사전 레코드도 잠그고 기록한다. 문자열마다 한 번뿐이다.
+ */
+@Slf4j
+public class BinaryTraceWriter implements AutoCloseable {
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    /**
+     * 문자열 -> 번호, 이미 있는 문자열은 잠그지 않고 조회한다.
+     */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * 번호 -> UTF-8, 새 Segment 에 사전을 다시 기록할 때 사용, 잠근 상태에서만 사용한다.
+     */
+    private final List<byte[]> dictionary = new ArrayList<>();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * 지금 기록중인 Segment, 잠근 상태에서만 바꾼다.
+     */
+    private volatile Segment current;
+    private volatile boolean closed;
+
+    /**
+     * @param directory    Segment 파일을 만들 디렉토리
+     * @param segmentBytes Segment 파일 하나의 크기
+     * @param maxSegments  남겨둘 Segment 파일 수
+     */
+    public BinaryTraceWriter(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        if (segmentBytes < HEADER_BYTES + EVENT_BYTES + Byte.BYTES || maxSegments < 1) {
+            throw new IllegalArgumentException(
+                    "segmentBytes 가 너무 작거나 maxSegments 가 1 미만입니다. segmentBytes = " + segmentBytes + ", maxSegments = " + maxSegments
+            );
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+
+        synchronized (this) {
+            this.current = open(lastSegmentIndex(this.directory) + 1);
+        }
+    }
+
+    /**
+     * @return 문자열의 번호, 처음 보는 문자열이면 사전 레코드를 기록한다.
+     */
+    public int intern(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            if (utf8.length > 0xFFFF) {
+                throw new IllegalArgumentException("문자열이 너무 깁니다. length = " + utf8.length);
+            }
+            id = dictionary.size();
+            dictionary.add(utf8);
+            appendDictionary(id, utf8);
+            // 사전 레코드를 기록한 뒤에 공개한다. 이 번호를 쓰는 이벤트는 항상 사전 레코드 뒤에 놓인다.
+            ids.put(value, id);
+            return id;
+        }
+    }
+
+    /**
+     * 이벤트 레코드 기록
+     */
+    public void write(
+            byte type,
+            int level,
+            int messageId,
+            long traceId,
+            long startNanos,
+            long endNanos,
+            int exceptionId
+    ) {
+        while (true) {
+            Segment segment = current;
+            segment.writers.incrementAndGet();
+            try {
+                if (closed) {
+                    droppedCount.increment();
+                    return;
+                }
+                int position = segment.claim(EVENT_BYTES);
+                if (position >= 0) {
+                    segment.buffer.put(position, type)
+                            .putShort(position + 1, (short) level)
+                            .putInt(position + 3, messageId)
+                            .putLong(position + 7, traceId)
+                            .putLong(position + 15, startNanos)
+                            .putLong(position + 23, endNanos)
+                            .putInt(position + 31, exceptionId);
+                    return;
+                }
+            } finally {
+                segment.writers.decrementAndGet();
+            }
+
+            // 다음 Segment 로 넘어가서 다시 차지한다.
+            if (!roll(segment)) {
+                droppedCount.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 기록하지 못하고 버린 이벤트 수
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return 현재 기록중인 Segment 파일
+     */
+    public Path currentSegment() {
+        return directory.resolve(segmentName(current.index));
+    }
+
+    /**
+     * 기록중인 이벤트가 끝나기를 기다렸다가 디스크에 반영하고, 더 이상 기록하지 않는다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current.awaitWriters();
+        current.buffer.force();
+    }
+
+    /**
+     * full 이 아직 현재 Segment 라면 다음 Segment 로 넘어간다.<br>
+     * - 다른 쓰레드가 이미 넘어갔다면 아무것도 하지 않는다.<br>
+     * - 끝난 Segment 는 기록중인 이벤트를 기다렸다가 디스크에 반영한다.
+     *
+     * @param full 칸을 차지하지 못한 Segment
+     * @return 다시 기록할 수 있다면 true
+     */
+    private synchronized boolean roll(Segment full) {
+        if (closed) {
+            return false;
+        }
+        if (current != full) {
+            return true;
+        }
+        try {
+            current = open(full.index + 1);
+        } catch (IOException e) {
+            log.warn("바이너리 Trace Segment 를 만들지 못했습니다. directory = {}", directory, e);
+            closed = true;
+            return false;
+        }
+        full.awaitWriters();
+        full.buffer.force();
+        return true;
+    }
+
+    /**
+     * 사전 레코드 기록, 잠근 상태에서만 호출한다.<br>
+     * - 현재 Segment 에 자리가 없으면 넘어간다. 새 Segment 는 앞쪽에 이 문자열까지 포함한 사전을 기록한다.
+     */
+    private void appendDictionary(int id, byte[] utf8) {
+        if (closed) {
+            return;
+        }
+        Segment segment = current;
+        segment.writers.incrementAndGet();
+        try {
+            int position = segment.claim(DICTIONARY_HEADER_BYTES + utf8.length);
+            if (position >= 0) {
+                segment.putDictionary(position, id, utf8);
+                return;
+            }
+        } finally {
+            segment.writers.decrementAndGet();
+        }
+        roll(segment);
+    }
+
+    /**
+     * Segment 파일을 만들고, 헤더와 지금까지의 사전을 기록한다. 잠근 상태에서만 호출한다.<br>
+     * - {@link #maxSegments}개를 넘는 오래된 파일은 지운다.
+     */
+    private Segment open(long index) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(
+                directory.resolve(segmentName(index)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buffer.putInt(0, MAGIC).put(Integer.BYTES, VERSION);
+
+        Segment segment = new Segment(index, buffer, segmentBytes, HEADER_BYTES);
+        for (int id = 0; id < dictionary.size(); id++) {
+            byte[] utf8 = dictionary.get(id);
+            int position = segment.claim(DICTIONARY_HEADER_BYTES + utf8.length);
+            if (position < 0) {
+                throw new IOException("사전이 Segment 보다 큽니다. segmentBytes = " + segmentBytes);
+            }
+            segment.putDictionary(position, id, utf8);
+        }
+
+        deleteExpired(index);
+        return segment;
+    }
+
+    /**
+     * index 기준으로 남겨둘 {@link #maxSegments}개보다 오래된 Segment 파일 삭제
+     */
+    private void deleteExpired(long index) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                long other = segmentIndex(file.getFileName().toString());
+                if (other >= 0 && other <= index - maxSegments) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 디렉토리에 있는 가장 큰 Segment 번호, 없으면 -1
+     */
+    private static long lastSegmentIndex(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> segmentIndex(file.getFileName().toString()))
+                    .max()
+                    .orElse(-1);
+        }
+    }
+
+    /**
+     * Segment 파일 하나의 매핑과 다음에 차지할 위치
+     */
+    private static final class Segment {
+        private final long index;
+        private final MappedByteBuffer buffer;
+
+        /**
+         * 끝 표시({@link BinaryTraceFormat#END_OF_SEGMENT}) 1 byte 를 뺀 크기
+         */
+        private final int limit;
+
+        /**
+         * 다음에 차지할 위치, 끝을 넘은 뒤에도 계속 올라가기만 한다.
+         */
+        private final AtomicInteger position;
+
+        /**
+         * 칸을 차지해서 기록중인 쓰레드 수
+         */
+        private final AtomicInteger writers = new AtomicInteger();
+
+        private Segment(long index, MappedByteBuffer buffer, int segmentBytes, int position) {
+            this.index = index;
+            this.buffer = buffer;
+            this.limit = segmentBytes - Byte.BYTES;
+            this.position = new AtomicInteger(position);
+        }
+
+        /**
+         * @return 차지한 칸의 시작 위치, 남은 공간이 부족하면 -1
+         */
+        private int claim(int bytes) {
+            // 끝을 넘긴 쓰레드는 바로 다음 Segment 로 넘어가므로, 끝을 넘은 뒤의 증가는 쓰레드 수 정도로 작다.
+            int claimed = position.getAndAdd(bytes);
+            return claimed + bytes <= limit ? claimed : -1;
+        }
+
+        private void putDictionary(int position, int id, byte[] utf8) {
+            buffer.put(position, DICTIONARY)
+                    .putInt(position + 1, id)
+                    .putShort(position + 5, (short) utf8.length)
+                    .put(position + DICTIONARY_HEADER_BYTES, utf8);
+        }
+
+        /**
+         * 차지한 칸에 기록중인 쓰레드가 끝날 때까지 기다린다. 기록은 잠그지 않으므로 짧다.
+         */
+        private void awaitWriters() {
+            while (writers.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package hello.springcoreadvanced2.trace.logtrace.context;
+
+import hello.springcoreadvanced2.trace.TraceFrame;
+
+/**
+ * {@link ThreadLocal} 기반 {@link TraceContextCarrier} (기본값)<br>
+ * - 쓰레드 수가 적고 오래 사는 쓰레드 풀에 적합하다.
+ */
+public class ThreadLocalTraceContextCarrier implements TraceContextCarrier {
+
+    private final ThreadLocal<TraceFrame> frameHolder = new ThreadLocal<>();
+
+    @Override
+    public TraceFrame get() {
+        return frameHolder.get();
+    }
+
+    @Override
+    public void set(TraceFrame frame) {
+        frameHolder.set(frame);
+    }
+
+    @Override
+    public void remove() {
+        frameHolder.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package hello.springcoreadvanced2.trace.logtrace.context;
+
+import hello.springcoreadvanced2.trace.TraceFrame;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 공유 Map 기반 {@link TraceContextCarrier}<br>
+ * - 쓰레드마다 ThreadLocalMap 을 만들지 않는다. 진행중인 Trace 만 Map 에 들어있다.<br>
+ * - 짧게 살다 사라지는 쓰레드가 아주 많을 때(예: 가상 쓰레드, 요청마다 새 쓰레드) 적합하다.
+ * <p>
+ * 최상위 Level 이 끝나면 {@link #remove()}로 바로 지우므로, Map 크기는 동시에 진행중인 Trace 수를 넘지 않는다.
+ */
+public class ThreadMapTraceContextCarrier implements TraceContextCarrier {
+
+    private final ConcurrentHashMap<Thread, TraceFrame> frames = new ConcurrentHashMap<>();
+
+    @Override
+    public TraceFrame get() {
+        return frames.get(Thread.currentThread());
+    }
+
+    @Override
+    public void set(TraceFrame frame) {
+        frames.put(Thread.currentThread(), frame);
+    }
+
+    @Override
+    public void remove() {
+        frames.remove(Thread.currentThread());
+    }
+
+    /**
+     * @return 진행중인 Trace 수
+     */
+    public int size() {
+        return frames.size();
+    }
+}
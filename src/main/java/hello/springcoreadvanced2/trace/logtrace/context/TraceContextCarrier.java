@@ -0,0 +1,116 @@
+package hello.springcoreadvanced2.trace.logtrace.context;
+
+import hello.springcoreadvanced2.trace.TraceFrame;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * 현재 쓰레드의 {@link TraceFrame}을 보관하는 곳<br>
+ * - {@link ThreadLocalLogTrace}가 Trace 문맥을 어디에 둘지 결정한다.<br>
+ * - 구현체: {@link ThreadLocalTraceContextCarrier}, {@link ThreadMapTraceContextCarrier}
+ * <p>
+ * 작업을 다른 쓰레드로 넘길 때는 {@link #wrap}으로 감싸면 Trace 문맥이 따라간다.<br>
+ * 넘겨받은 쓰레드에서는 같은 TraceId, 다음 Level 로 이어서 기록하고, 작업이 끝나면 원래 상태로 되돌린다.<br>
+ * 문맥은 {@link #wrap}을 호출한 쓰레드에서 복사한다. 작업이 실행될 때 부모 Trace 가 이미 끝났거나,
+ * 부모 쓰레드가 재사용한 프레임으로 다음 요청을 처리하고 있어도 감쌀 때의 문맥을 이어받는다.
+ * <p>
+ * JDK 21 이상에서는 이 인터페이스를 ScopedValue 로 구현한 Carrier 로 교체할 수 있다.
+ */
+public interface TraceContextCarrier {
+
+    /**
+     * @return 현재 쓰레드의 {@link TraceFrame}, 없으면 null
+     */
+    TraceFrame get();
+
+    /**
+     * 현재 쓰레드에 {@link TraceFrame} 저장
+     */
+    void set(TraceFrame frame);
+
+    /**
+     * 현재 쓰레드의 {@link TraceFrame} 제거, 최상위 Level 이 끝나면 호출된다.
+     */
+    void remove();
+
+    /**
+     * 현재 Trace 문맥을 task 에 담는다.<br>
+     * - 진행중인 Trace 가 없다면 task 를 그대로 반환한다.<br>
+     * - 지금 쓰레드에서 {@link TraceFrame#fork()}로 복사해 두고, 작업은 그 복사본만 사용한다.
+     */
+    default Runnable wrap(Runnable task) {
+        TraceFrame snapshot = snapshot();
+        if (snapshot == null) {
+            return task;
+        }
+        return () -> {
+            TraceFrame previous = attach(snapshot);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * {@link #wrap(Runnable)}의 {@link Callable} 버전
+     */
+    default <V> Callable<V> wrap(Callable<V> task) {
+        TraceFrame snapshot = snapshot();
+        if (snapshot == null) {
+            return task;
+        }
+        return () -> {
+            TraceFrame previous = attach(snapshot);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * 넘겨받는 모든 작업을 {@link #wrap(Runnable)}으로 감싸는 {@link Executor}
+     */
+    default Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * 감싸는 쓰레드에서 현재 Trace 문맥 복사<br>
+     * - 작업을 넘기는 쪽(Executor)이 happens-before 를 보장하므로, 복사본은 다른 쓰레드에서 안전하게 읽을 수 있다.
+     *
+     * @return 진행중인 Trace 가 없다면 null
+     */
+    private TraceFrame snapshot() {
+        TraceFrame parent = get();
+        if (parent == null || parent.isIdle()) {
+            return null;
+        }
+        return parent.fork();
+    }
+
+    /**
+     * 감쌀 때 복사한 Trace 를 이어받은 {@link TraceFrame}을 현재 쓰레드에 둔다.<br>
+     * - 같은 작업이 여러 번 실행되어도 매번 snapshot 에서 새로 복사하므로, snapshot 은 바뀌지 않는다.
+     *
+     * @return 원래 있던 {@link TraceFrame}
+     */
+    private TraceFrame attach(TraceFrame snapshot) {
+        TraceFrame previous = get();
+        set(snapshot.fork());
+        return previous;
+    }
+
+    private void restore(TraceFrame previous) {
+        if (previous == null) {
+            remove();
+        } else {
+            set(previous);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package hello.springcoreadvanced2.trace.logtrace.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-Free 지연 시간 히스토그램 (HDR Histogram 방식)<br>
+ * - 2의 제곱수 구간마다 {@link #SUB_BUCKET_COUNT}개의 칸으로 나누어 기록한다. (상대 오차 약 3%)<br>
+ * - 여러 쓰레드가 같은 칸을 두고 경쟁하지 않도록, CPU 수만큼 stripe 를 나누어 기록하고 조회할 때 합친다.
+ * <p>
+ * 메모리: stripe 하나는 {@link #BUCKET_COUNT}(1152)개의 long, 약 9 KB 이다.<br>
+ * - stripe 수는 {@link #MAX_STRIPE_COUNT}개로 제한하므로, 히스토그램 하나는 최대 약 72 KB 이다.<br>
+ * - {@link MetricsLogTrace}는 메시지마다 하나씩 만들므로, 메시지 종류가 많다면 그만큼 늘어난다.
+ *
+ * @see MetricsLogTrace
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 기록 가능한 최대값 (µs), 약 12일. 이보다 크면 최대값 칸에 기록한다.
+     */
+    static final long MAX_VALUE = (1L << 40) - 1;
+    static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    /**
+     * stripe 수 상한, CPU 가 많아도 히스토그램 하나의 메모리를 제한한다.
+     */
+    private static final int MAX_STRIPE_COUNT = 8;
+    static final int STRIPE_COUNT = Math.min(
+            MAX_STRIPE_COUNT,
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1
+    );
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPE_COUNT];
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+    }
+
+    /**
+     * @param micros 걸린 시간 (µs)
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        stripes[stripeIndex()].getAndIncrement(indexOf(value));
+        max.accumulate(value);
+    }
+
+    /**
+     * 모든 stripe 를 합쳐서 현재 상태 조회<br>
+     * - 기록과 동시에 호출되면 약간의 오차가 있을 수 있다.
+     */
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = stripe.get(i);
+                counts[i] += count;
+                total += count;
+            }
+        }
+
+        long maxValue = max.get();
+        return new LatencySnapshot(
+                total,
+                Math.min(valueAt(counts, total, 0.50), maxValue),
+                Math.min(valueAt(counts, total, 0.99), maxValue),
+                Math.min(valueAt(counts, total, 0.999), maxValue),
+                maxValue
+        );
+    }
+
+    /**
+     * @return 전체 중 ratio 위치에 있는 값이 속한 칸의 최대값 (µs)
+     */
+    private static long valueAt(long[] counts, long total, double ratio) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * ratio));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    /**
+     * 값 -> 칸 번호<br>
+     * - 0 ~ 31: 그대로<br>
+     * - 32 이상: 최상위 bit 위치로 구간을 정하고, 그 아래 5bit 로 구간 안의 칸을 정한다.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + sub;
+    }
+
+    /**
+     * 칸 번호 -> 그 칸에 들어갈 수 있는 최대값
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int sub = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * 쓰레드 ID 를 섞어서 stripe 선택
+     */
+    private static int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1);
+    }
+}
@@ -0,0 +1,30 @@
+package hello.springcoreadvanced2.trace.logtrace.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link LatencyHistogram} 조회 결과, 단위는 모두 µs
+ */
+@Getter
+@RequiredArgsConstructor
+public class LatencySnapshot {
+    /**
+     * 호출 횟수
+     */
+    private final long count;
+
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    @Override
+    public String toString() {
+        return "count = " + count
+                + ", p50 = " + p50 + "us"
+                + ", p99 = " + p99 + "us"
+                + ", p999 = " + p999 + "us"
+                + ", max = " + max + "us";
+    }
+}
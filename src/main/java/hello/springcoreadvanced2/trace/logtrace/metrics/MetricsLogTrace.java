@@ -0,0 +1,88 @@
+package hello.springcoreadvanced2.trace.logtrace.metrics;
+
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.TraceTime;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지연 시간을 수집하는 {@link LogTrace} 데코레이터<br>
+ * - 로그 출력은 {@link #target}에 맡기고, {@link TraceStatus}의 걸린 시간만 메시지별로 기록한다.<br>
+ * - 메시지별 {@link LatencyHistogram}, 예) OrderServiceV1.orderItem()<br>
+ * - 히스토그램 하나는 최대 약 72 KB 이다. 메시지는 프록시가 붙은 메서드 이름이므로 종류가 정해져 있다.<br>
+ * - {@link TraceStatus#NOT_SAMPLED}는 걸린 시간이 없으므로 기록하지 않는다.<br>
+ * - status 가 null 이면 (begin 이 실패한 경우) 기록하지 않고 {@link #target}에 그대로 넘긴다.
+ */
+@RequiredArgsConstructor
+public class MetricsLogTrace implements LogTrace {
+
+    private final LogTrace target;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public TraceStatus begin(String message) {
+        return target.begin(message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        if (status != null && status.isSampled()) {
+            record(status);
+        }
+        target.end(status);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        if (status != null && status.isSampled()) {
+            record(status);
+        }
+        target.exception(status, e);
+    }
+
+    /**
+     * 걸린 시간은 Future 가 완료될 때 기록한다.<br>
+     * - status 는 {@link #target}에서 바로 반환될 수 있으므로, 메시지와 시작 시간을 먼저 꺼내 둔다.
+     */
+    @Override
+    public <T> CompletableFuture<T> endAsync(TraceStatus status, CompletableFuture<T> future) {
+        if (status == null || !status.isSampled()) {
+            return target.endAsync(status, future);
+        }
+        String message = status.getMessage();
+        long startNanos = status.getStartNanos();
+        return target.endAsync(status, future).whenComplete((result, t) -> record(message, startNanos));
+    }
+
+    @Override
+    public boolean isFirstLevel() {
+        return target.isFirstLevel();
+    }
+
+    /**
+     * @return 메시지별 p50, p99, p999, max, 호출 횟수 (메시지 이름 순)
+     */
+    public Map<String, LatencySnapshot> snapshot() {
+        Map<String, LatencySnapshot> result = new TreeMap<>();
+        histograms.forEach((message, histogram) -> result.put(message, histogram.snapshot()));
+        return result;
+    }
+
+    private void record(TraceStatus status) {
+        record(status.getMessage(), status.getStartNanos());
+    }
+
+    private void record(String message, long startNanos) {
+        long micros = TraceTime.elapsedMicros(startNanos);
+        LatencyHistogram histogram = histograms.get(message);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(message, key -> new LatencyHistogram());
+        }
+        histogram.record(micros);
+    }
+}
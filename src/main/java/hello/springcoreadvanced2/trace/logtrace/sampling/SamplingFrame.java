@@ -0,0 +1,90 @@
+package hello.springcoreadvanced2.trace.logtrace.sampling;
+
+import hello.springcoreadvanced2.trace.TraceId;
+
+import java.util.Arrays;
+
+/**
+ * {@link SamplingLogTrace}의 쓰레드별 가변 프레임<br>
+ * - 쓰레드마다 한 번만 만들고 계속 재사용한다. (기록하지 않는 호출이 객체를 만들지 않도록)<br>
+ * - {@link SamplingMode#TAIL}일 때 출력을 미룬 이벤트를 배열에 모아둔다.
+ * <p>
+ * 한 쓰레드에서만 사용해야 한다.
+ */
+final class SamplingFrame {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 현재 Trace Level, 진행중인 Trace 가 없으면 -1
+     */
+    int level = -1;
+
+    /**
+     * 현재 Trace 를 기록하는지 여부, 최상위 호출에서 결정한다.
+     */
+    boolean sampled;
+
+    /**
+     * 현재 Trace ID, 기록하지 않는 Trace 라면 null
+     */
+    TraceId traceId;
+
+    /**
+     * 현재 Trace 에서 이미 출력한 예외 - {@link #recordException}
+     */
+    Exception recordedException;
+
+    /**
+     * 모아둔 이벤트 수
+     */
+    int size;
+
+    int[] levels = new int[INITIAL_CAPACITY];
+    String[] messages = new String[INITIAL_CAPACITY];
+    long[] resultTimes = new long[INITIAL_CAPACITY];
+    Exception[] exceptions = new Exception[INITIAL_CAPACITY];
+
+    /**
+     * 출력을 미룬 이벤트 추가
+     *
+     * @param resultTime 걸린 시간 (µs), 시작 이벤트는 -1
+     */
+    void add(int level, String message, long resultTime, Exception exception) {
+        if (size == levels.length) {
+            int capacity = size * 2;
+            levels = Arrays.copyOf(levels, capacity);
+            messages = Arrays.copyOf(messages, capacity);
+            resultTimes = Arrays.copyOf(resultTimes, capacity);
+            exceptions = Arrays.copyOf(exceptions, capacity);
+        }
+        levels[size] = level;
+        messages[size] = message;
+        resultTimes[size] = resultTime;
+        exceptions[size] = exception;
+        size++;
+    }
+
+    /**
+     * @return 이 Trace 에서 처음 출력하는 예외라면 true, 하위 Level 에서 다시 던져진 예외라면 false
+     */
+    boolean recordException(Exception e) {
+        if (recordedException == e) {
+            return false;
+        }
+        recordedException = e;
+        return true;
+    }
+
+    /**
+     * Trace 종료, 모아둔 이벤트의 참조를 지운다. 배열은 재사용한다.
+     */
+    void reset() {
+        Arrays.fill(messages, 0, size, null);
+        Arrays.fill(exceptions, 0, size, null);
+        size = 0;
+        level = -1;
+        sampled = false;
+        traceId = null;
+        recordedException = null;
+    }
+}
@@ -0,0 +1,166 @@
+package hello.springcoreadvanced2.trace.logtrace.sampling;
+
+import hello.springcoreadvanced2.trace.TraceId;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.TraceTime;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.TraceLogRenderer;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 표본 추출 LogTrace<br>
+ * - 로그 모양은 {@link ThreadLocalLogTrace}와 같다.<br>
+ * - 최상위 호출({@link #isFirstLevel()})에서 한 번만 결정하고, 같은 Trace 의 하위 호출은 결정을 따른다.
+ * <p>
+ * {@link SamplingMode#HEAD}: {@link #rate} 비율로 Trace 전체를 기록한다.<br>
+ * - 기록하지 않는 호출은 {@link TraceStatus#NOT_SAMPLED}를 돌려주고, 객체를 만들지 않는다.
+ * <p>
+ * {@link SamplingMode#TAIL}: 모든 Trace 를 모아두었다가,
+ * 최상위 호출이 {@link #slowThresholdMicros} 이상 걸렸거나 {@link #exception}으로 끝났을 때만 출력한다.
+ *
+ * @see SamplingFrame
+ */
+@Slf4j
+public class SamplingLogTrace implements LogTrace {
+
+    /**
+     * 쓰레드마다 한 번만 만들고 지우지 않는다. - {@link SamplingFrame}
+     */
+    private final ThreadLocal<SamplingFrame> frameHolder = ThreadLocal.withInitial(SamplingFrame::new);
+
+    private final SamplingMode mode;
+    private final double rate;
+    private final long slowThresholdMicros;
+
+    /**
+     * @param mode            {@link SamplingMode}
+     * @param rate            {@link SamplingMode#HEAD}에서 기록할 비율, 0.0 ~ 1.0
+     * @param slowThresholdMs {@link SamplingMode#TAIL}에서 출력할 최소 시간 (ms)
+     */
+    public SamplingLogTrace(
+            SamplingMode mode,
+            double rate,
+            long slowThresholdMs
+    ) {
+        if (rate < 0.0 || rate > 1.0 || slowThresholdMs < 0) {
+            throw new IllegalArgumentException(
+                    "rate 는 0.0 ~ 1.0, slowThresholdMs 는 0 이상이어야 합니다. rate = " + rate + ", slowThresholdMs = " + slowThresholdMs
+            );
+        }
+        this.mode = mode;
+        this.rate = rate;
+        this.slowThresholdMicros = TimeUnit.MILLISECONDS.toMicros(slowThresholdMs);
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        SamplingFrame frame = frameHolder.get();
+        if (frame.level < 0) {
+            frame.sampled = (mode == SamplingMode.TAIL) || ThreadLocalRandom.current().nextDouble() < rate;
+            if (frame.sampled) {
+                frame.traceId = new TraceId();
+            }
+        }
+        int level = ++frame.level;
+        if (!frame.sampled) {
+            return TraceStatus.NOT_SAMPLED;
+        }
+
+        TraceId traceId = frame.traceId;
+        long startNanos = System.nanoTime();
+        long startTimeMs = System.currentTimeMillis();
+        if (mode == SamplingMode.TAIL) {
+            frame.add(level, message, -1, null);
+        } else if (log.isInfoEnabled()) {
+            TraceLogRenderer.start(log, traceId, level, message);
+        }
+
+        return new TraceStatus(traceId, level, startNanos, startTimeMs, message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        // begin 에서 예외가 발생했다면 진행중인 호출이 없다.
+        if (status == null) {
+            return;
+        }
+        complete(status, e);
+    }
+
+    @Override
+    public boolean isFirstLevel() {
+        return frameHolder.get().level < 0;
+    }
+
+    /**
+     * 현재 Trace 종료<br>
+     * - {@link #end}, {@link #exception}에서 호출
+     *
+     * @param status 현재 상태
+     * @param e      발생한 예외
+     */
+    private void complete(
+            TraceStatus status,
+            @Nullable Exception e
+    ) {
+        SamplingFrame frame = frameHolder.get();
+        if (status.isSampled()) {
+            if (mode == SamplingMode.TAIL) {
+                long resultTime = TraceTime.elapsedMicros(status.getStartNanos());
+                frame.add(status.getLevel(), status.getMessage(), resultTime, e);
+                if (status.getLevel() == 0 && (e != null || resultTime >= slowThresholdMicros)) {
+                    flush(frame);
+                }
+            } else if (log.isInfoEnabled()) {
+                long resultTime = TraceTime.elapsedMicros(status.getStartNanos());
+                write(frame, status.getTraceId(), status.getLevel(), status.getMessage(), resultTime, e);
+            }
+        }
+
+        if (--frame.level < 0) {
+            frame.reset();
+        }
+    }
+
+    /**
+     * {@link SamplingMode#TAIL}, 모아둔 이벤트를 한꺼번에 출력
+     */
+    private void flush(SamplingFrame frame) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        for (int i = 0; i < frame.size; i++) {
+            write(frame, frame.traceId, frame.levels[i], frame.messages[i], frame.resultTimes[i], frame.exceptions[i]);
+        }
+    }
+
+    /**
+     * {@link TraceLogRenderer}로 출력, 예외는 {@link SamplingFrame#recordException}으로 한 번만 전체를 출력한다.
+     *
+     * @param resultTime 걸린 시간 (µs), 시작 이벤트는 -1
+     */
+    private void write(
+            SamplingFrame frame,
+            TraceId traceId,
+            int level,
+            String message,
+            long resultTime,
+            @Nullable Exception e
+    ) {
+        if (resultTime < 0) {
+            TraceLogRenderer.start(log, traceId, level, message);
+        } else {
+            TraceLogRenderer.complete(log, traceId, level, message, resultTime, e, e != null && frame.recordException(e));
+        }
+    }
+}
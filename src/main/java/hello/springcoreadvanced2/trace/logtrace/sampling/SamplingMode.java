@@ -0,0 +1,17 @@
+package hello.springcoreadvanced2.trace.logtrace.sampling;
+
+/**
+ * {@link SamplingLogTrace} 표본 추출 방법
+ */
+public enum SamplingMode {
+    /**
+     * 최상위 호출을 시작할 때, 정해진 비율로 Trace 전체를 기록할지 결정한다.
+     */
+    HEAD,
+
+    /**
+     * 모든 Trace 를 쓰레드별로 모아두었다가,
+     * 최상위 호출이 느리거나 예외로 끝났을 때만 한꺼번에 출력한다.
+     */
+    TAIL
+}
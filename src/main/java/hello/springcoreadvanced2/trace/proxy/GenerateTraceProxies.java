@@ -0,0 +1,34 @@
+package hello.springcoreadvanced2.trace.proxy;
+
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일할 때 {@link LogTrace} 프록시 클래스를 생성한다. (trace-processor 모듈)<br>
+ * - 설정 클래스에 붙이면, 같은 패키지에 <code>{대상 클래스 이름}TraceProxy</code> 클래스가 만들어진다.<br>
+ * - 예) {@link #value()} = OrderControllerV1.class -> OrderControllerV1TraceProxy
+ * <p>
+ * 생성되는 프록시<br>
+ * - 인터페이스는 구현하고, 구체 클래스는 상속한다. 생성자: <code>(target, logTrace)</code><br>
+ * - 리플렉션 없이 target 의 메서드를 직접 호출하고, 로그 메시지는 상수 문자열이다. 예) "OrderControllerV1.request()"<br>
+ * - 메시지는 {@link #value()}의 타입 이름을 사용한다. v2 ~ v6 프록시와 같고, 예전에 손으로 작성한 v1 프록시의 "OrderController.request()"와는 다르다.<br>
+ * - {@link #patterns()}와 일치하지 않는 메서드는 로그 없이 target 을 호출한다.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateTraceProxies {
+
+    /**
+     * 프록시를 만들 인터페이스 또는 구체 클래스, 예) hello.springcoreadvanced2.app 의 컨트롤러, 서비스, 저장소
+     */
+    Class<?>[] value();
+
+    /**
+     * 로그를 남길 메서드 이름 패턴, <code>*</code> 사용 가능, 예) "request*", "order*", "save*"
+     */
+    String[] patterns() default {"*"};
+}
@@ -0,0 +1,261 @@
+package hello.springcoreadvanced2.wrapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed Wheel 타이머<br>
+ * - 시간을 tick 단위로 나누고, tick 마다 칸(bucket) 하나를 확인한다. 예약과 만료가 모두 O(1) 이다.<br>
+ * - 만료 시간이 한 바퀴(tick * wheelSize)보다 멀면 남은 바퀴 수(rounds)를 두고 같은 칸에 넣는다.<br>
+ * - 오차는 최대 tick 하나다. 예) tick 10ms 이면 1000ms 예약은 1000 ~ 1010ms 사이에 완료된다.
+ * <p>
+ * 시간을 움직이는 방법<br>
+ * - {@link #HashedWheelTimer(String, long, int)}: 쓰레드 하나가 실제 시간({@link System#nanoTime()})에 맞춰 tick 을 넘긴다.
+ * 쓰레드는 처음 예약할 때 시작한다.<br>
+ * - {@link #manual(long, int)}: 쓰레드 없이 {@link #advance}를 호출할 때만 시간이 흐른다. 테스트 시계로 사용한다.
+ * <p>
+ * Future 는 tick 을 넘기는 쓰레드에서 완료된다. 이어 붙인 작업은 짧아야 한다.
+ */
+@Slf4j
+public class HashedWheelTimer implements AutoCloseable {
+
+    /**
+     * 예약 대기열, 어느 쓰레드에서나 넣고 tick 을 넘기는 쓰레드만 꺼낸다.
+     */
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * tick 을 넘기는 쓰레드만 사용한다.
+     */
+    private final Queue<Timeout>[] wheel;
+    private final int mask;
+    private final long tickNanos;
+
+    /**
+     * 실제 시간 기준, {@link #manual}이면 null
+     */
+    private final Thread worker;
+    private final long startNanos;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * {@link #manual} 시계의 현재 시간, 시작 후 흐른 시간
+     */
+    private volatile long manualNanos;
+
+    /**
+     * 다음에 처리할 tick
+     */
+    private long tick;
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * 실제 시간으로 움직이는 타이머
+     *
+     * @param name       tick 을 넘기는 쓰레드 이름
+     * @param tickMillis tick 길이
+     * @param wheelSize  칸 수, 2의 거듭제곱으로 올림한다.
+     */
+    public HashedWheelTimer(String name, long tickMillis, int wheelSize) {
+        this(name, tickMillis, wheelSize, false);
+    }
+
+    /**
+     * {@link #advance}로만 움직이는 타이머, 테스트 시계
+     *
+     * @param tickMillis tick 길이
+     * @param wheelSize  칸 수, 2의 거듭제곱으로 올림한다.
+     */
+    public static HashedWheelTimer manual(long tickMillis, int wheelSize) {
+        return new HashedWheelTimer(null, tickMillis, wheelSize, true);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private HashedWheelTimer(String name, long tickMillis, int wheelSize, boolean manual) {
+        if (tickMillis < 1 || wheelSize < 1 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "tickMillis 는 1 이상, wheelSize 는 1 ~ 2^30 이어야 합니다. tickMillis = " + tickMillis
+                            + ", wheelSize = " + wheelSize
+            );
+        }
+        int size = Math.max(Integer.highestOneBit(wheelSize - 1) << 1, 1);
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.startNanos = System.nanoTime();
+
+        if (manual) {
+            this.worker = null;
+        } else {
+            this.worker = new Thread(this::workerLoop, name);
+            this.worker.setDaemon(true);
+        }
+    }
+
+    /**
+     * delayMillis 뒤에 완료되는 Future 예약<br>
+     * - 돌려받은 Future 를 취소하면 만료 시간에 건너뛴다.
+     *
+     * @param delayMillis 기다릴 시간, 0 이하면 다음 tick 에 완료된다.
+     * @return 만료되면 완료되는 Future, 타이머가 닫히면 취소된다.
+     * @throws IllegalStateException 닫힌 타이머
+     */
+    public CompletableFuture<Void> newTimeout(long delayMillis) {
+        if (closed) {
+            throw new IllegalStateException("닫힌 타이머입니다.");
+        }
+        if (worker != null && !started.get() && started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        long deadline = now() + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+        Timeout timeout = new Timeout(deadline, future);
+        pendingCount.incrementAndGet();
+        pending.add(timeout);
+        // close() 가 대기열을 비운 뒤에 넣었다면 직접 취소한다.
+        if (closed && pending.remove(timeout)) {
+            pendingCount.decrementAndGet();
+            future.cancel(false);
+        }
+        return future;
+    }
+
+    /**
+     * 테스트 시계를 millis 만큼 움직이고, 그 사이에 만료된 Future 를 이 쓰레드에서 완료한다.
+     *
+     * @param millis 움직일 시간
+     * @throws IllegalStateException {@link #manual}로 만든 타이머가 아닐 때
+     */
+    public synchronized void advance(long millis) {
+        if (worker != null) {
+            throw new IllegalStateException("실제 시간으로 움직이는 타이머입니다.");
+        }
+        manualNanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        while ((tick + 1) * tickNanos <= manualNanos && !closed) {
+            processTick();
+        }
+    }
+
+    /**
+     * @return 아직 완료되지 않은 예약 수
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 새 예약을 받지 않고, 남은 예약을 모두 취소한다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        if (worker != null && started.get()) {
+            LockSupport.unpark(worker);
+            worker.join();
+        }
+        synchronized (this) {
+            cancelAll();
+        }
+    }
+
+    /**
+     * 시작 후 흐른 시간
+     */
+    private long now() {
+        return worker == null ? manualNanos : System.nanoTime() - startNanos;
+    }
+
+    private void workerLoop() {
+        while (!closed) {
+            long deadline = (tick + 1) * tickNanos;
+            long remaining = deadline - now();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            try {
+                processTick();
+            } catch (RuntimeException e) {
+                log.warn("[wheel-timer] tick 처리 실패 tick = {}", tick, e);
+            }
+        }
+    }
+
+    /**
+     * 대기열을 칸에 옮기고, 이번 tick 의 칸에서 만료된 예약을 완료한다.
+     */
+    private void processTick() {
+        transferPending();
+
+        Queue<Timeout> bucket = wheel[(int) (tick & mask)];
+        for (int i = bucket.size(); i > 0; i--) {
+            Timeout timeout = bucket.poll();
+            if (timeout.future.isDone()) {
+                pendingCount.decrementAndGet();
+            } else if (timeout.remainingRounds <= 0) {
+                pendingCount.decrementAndGet();
+                timeout.future.complete(null);
+            } else {
+                timeout.remainingRounds--;
+                bucket.add(timeout);
+            }
+        }
+        tick++;
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.future.isDone()) {
+                pendingCount.decrementAndGet();
+                continue;
+            }
+            // deadline 을 포함하는 tick, tick t 는 (t + 1) * tickNanos 시점에 처리한다.
+            long calculated = Math.max((timeout.deadline - 1) / tickNanos, 0);
+            long target = Math.max(calculated, tick);
+            timeout.remainingRounds = (target - tick) / wheel.length;
+            wheel[(int) (target & mask)].add(timeout);
+        }
+    }
+
+    private void cancelAll() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            timeout.future.cancel(false);
+        }
+        for (Queue<Timeout> bucket : wheel) {
+            while ((timeout = bucket.poll()) != null) {
+                pendingCount.decrementAndGet();
+                timeout.future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 예약 하나
+     */
+    private static final class Timeout {
+        private final long deadline;
+        private final CompletableFuture<Void> future;
+        private long remainingRounds;
+
+        private Timeout(long deadline, CompletableFuture<Void> future) {
+            this.deadline = deadline;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package hello.springcoreadvanced2.wrapper;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 메서드 + 인자 목록 키<br>
+ * - {@link hello.springcoreadvanced2.cache.CachingInterceptor}, {@link hello.springcoreadvanced2.singleflight.SingleFlightInterceptor}가 같이 사용한다.<br>
+ * - 인자 배열은 복사해서 보관한다. 호출한 쪽이 배열을 바꿔도 키는 바뀌지 않는다.<br>
+ * - 해시는 만들 때 한 번만 계산한다.
+ */
+public final class MethodArgumentsKey {
+    private final Method method;
+    private final List<Object> args;
+    private final int hash;
+
+    /**
+     * @param method 호출한 메서드
+     * @param args   호출 인자
+     */
+    public MethodArgumentsKey(Method method, Object[] args) {
+        this.method = method;
+        this.args = Arrays.asList(args.clone());
+        this.hash = 31 * method.hashCode() + this.args.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof MethodArgumentsKey other && hash == other.hash && method.equals(other.method) && args.equals(other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + args;
+    }
+}
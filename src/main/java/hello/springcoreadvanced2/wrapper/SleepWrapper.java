@@ -2,25 +2,154 @@ package hello.springcoreadvanced2.wrapper;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntConsumer;
+
 /**
  * {@link Thread#sleep}, {@link InterruptedException} Wrapper Class
+ * <p>
+ * 기다리는 방법<br>
+ * - {@link #sleep}: 쓰레드를 붙잡고 기다린다. 기본값은 {@link Thread#sleep}<br>
+ * - {@link #sleepAsync}: 쓰레드를 붙잡지 않는다. 공유 {@link HashedWheelTimer}가 Future 를 완료한다.
+ * <p>
+ * 테스트 시계 - {@link #useTestClock()}<br>
+ * - 두 방법 모두 {@link HashedWheelTimer#manual} 타이머로 기다린다. 시간은 {@link HashedWheelTimer#advance}로만 흐른다.<br>
+ * - 부하 테스트에서 수천 초의 대기를 실제로는 몇 ms 만에 끝낼 수 있다.
  */
 @Slf4j
 public class SleepWrapper {
 
+    /**
+     * {@link #sleepAsync} 기본 타이머, tick 10ms, 한 바퀴 약 5초<br>
+     * - 쓰레드는 처음 예약할 때 시작하고, 데몬 쓰레드이므로 닫지 않는다.
+     */
+    private static final HashedWheelTimer SHARED_TIMER = new HashedWheelTimer("sleep-wrapper-timer", 10, 512);
+
+    /**
+     * 기본 동작, {@link Thread#sleep}과 {@link #SHARED_TIMER}
+     */
+    private static final Mode DEFAULT = new Mode(SleepWrapper::threadSleep, SHARED_TIMER);
+
+    /**
+     * 실제로 기다리는 방법, 테스트나 벤치마크에서는 교체할 수 있다. - {@link #replace}, {@link #useTestClock}
+     */
+    private static volatile Mode mode = DEFAULT;
+
     private SleepWrapper() {
     }
 
     /**
-     * {@link Thread#sleep}, {@link InterruptedException} Wrapper
+     * {@link Thread#sleep}, {@link InterruptedException} Wrapper<br>
+     * - interrupt 되면 바로 돌아가고, 호출한 쪽에서 알 수 있도록 interrupt 상태를 다시 설정한다.
      *
      * @param millis 중지할 시간
      */
     public static void sleep(int millis) {
+        mode.sleeper.accept(millis);
+    }
+
+    /**
+     * 쓰레드를 붙잡지 않고 기다리기<br>
+     * - 타이머가 millis 뒤에 Future 를 완료한다. 이어 붙인 작업은 타이머 쓰레드에서 실행되므로 짧아야 한다.<br>
+     * - {@link #replace}로 교체했다면 교체한 방법으로 기다린 뒤 완료된 Future 를 돌려준다.
+     *
+     * @param millis 기다릴 시간
+     * @return millis 뒤에 완료되는 Future
+     */
+    public static CompletableFuture<Void> sleepAsync(int millis) {
+        Mode current = mode;
+        if (current.timer == null) {
+            current.sleeper.accept(millis);
+            return CompletableFuture.completedFuture(null);
+        }
+        return current.timer.newTimeout(millis);
+    }
+
+    /**
+     * 기다리는 방법 교체<br>
+     * - 예) 벤치마크에서 지연 시간을 없앨 때: <code>SleepWrapper.replace(millis -> {})</code>
+     *
+     * @param sleeper 교체할 방법
+     */
+    public static void replace(IntConsumer sleeper) {
+        mode = new Mode(sleeper, null);
+    }
+
+    /**
+     * 테스트 시계로 교체<br>
+     * - {@link #sleep}은 시계가 millis 만큼 움직일 때까지 쓰레드를 붙잡는다.<br>
+     * - {@link #sleepAsync}는 시계가 millis 만큼 움직이면 완료된다.<br>
+     * - 끝나면 {@link #reset}으로 되돌린다. 남은 대기는 취소된다.
+     *
+     * @return 테스트 시계, tick 1ms
+     */
+    public static HashedWheelTimer useTestClock() {
+        HashedWheelTimer clock = HashedWheelTimer.manual(1, 1024);
+        closeTestClock(mode);
+        mode = new Mode(millis -> await(clock.newTimeout(millis)), clock);
+        return clock;
+    }
+
+    /**
+     * {@link Thread#sleep}, 공유 타이머로 되돌리기
+     */
+    public static void reset() {
+        Mode previous = mode;
+        mode = DEFAULT;
+        closeTestClock(previous);
+    }
+
+    private static void threadSleep(int millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("", e);
+        }
+    }
+
+    /**
+     * 테스트 시계의 대기, interrupt 되면 {@link #threadSleep}과 같이 바로 돌아간다.
+     */
+    private static void await(CompletableFuture<Void> timeout) {
+        try {
+            timeout.get();
+        } catch (InterruptedException e) {
+            timeout.cancel(false);
+            Thread.currentThread().interrupt();
             log.info("", e);
+        } catch (CancellationException | ExecutionException e) {
+            // 테스트 시계가 닫혔다. 기다릴 시간이 없어졌으므로 돌아간다.
+        }
+    }
+
+    private static void closeTestClock(Mode previous) {
+        if (previous.timer == null || previous.timer == SHARED_TIMER) {
+            return;
+        }
+        try {
+            previous.timer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@link #sleep}과 {@link #sleepAsync}가 사용할 방법, 한 번에 바꾸기 위해 묶어 둔다.
+     */
+    private static final class Mode {
+        private final IntConsumer sleeper;
+
+        /**
+         * null 이면 {@link #sleeper}로 기다린 뒤 완료된 Future 를 돌려준다.
+         */
+        private final HashedWheelTimer timer;
+
+        private Mode(IntConsumer sleeper, HashedWheelTimer timer) {
+            this.sleeper = sleeper;
+            this.timer = timer;
         }
     }
 }
@@ -0,0 +1,62 @@
+package hello.springcoreadvanced2.writebehind;
+
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 상품 ID Write-Behind 저장<br>
+ * - v1, v2, v3 Write-Behind 저장소가 공통으로 사용한다.<br>
+ * - 상품 ID를 {@link WriteBehindBuffer}에 넣고 바로 돌아간다.<br>
+ * - 모인 상품을 한 번에 저장하므로, 1초 대기 한 번으로 여러 상품을 저장한다.<br>
+ * - itemId 검증은 큐에 넣기 전에 호출 쓰레드에서 한다.
+ */
+@Slf4j
+public class ItemWriteBehind implements AutoCloseable {
+    private final WriteBehindBuffer<String> buffer;
+
+    /**
+     * @param name       백그라운드 쓰레드 이름
+     * @param properties 큐 크기, 배치 크기, linger, 쓰레드 수
+     */
+    public ItemWriteBehind(String name, WriteBehindProperties properties) {
+        this.buffer = new WriteBehindBuffer<>(
+                name,
+                properties.getCapacity(),
+                properties.getBatchSize(),
+                properties.getLingerMs(),
+                properties.getFlushers(),
+                ItemWriteBehind::saveAll
+        );
+    }
+
+    /**
+     * 상품 저장, 저장이 끝날 때까지 기다리지 않는다.
+     *
+     * @param itemId 상품 ID
+     * @return 상품이 속한 배치를 저장하면 완료되는 Future
+     * @throws IllegalStateException                            itemId.equals("ex")
+     * @throws java.util.concurrent.RejectedExecutionException 큐가 가득 찼을 때
+     */
+    public CompletableFuture<Void> save(String itemId) {
+        if (itemId.equals("ex")) {
+            throw new IllegalStateException("예외 발생!");
+        }
+        return buffer.submit(itemId);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        buffer.close();
+    }
+
+    /**
+     * 상품 여러 개 저장 로직
+     */
+    private static void saveAll(List<String> itemIds) {
+        log.debug("[write-behind] save size = {}", itemIds.size());
+        SleepWrapper.sleep(1000);
+    }
+}
@@ -0,0 +1,242 @@
+package hello.springcoreadvanced2.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-Behind 버퍼<br>
+ * - 호출 쓰레드는 항목을 큐에 넣고 바로 돌아간다. 완료는 {@link CompletableFuture}로 알려준다.<br>
+ * - 백그라운드 쓰레드가 항목을 모아서(batch) {@link #batchWriter}를 한 번 호출한다.
+ * <p>
+ * 배치를 보내는 시점<br>
+ * - {@link #batchSize}만큼 모였을 때<br>
+ * - 첫 항목을 꺼낸 뒤 {@link #lingerNanos}가 지났을 때
+ * <p>
+ * 쓰는 쓰레드 수는 {@link #flushers}개다. 최대 처리량은 flushers * batchSize / (배치 한 번 쓰는 시간)<br>
+ * - 예) flushers 1, batchSize 256, 1초 걸리는 저장소 -> 초당 256개 (요청 쓰레드 200개로 바로 저장하면 초당 200개)<br>
+ * - 쓰는 쓰레드가 2개 이상이면 배치끼리는 동시에 쓰이므로, 배치 사이의 순서는 보장하지 않는다.
+ * <p>
+ * 큐는 크기가 정해져 있다. 가득 차면 기다리지 않고 {@link RejectedExecutionException}을 바로 던진다.
+ *
+ * @param <T> 항목 타입
+ */
+@Slf4j
+public class WriteBehindBuffer<T> implements AutoCloseable {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Pending<T>> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Consumer<List<T>> batchWriter;
+
+    private final List<Thread> flushers;
+    private volatile boolean running = true;
+
+    /**
+     * @param name         백그라운드 쓰레드 이름
+     * @param capacity     큐 크기
+     * @param batchSize    한 번에 쓰는 최대 항목 수
+     * @param lingerMillis 배치가 덜 찼을 때 더 기다리는 최대 시간, 0 이면 기다리지 않는다.
+     * @param batchWriter  배치 쓰기, 예외를 던지면 배치의 모든 Future 가 실패한다.
+     */
+    public WriteBehindBuffer(
+            String name,
+            int capacity,
+            int batchSize,
+            long lingerMillis,
+            Consumer<List<T>> batchWriter
+    ) {
+        this(name, capacity, batchSize, lingerMillis, 1, batchWriter);
+    }
+
+    /**
+     * @param name         백그라운드 쓰레드 이름, 쓰레드마다 뒤에 번호를 붙인다.
+     * @param capacity     큐 크기
+     * @param batchSize    한 번에 쓰는 최대 항목 수
+     * @param lingerMillis 배치가 덜 찼을 때 더 기다리는 최대 시간, 0 이면 기다리지 않는다.
+     * @param flushers     배치를 쓰는 백그라운드 쓰레드 수
+     * @param batchWriter  배치 쓰기, 여러 쓰레드에서 동시에 호출될 수 있다. 예외를 던지면 배치의 모든 Future 가 실패한다.
+     */
+    public WriteBehindBuffer(
+            String name,
+            int capacity,
+            int batchSize,
+            long lingerMillis,
+            int flushers,
+            Consumer<List<T>> batchWriter
+    ) {
+        if (capacity < 1 || batchSize < 1 || lingerMillis < 0 || flushers < 1) {
+            throw new IllegalArgumentException(
+                    "capacity, batchSize, flushers 는 1 이상, lingerMillis 는 0 이상이어야 합니다. capacity = " + capacity
+                            + ", batchSize = " + batchSize + ", lingerMillis = " + lingerMillis + ", flushers = " + flushers
+            );
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.batchWriter = batchWriter;
+
+        List<Thread> threads = new ArrayList<>(flushers);
+        for (int i = 0; i < flushers; i++) {
+            Thread flusher = new Thread(this::flushLoop, name + "-" + i);
+            flusher.setDaemon(true);
+            threads.add(flusher);
+        }
+        this.flushers = List.copyOf(threads);
+        this.flushers.forEach(Thread::start);
+    }
+
+    /**
+     * 항목을 큐에 넣는다. 기다리지 않는다.
+     *
+     * @return 항목이 속한 배치를 쓰면 완료되는 Future, 배치 쓰기가 실패하면 같은 예외로 실패한다.
+     * @throws RejectedExecutionException 큐가 가득 찼을 때
+     * @throws IllegalStateException      닫힌 버퍼
+     */
+    public CompletableFuture<Void> submit(T item) {
+        if (!running) {
+            throw new IllegalStateException("닫힌 버퍼입니다.");
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Pending<T> pending = new Pending<>(item, future);
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("버퍼가 가득 찼습니다. capacity = " + capacity());
+        }
+
+        // 확인과 offer 사이에 close() 가 남은 항목을 모두 쓰고 끝났다면, 이 항목은 아무도 꺼내지 않는다.
+        // 아직 큐에 있으면 되찾아서 실패시키고, 이미 꺼내졌으면 꺼낸 쪽이 쓴다.
+        if (!running && queue.remove(pending)) {
+            IllegalStateException e = new IllegalStateException("닫힌 버퍼입니다.");
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * @return 아직 쓰지 않은 항목 수
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return 큐 크기
+     */
+    public int capacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * 새 항목을 받지 않고, 남은 항목을 모두 쓴 뒤 쓰레드를 멈춘다.<br>
+     * - 쓰는 중인 배치를 끊지 않도록 interrupt 하지 않는다. 최대 {@link #IDLE_POLL_MILLIS} + linger 만큼 늦게 멈춘다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (Thread flusher : flushers) {
+            flusher.join();
+        }
+
+        // 쓰레드가 멈추는 사이에 들어온 항목
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 백그라운드 쓰레드<br>
+     * - 첫 항목을 기다린 뒤, {@link #batchSize}가 차거나 {@link #lingerNanos}가 지날 때까지 더 모은다.
+     */
+    private void flushLoop() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending<T> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+            } catch (InterruptedException e) {
+                // 이 쓰레드를 interrupt 하는 곳은 없다. 모은 항목은 아래에서 쓰고 계속 진행한다.
+                log.debug("[write-behind] interrupted", e);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+
+        // 종료 전에 남은 항목 쓰기
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 배치가 찰 때까지, 최대 {@link #lingerNanos} 동안 더 모은다.
+     */
+    private void fill(List<Pending<T>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * 배치 쓰기<br>
+     * - {@link Error}를 포함한 모든 실패는 배치의 Future 로 전달한다. 쓰레드는 멈추지 않고 다음 배치를 쓴다.
+     */
+    private void write(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.add(pending.item);
+        }
+
+        try {
+            batchWriter.accept(items);
+            for (Pending<T> pending : batch) {
+                pending.future.complete(null);
+            }
+        } catch (Throwable e) {
+            log.warn("[write-behind] 배치 쓰기 실패 size = {}", items.size(), e);
+            for (Pending<T> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * 큐에 들어간 항목과 완료를 알려줄 Future
+     */
+    private static final class Pending<T> {
+        private final T item;
+        private final CompletableFuture<Void> future;
+
+        private Pending(T item, CompletableFuture<Void> future) {
+            this.item = item;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hello.springcoreadvanced2.writebehind;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Write-Behind 저장소 설정, <code>order.repository.write-behind.*</code><br>
+ * - v1, v2, v3 Write-Behind 저장소가 같은 설정을 사용한다.
+ *
+ * @see WriteBehindBuffer
+ * @see ItemWriteBehind
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.repository.write-behind")
+public class WriteBehindProperties {
+    /**
+     * 큐 크기, <code>capacity</code>
+     */
+    private int capacity = 1024;
+
+    /**
+     * 한 번에 저장하는 최대 상품 수, <code>batch-size</code>
+     */
+    private int batchSize = 256;
+
+    /**
+     * 배치가 덜 찼을 때 더 기다리는 최대 시간 (ms), <code>linger-ms</code>
+     */
+    private long lingerMs = 10;
+
+    /**
+     * 배치를 저장하는 백그라운드 쓰레드 수, <code>flushers</code>
+     */
+    private int flushers = 1;
+}
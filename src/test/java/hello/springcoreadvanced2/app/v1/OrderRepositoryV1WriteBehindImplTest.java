@@ -0,0 +1,98 @@
+package hello.springcoreadvanced2.app.v1;
+
+import hello.springcoreadvanced2.config.AppV1Config;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import hello.springcoreadvanced2.writebehind.WriteBehindProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderRepositoryV1WriteBehindImplTest {
+
+    @AfterEach
+    void tearDown() {
+        SleepWrapper.reset();
+    }
+
+    private static WriteBehindProperties properties(int capacity, int batchSize, long lingerMs) {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setLingerMs(lingerMs);
+        return properties;
+    }
+
+    @Test
+    @DisplayName("상품 여러 개를 한 번의 대기로 저장한다")
+    void batchSave() throws Exception {
+        AtomicInteger roundTrips = new AtomicInteger();
+        SleepWrapper.replace(millis -> roundTrips.incrementAndGet());
+
+        try (OrderRepositoryV1WriteBehindImpl repository = new OrderRepositoryV1WriteBehindImpl(properties(1000, 100, 50))) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(repository.saveAsync("item" + i));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(roundTrips.get()).isBetween(1, 10);
+    }
+
+    @Test
+    @DisplayName("itemId 가 ex 이면 큐에 넣지 않고 바로 예외")
+    void exFailsFast() throws Exception {
+        try (OrderRepositoryV1WriteBehindImpl repository = new OrderRepositoryV1WriteBehindImpl(properties(10, 10, 0))) {
+            assertThatThrownBy(() -> repository.save("ex")).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> repository.saveAsync("ex")).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("order.repository.mode=write-behind 이면 Write-Behind 저장소를 등록한다")
+    void mode() {
+        ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(AppV1Config.class);
+
+        runner.run(context -> assertThat(context.getBean(OrderRepositoryV1.class))
+                .isInstanceOf(OrderRepositoryV1Impl.class));
+        runner.withPropertyValues("order.repository.mode=write-behind")
+                .run(context -> assertThat(context.getBean(OrderRepositoryV1.class))
+                        .isInstanceOf(OrderRepositoryV1WriteBehindImpl.class));
+    }
+
+    @Test
+    @DisplayName("order.repository.write-behind.* 를 WriteBehindProperties 로 한 번에 바인딩한다")
+    void properties() {
+        ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(AppV1Config.class);
+
+        runner.run(context -> {
+            WriteBehindProperties properties = context.getBean(WriteBehindProperties.class);
+            assertThat(properties.getCapacity()).isEqualTo(1024);
+            assertThat(properties.getBatchSize()).isEqualTo(256);
+            assertThat(properties.getLingerMs()).isEqualTo(10);
+            assertThat(properties.getFlushers()).isEqualTo(1);
+        });
+        runner.withPropertyValues(
+                "order.repository.write-behind.capacity=64",
+                "order.repository.write-behind.batch-size=8",
+                "order.repository.write-behind.linger-ms=0",
+                "order.repository.write-behind.flushers=4"
+        ).run(context -> {
+            WriteBehindProperties properties = context.getBean(WriteBehindProperties.class);
+            assertThat(properties.getCapacity()).isEqualTo(64);
+            assertThat(properties.getBatchSize()).isEqualTo(8);
+            assertThat(properties.getLingerMs()).isZero();
+            assertThat(properties.getFlushers()).isEqualTo(4);
+        });
+    }
+}
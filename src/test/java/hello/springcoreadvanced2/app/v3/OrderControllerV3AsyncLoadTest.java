@@ -0,0 +1,60 @@
+package hello.springcoreadvanced2.app.v3;
+
+import hello.springcoreadvanced2.ProxyApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /v3/request-async 부하 테스트<br>
+ * - Tomcat 쓰레드 4개로 1초 걸리는 요청 200개를 동시에 보낸다.<br>
+ * - 쓰레드를 붙잡는다면 200 / 4 = 50초, 붙잡지 않는다면 약 1초에 모두 끝난다.
+ */
+@SpringBootTest(
+        classes = ProxyApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=4", "server.tomcat.threads.min-spare=4"}
+)
+class OrderControllerV3AsyncLoadTest {
+    private static final int REQUESTS = 200;
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    @DisplayName("동시에 처리중인 요청 수가 Tomcat 쓰레드 수보다 훨씬 많다")
+    void inFlight() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/v3/request-async?itemId=item" + i)
+            ).build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpResponse<String> response = responses.get(i).get();
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).isEqualTo("item" + i);
+        }
+        // 쓰레드 4개가 요청마다 1초씩 붙잡았다면 50초
+        assertThat(elapsedMillis).isLessThan(10_000);
+    }
+}
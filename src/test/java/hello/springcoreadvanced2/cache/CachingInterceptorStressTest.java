@@ -0,0 +1,152 @@
+package hello.springcoreadvanced2.cache;
+
+import hello.springcoreadvanced2.wrapper.MethodArgumentsKey;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link CachingInterceptor} 동시성 테스트<br>
+ * - 쓰레드 32개가 같은 키 집합을 동시에 읽는다.
+ */
+class CachingInterceptorStressTest {
+    private static final int THREADS = 32;
+    private static final int CALLS_PER_THREAD = 20_000;
+
+    @Test
+    @DisplayName("모든 키가 들어가면: 키마다 대상 메서드는 한 번만 실행된다")
+    void stampede() throws Exception {
+        ItemRepository target = new ItemRepository(1);
+        SegmentedLruCache<MethodArgumentsKey, Object> cache =
+                new SegmentedLruCache<>(100_000, 16, CachingInterceptor.DEFAULT_WEIGHER);
+        ItemRepository proxy = proxy(target, cache);
+
+        run(proxy, 64);
+
+        assertThat(target.loads).hasSize(64);
+        assertThat(target.loads.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+        CacheStats stats = cache.stats();
+        assertThat(stats.getHitCount() + stats.getMissCount()).isEqualTo((long) THREADS * CALLS_PER_THREAD);
+        assertThat(stats.getEvictionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("키가 maxWeight 보다 많으면: 내보내면서도 무게를 넘지 않고 값이 섞이지 않는다")
+    void eviction() throws Exception {
+        ItemRepository target = new ItemRepository(0);
+        SegmentedLruCache<MethodArgumentsKey, Object> cache =
+                new SegmentedLruCache<>(1_000, 16, CachingInterceptor.DEFAULT_WEIGHER);
+        ItemRepository proxy = proxy(target, cache);
+
+        run(proxy, 2_000);
+
+        assertThat(cache.weight()).isLessThanOrEqualTo(1_000);
+        CacheStats stats = cache.stats();
+        assertThat(stats.getEvictionCount()).isPositive();
+        assertThat(stats.getHitCount() + stats.getMissCount()).isEqualTo((long) THREADS * CALLS_PER_THREAD);
+        int totalLoads = target.loads.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertThat((long) totalLoads).isLessThanOrEqualTo(stats.getMissCount());
+    }
+
+    @Test
+    @DisplayName("cache.enabled=true 이면 @Cached 가 붙은 빈 메서드를 캐시한다")
+    void declarative() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class))
+                .withUserConfiguration(CachingConfig.class)
+                .withBean(ItemRepository.class, () -> new ItemRepository(0))
+                .withPropertyValues("cache.base-package=hello.springcoreadvanced2.cache");
+
+        runner.withPropertyValues("cache.enabled=true").run(context -> {
+            ItemRepository repository = context.getBean(ItemRepository.class);
+            assertThat(AopUtils.isAopProxy(repository)).isTrue();
+
+            repository.findItem("itemA");
+            repository.findItem("itemA");
+            repository.save("itemA");
+            repository.save("itemA");
+
+            assertThat(context.getBean(CachingInterceptor.class).stats().getHitCount()).isEqualTo(1);
+            assertThat(AopUtils.getTargetClass(repository)).isEqualTo(ItemRepository.class);
+        });
+        runner.run(context -> assertThat(AopUtils.isAopProxy(context.getBean(ItemRepository.class))).isFalse());
+    }
+
+    private static ItemRepository proxy(ItemRepository target, SegmentedLruCache<MethodArgumentsKey, Object> cache) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(new CachingInterceptor(cache));
+        proxyFactory.setProxyTargetClass(true);
+        return (ItemRepository) proxyFactory.getProxy();
+    }
+
+    /**
+     * 쓰레드마다 keys 개의 키를 무작위로 읽고, 읽은 값이 키에 맞는지 확인한다.
+     */
+    private static void run(ItemRepository proxy, int keys) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        String itemId = "item" + random.nextInt(keys);
+                        assertThat(proxy.findItem(itemId)).isEqualTo("found-" + itemId);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 키마다 실행 횟수를 세는 저장소
+     */
+    static class ItemRepository {
+        private final ConcurrentHashMap<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+        private final int delayMillis;
+
+        ItemRepository(int delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Cached(ttlMillis = 60_000)
+        public String findItem(String itemId) {
+            loads.computeIfAbsent(itemId, key -> new AtomicInteger()).incrementAndGet();
+            if (delayMillis > 0) {
+                SleepWrapper.sleep(delayMillis);
+            }
+            return "found-" + itemId;
+        }
+
+        @Cached
+        public void save(String itemId) {
+        }
+    }
+}
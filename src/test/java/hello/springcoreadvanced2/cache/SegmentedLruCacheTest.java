@@ -0,0 +1,91 @@
+package hello.springcoreadvanced2.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentedLruCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key.toUpperCase();
+    }
+
+    @Test
+    @DisplayName("만료 시간이 지나면 다시 만든다")
+    void ttl() throws Throwable {
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(100, 1, value -> 1, now::get);
+
+        assertThat(cache.get("a", 1000, () -> load("a"))).isEqualTo("A");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(cache.get("a", 1000, () -> load("a"))).isEqualTo("A");
+        assertThat(loads.get()).isEqualTo(1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(cache.get("a", 1000, () -> load("a"))).isEqualTo("A");
+        assertThat(loads.get()).isEqualTo(2);
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(stats.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("무게 합이 maxWeight 를 넘지 않도록 내보낸다")
+    void maxWeight() throws Throwable {
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10, 1, String::length, now::get);
+
+        cache.get("aaaa", 1000, () -> load("aaaa"));
+        cache.get("bbbb", 1000, () -> load("bbbb"));
+        cache.get("cccc", 1000, () -> load("cccc"));
+
+        assertThat(cache.weight()).isEqualTo(8);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+
+        // maxWeight 보다 무거운 값은 저장하지 않는다.
+        cache.get("dddddddddddd", 1000, () -> load("dddddddddddd"));
+        assertThat(cache.weight()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("한 번씩만 읽는 키가 쏟아져도 자주 읽는 항목은 남는다")
+    void scanResistance() throws Throwable {
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10, 1, value -> 1, now::get);
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot" + i, 60_000, () -> load("hot"));
+            cache.get("hot" + i, 60_000, () -> load("hot"));
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.get("scan" + i, 60_000, () -> load("scan"));
+        }
+
+        loads.set(0);
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot" + i, 60_000, () -> load("hot"));
+        }
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("예외는 캐시하지 않는다")
+    void exception() throws Throwable {
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10, 1, value -> 1, now::get);
+
+        assertThatThrownBy(() -> cache.get("ex", 1000, () -> {
+            throw new IllegalStateException("예외 발생!");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("ex", 1000, () -> load("ex"))).isEqualTo("EX");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
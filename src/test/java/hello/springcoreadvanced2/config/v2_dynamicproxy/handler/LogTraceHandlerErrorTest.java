@@ -0,0 +1,89 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy.handler;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link LogTraceFilterHandler}, {@link LogTraceBasicHandler} Test<br>
+ * - 타겟이 {@link Error}를 던져도 예외 로그를 남기고 Level 을 되돌린다.
+ */
+class LogTraceHandlerErrorTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ThreadLocalLogTrace.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final LogTrace logTrace = new ThreadLocalLogTrace();
+
+    /**
+     * save 가 {@link AssertionError}를 던지는 저장소
+     */
+    private final OrderRepositoryV1 target = itemId -> {
+        throw new AssertionError("저장 실패");
+    };
+
+    @BeforeEach
+    void beforeEach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+    }
+
+    private OrderRepositoryV1 proxy(InvocationHandler handler) {
+        return (OrderRepositoryV1) Proxy.newProxyInstance(
+                OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class},
+                handler
+        );
+    }
+
+    private void assertErrorRecorded(OrderRepositoryV1 proxy, InvocationMode mode) {
+        appender.list.clear();
+
+        assertThatThrownBy(() -> proxy.save("item"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("저장 실패");
+
+        List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertThat(messages).as(mode.name()).hasSize(2);
+        assertThat(messages.get(1))
+                .contains("] OrderRepositoryV1.save()")
+                .endsWith("e = java.lang.reflect.InvocationTargetException: java.lang.AssertionError: 저장 실패");
+        // 다음 요청은 새 Trace 로 시작한다.
+        assertThat(logTrace.isFirstLevel()).as(mode.name()).isTrue();
+    }
+
+    @Test
+    @DisplayName("LogTraceFilterHandler: Error 도 기록하고 Level 을 되돌린다")
+    void filterHandler() {
+        for (InvocationMode mode : InvocationMode.values()) {
+            assertErrorRecorded(proxy(new LogTraceFilterHandler(target, logTrace, new String[]{"save*"}, mode)), mode);
+        }
+    }
+
+    @Test
+    @DisplayName("LogTraceBasicHandler: Error 도 기록하고 Level 을 되돌린다")
+    void basicHandler() {
+        for (InvocationMode mode : InvocationMode.values()) {
+            assertErrorRecorded(proxy(new LogTraceBasicHandler(target, logTrace, mode)), mode);
+        }
+    }
+}
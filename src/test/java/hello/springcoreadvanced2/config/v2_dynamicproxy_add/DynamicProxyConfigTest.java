@@ -0,0 +1,109 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy_add;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springcoreadvanced2.app.v1.OrderControllerV1;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1;
+import hello.springcoreadvanced2.app.v1.OrderServiceV1;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link DynamicProxyConfig} METHOD_PATTERNS 동작 고정<br>
+ * - <code>request*</code>, <code>order*</code>, <code>save*</code>만 로그를 남기고, 나머지는 target 만 호출한다.
+ */
+class DynamicProxyConfigTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ThreadLocalLogTrace.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withBean(LogTrace.class, ThreadLocalLogTrace::new)
+            .withUserConfiguration(DynamicProxyConfig.class);
+
+    @BeforeEach
+    void beforeEach() {
+        SleepWrapper.replace(millis -> {
+        });
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+        SleepWrapper.reset();
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Test
+    @DisplayName("request*, order*, save* 는 로그를 남긴다")
+    void traced() {
+        runner.run(context -> {
+            OrderControllerV1 controller = context.getBean(OrderControllerV1.class);
+            assertThat(Proxy.isProxyClass(controller.getClass())).isTrue();
+
+            assertThat(controller.request("item")).isEqualTo("item");
+
+            List<String> messages = messages();
+            assertThat(messages).hasSize(6);
+            assertThat(messages.get(0)).endsWith("] OrderControllerV1.request()");
+            assertThat(messages.get(1)).endsWith("] |-->OrderServiceV1.orderItem()");
+            assertThat(messages.get(2)).endsWith("] |   |-->OrderRepositoryV1.save()");
+            assertThat(messages.get(3)).contains("] |   |<--OrderRepositoryV1.save() time = [");
+            assertThat(messages.get(4)).contains("] |<--OrderServiceV1.orderItem() time = [");
+            assertThat(messages.get(5)).contains("] OrderControllerV1.request() time = [");
+        });
+    }
+
+    @Test
+    @DisplayName("예외도 같은 route 로 기록하고, 예외는 그대로 전달한다")
+    void exception() {
+        runner.run(context -> {
+            OrderControllerV1 controller = context.getBean(OrderControllerV1.class);
+
+            assertThatThrownBy(() -> controller.request("ex"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("예외 발생!");
+
+            List<String> messages = messages();
+            assertThat(messages).hasSize(6);
+            assertThat(messages.get(3)).contains("|   |<X-OrderRepositoryV1.save()")
+                    .endsWith("e = java.lang.IllegalStateException: 예외 발생!");
+            assertThat(messages.get(5)).contains("] OrderControllerV1.request()")
+                    .endsWith("e = ^java.lang.IllegalStateException");
+        });
+    }
+
+    @Test
+    @DisplayName("패턴과 일치하지 않는 메서드는 로그 없이 target 만 호출한다")
+    void notTraced() {
+        runner.run(context -> {
+            OrderControllerV1 controller = context.getBean(OrderControllerV1.class);
+
+            assertThat(controller.noLog()).isEqualTo("noLog ok");
+            // 인터페이스 밖의 메서드도 target 으로 바로 간다.
+            assertThat(controller.toString()).startsWith("hello.springcoreadvanced2.app.v1.OrderControllerV1Impl");
+            assertThat(context.getBean(OrderServiceV1.class).hashCode()).isNotZero();
+            assertThat(context.getBean(OrderRepositoryV1.class).equals(null)).isFalse();
+
+            assertThat(messages()).isEmpty();
+        });
+    }
+}
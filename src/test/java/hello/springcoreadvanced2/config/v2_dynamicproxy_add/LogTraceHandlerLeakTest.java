@@ -0,0 +1,125 @@
+package hello.springcoreadvanced2.config.v2_dynamicproxy_add;
+
+import hello.springcoreadvanced2.app.v1.*;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link LogTraceFilterHandler}, {@link LogTraceBasicHandler} Trace 문맥 누수 테스트<br>
+ * - 쓰레드 풀에서 정상/예외 요청을 수천 번 실행한 뒤, 작업 쓰레드에 Trace 상태가 남아있지 않은지 확인한다.
+ */
+@Slf4j
+public class LogTraceHandlerLeakTest {
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 4000;
+    private static final String[] METHOD_PATTERNS = {"request*", "order*", "save*"};
+
+    private final LogTrace logTrace = new ThreadLocalLogTrace();
+
+    @BeforeEach
+    void beforeEach() {
+        // 요청마다 1초씩 쉬지 않도록 sleep 을 끈다.
+        SleepWrapper.replace(millis -> {
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        SleepWrapper.reset();
+    }
+
+    private Object proxy(Object target) {
+        Class<?>[] supIntfs = target.getClass().getInterfaces();
+        return Proxy.newProxyInstance(
+                supIntfs[0].getClassLoader(),
+                supIntfs,
+                new LogTraceFilterHandler(target, logTrace, METHOD_PATTERNS)
+        );
+    }
+
+    private OrderControllerV1 controller() {
+        OrderRepositoryV1 repository = (OrderRepositoryV1) proxy(new OrderRepositoryV1Impl());
+        OrderServiceV1 service = (OrderServiceV1) proxy(new OrderServiceV1Impl(repository));
+        return (OrderControllerV1) proxy(new OrderControllerV1Impl(service));
+    }
+
+    @Test
+    @DisplayName("핸들러는 ThreadLocal 필드를 갖지 않는다")
+    void noThreadLocalField() {
+        for (Class<?> handler : List.of(LogTraceFilterHandler.class, LogTraceBasicHandler.class)) {
+            for (Field field : handler.getDeclaredFields()) {
+                assertThat(ThreadLocal.class.isAssignableFrom(field.getType()))
+                        .as(handler.getSimpleName() + "." + field.getName())
+                        .isFalse();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("수천 번의 요청 후에도 작업 쓰레드에 Trace 상태가 남지 않는다")
+    void noLeak() throws Exception {
+        OrderControllerV1 controller = controller();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger leaked = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String itemId = (i % 10 == 0) ? "ex" : "item-" + i;
+            futures.add(pool.submit(() -> {
+                try {
+                    controller.request(itemId);
+                } catch (IllegalStateException ignored) {
+                    // "ex" 요청은 예외가 발생한다.
+                }
+
+                // 최상위 호출이 끝났으므로, 이 쓰레드에는 Trace 가 없어야 한다.
+                if (!logTrace.isFirstLevel()) {
+                    leaked.incrementAndGet();
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        log.info("requests = {}, leaked = {}", REQUESTS, leaked.get());
+        assertThat(leaked.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("예외가 발생해도 다음 요청은 새 Trace 로 시작한다")
+    void exceptionThenRequest() {
+        OrderControllerV1 controller = controller();
+
+        assertThatThrownBy(() -> controller.request("ex"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(logTrace.isFirstLevel()).isTrue();
+
+        assertThat(controller.request("item")).isEqualTo("item");
+        assertThat(logTrace.isFirstLevel()).isTrue();
+    }
+}
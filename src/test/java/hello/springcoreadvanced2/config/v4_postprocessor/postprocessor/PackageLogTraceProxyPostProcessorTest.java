@@ -0,0 +1,76 @@
+package hello.springcoreadvanced2.config.v4_postprocessor.postprocessor;
+
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1Impl;
+import hello.springcoreadvanced2.app.v2.OrderRepositoryV2;
+import hello.springcoreadvanced2.app.v3.OrderRepositoryV3;
+import hello.springcoreadvanced2.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackageLogTraceProxyPostProcessorTest {
+
+    @Test
+    @DisplayName("등록한 패키지와 하위 패키지만 일치한다")
+    void prefixTrie() {
+        PackagePrefixTrie trie = new PackagePrefixTrie(List.of(
+                "hello.springcoreadvanced2.app.v1",
+                "hello.springcoreadvanced2.app.v2"
+        ));
+
+        assertThat(trie.matches("hello.springcoreadvanced2.app.v1")).isTrue();
+        assertThat(trie.matches("hello.springcoreadvanced2.app.v2.sub")).isTrue();
+        assertThat(trie.matches("hello.springcoreadvanced2.app.v3")).isFalse();
+        assertThat(trie.matches("hello.springcoreadvanced2.app.v10")).isFalse();
+        assertThat(trie.matches("hello.springcoreadvanced2.app")).isFalse();
+        assertThat(trie.matches("")).isFalse();
+    }
+
+    @Test
+    @DisplayName("여러 패키지의 빈에 프록시를 적용하고, 다른 패키지의 빈은 그대로 둔다")
+    void multiplePackages() {
+        PackageLogTraceProxyPostProcessor postProcessor = new PackageLogTraceProxyPostProcessor(
+                List.of("hello.springcoreadvanced2.app.v1", "hello.springcoreadvanced2.app.v2"),
+                List.of(advisor("save*"))
+        );
+
+        Object v1 = postProcessor.postProcessAfterInitialization(new OrderRepositoryV1Impl(), "v1");
+        Object v2 = postProcessor.postProcessAfterInitialization(new OrderRepositoryV2(), "v2");
+        Object v3 = postProcessor.postProcessAfterInitialization(new OrderRepositoryV3(), "v3");
+
+        assertThat(AopUtils.isJdkDynamicProxy(v1)).isTrue();
+        assertThat(v1).isInstanceOf(OrderRepositoryV1.class);
+        assertThat(AopUtils.isCglibProxy(v2)).isTrue();
+        assertThat(AopUtils.isAopProxy(v3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("적용할 메서드가 없는 클래스는 패키지가 같아도 프록시를 만들지 않는다")
+    void noMatchingMethod() {
+        PackageLogTraceProxyPostProcessor postProcessor = new PackageLogTraceProxyPostProcessor(
+                "hello.springcoreadvanced2.app",
+                advisor("request*")
+        );
+
+        Object first = postProcessor.postProcessAfterInitialization(new OrderRepositoryV2(), "first");
+        Object second = postProcessor.postProcessAfterInitialization(new OrderRepositoryV2(), "second");
+
+        assertThat(AopUtils.isAopProxy(first)).isFalse();
+        assertThat(AopUtils.isAopProxy(second)).isFalse();
+    }
+
+    private static Advisor advisor(String... mappedNames) {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames(mappedNames);
+        return new DefaultPointcutAdvisor(pointcut, new LogTraceAdvice(new ThreadLocalLogTrace()));
+    }
+}
@@ -0,0 +1,151 @@
+package hello.springcoreadvanced2.config.v5_autoproxy.pointcut;
+
+import hello.springcoreadvanced2.app.v1.OrderControllerV1Impl;
+import hello.springcoreadvanced2.app.v1.OrderRepositoryV1Impl;
+import hello.springcoreadvanced2.app.v1.OrderServiceV1Impl;
+import hello.springcoreadvanced2.app.v2.OrderControllerV2;
+import hello.springcoreadvanced2.app.v2.OrderRepositoryV2;
+import hello.springcoreadvanced2.app.v2.OrderServiceV2;
+import hello.springcoreadvanced2.app.v3.OrderControllerV3;
+import hello.springcoreadvanced2.app.v3.OrderServiceV3;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrecompiledExecutionPointcutTest {
+
+    static final String EXPRESSION = """
+                execution(* hello.springcoreadvanced2.app..*(..)) &&
+                !execution(* hello.springcoreadvanced2.app..noLog(..))
+            """;
+
+    static final List<Class<?>> CLASSES = List.of(
+            OrderControllerV1Impl.class, OrderServiceV1Impl.class, OrderRepositoryV1Impl.class,
+            OrderControllerV2.class, OrderServiceV2.class, OrderRepositoryV2.class,
+            OrderControllerV3.class, OrderServiceV3.class,
+            ThreadLocalLogTrace.class
+    );
+
+    @Test
+    @DisplayName("AspectJExpressionPointcut 과 같은 메서드를 매칭한다")
+    void sameAsAspectJ() {
+        List<String> expressions = List.of(
+                EXPRESSION,
+                "execution(* hello.springcoreadvanced2.app..*(..))",
+                "execution(* hello.springcoreadvanced2.app.v1.*Impl.request*(..))",
+                "execution(* hello.springcoreadvanced2.app..*Service*.order*(..))",
+                "execution(* *..save(..))"
+        );
+
+        for (String expression : expressions) {
+            AspectJExpressionPointcut aspectJ = new AspectJExpressionPointcut();
+            aspectJ.setExpression(expression);
+            PrecompiledExecutionPointcut precompiled = new PrecompiledExecutionPointcut(expression);
+
+            for (Class<?> clazz : CLASSES) {
+                for (Method method : ReflectionUtils.getUniqueDeclaredMethods(clazz)) {
+                    assertThat(precompiled.matches(method, clazz))
+                            .as("%s %s.%s", expression.strip(), clazz.getSimpleName(), method.getName())
+                            .isEqualTo(aspectJ.matches(method, clazz));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("매칭되는 메서드가 없는 클래스는 ClassFilter 에서 제외한다")
+    void classFilter() {
+        PrecompiledExecutionPointcut pointcut = new PrecompiledExecutionPointcut(EXPRESSION);
+
+        assertThat(pointcut.matches(OrderControllerV2.class)).isTrue();
+        assertThat(pointcut.matches(ThreadLocalLogTrace.class)).isFalse();
+    }
+
+    @Test
+    @DisplayName("빌드할 때 쓴 캐시를 읽어서 같은 결과를 낸다")
+    void cacheRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pointcut-match.cache");
+        PointcutMatchCache.write(file, new PrecompiledExecutionPointcut(EXPRESSION), CLASSES);
+
+        PointcutMatchCache cache = PointcutMatchCache.load(new FileSystemResource(file), EXPRESSION);
+        assertThat(cache).isNotNull();
+        assertThat(cache.size()).isEqualTo(CLASSES.size());
+        assertThat(cache.get(OrderControllerV2.class)).containsExactly("request(java.lang.String)");
+        assertThat(cache.get(ThreadLocalLogTrace.class)).isEmpty();
+
+        PrecompiledExecutionPointcut cached = new PrecompiledExecutionPointcut(EXPRESSION, cache);
+        PrecompiledExecutionPointcut computed = new PrecompiledExecutionPointcut(EXPRESSION);
+        for (Class<?> clazz : CLASSES) {
+            assertThat(cached.matchedMethods(clazz)).isEqualTo(computed.matchedMethods(clazz));
+        }
+    }
+
+    @Test
+    @DisplayName("표현식이 다르면 캐시를 사용하지 않는다")
+    void cacheExpressionMismatch(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pointcut-match.cache");
+        PointcutMatchCache.write(file, new PrecompiledExecutionPointcut(EXPRESSION), CLASSES);
+
+        assertThat(PointcutMatchCache.load(
+                new FileSystemResource(file),
+                "execution(* hello.springcoreadvanced2.app..*(..))"
+        )).isNull();
+        assertThat(PointcutMatchCache.load(new FileSystemResource(dir.resolve("none")), EXPRESSION)).isNull();
+    }
+
+    @Test
+    @DisplayName("빌드 후 클래스가 바뀌었다면 그 클래스만 다시 계산한다")
+    void cacheFingerprintMismatch(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pointcut-match.cache");
+        PointcutMatchCache.write(file, new PrecompiledExecutionPointcut(EXPRESSION), CLASSES);
+
+        // 빌드할 때와 다른 클래스 파일이었다고 가정: fingerprint 와 매칭 결과를 바꿔 둔다.
+        String controller = OrderControllerV2.class.getName() + "=";
+        List<String> lines = Files.readAllLines(file).stream()
+                .map(line -> line.startsWith(controller) ? controller + "0 noLog()" : line)
+                .toList();
+        Files.write(file, lines);
+
+        PointcutMatchCache cache = PointcutMatchCache.load(new FileSystemResource(file), EXPRESSION);
+        assertThat(cache).isNotNull();
+        assertThat(cache.get(OrderControllerV2.class)).isNull();
+        assertThat(cache.get(OrderServiceV2.class)).containsExactly("orderItem(java.lang.String)");
+
+        PrecompiledExecutionPointcut cached = new PrecompiledExecutionPointcut(EXPRESSION, cache);
+        assertThat(cached.matchedMethods(OrderControllerV2.class)).containsExactly("request(java.lang.String)");
+    }
+
+    @Test
+    @DisplayName("fingerprint 는 같은 클래스 파일이면 같고, 다른 클래스면 다르다")
+    void fingerprint() {
+        assertThat(PointcutMatchCache.fingerprint(OrderControllerV2.class))
+                .isEqualTo(PointcutMatchCache.fingerprint(OrderControllerV2.class));
+        assertThat(PointcutMatchCache.fingerprint(OrderControllerV2.class))
+                .isNotEqualTo(PointcutMatchCache.fingerprint(OrderServiceV2.class));
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 표현식은 예외")
+    void unsupported() {
+        assertThatThrownBy(() -> new PrecompiledExecutionPointcut("execution(String hello..*(..))"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PrecompiledExecutionPointcut(
+                "execution(* hello..*(..)) || execution(* world..*(..))"
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PrecompiledExecutionPointcut("execution(* hello..*(String))"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
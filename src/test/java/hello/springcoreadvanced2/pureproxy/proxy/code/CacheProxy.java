@@ -3,7 +3,8 @@ package hello.springcoreadvanced2.pureproxy.proxy.code;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * 캐싱 프록시 객체
+ * 캐싱 프록시 객체<br>
+ * - 값 하나만 저장하는 예제, 키, 만료 시간, 크기 제한, 동시성을 다루는 구현은 {@link hello.springcoreadvanced2.cache.CachingInterceptor}
  */
 @Slf4j
 public class CacheProxy implements Subject {
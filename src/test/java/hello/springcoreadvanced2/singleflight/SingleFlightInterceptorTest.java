@@ -0,0 +1,176 @@
+package hello.springcoreadvanced2.singleflight;
+
+import hello.springcoreadvanced2.app.v3.OrderRepositoryV3;
+import hello.springcoreadvanced2.app.v3.OrderServiceV3;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightInterceptorTest {
+    private static final int CLIENTS = 20;
+
+    private final BlockingRepository repository = new BlockingRepository();
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class))
+            .withUserConfiguration(SingleFlightConfig.class)
+            .withBean(OrderRepositoryV3.class, () -> repository)
+            .withBean(OrderServiceV3.class);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        SleepWrapper.replace(millis -> {
+        });
+        executor = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SleepWrapper.reset();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 itemId 로 동시에 들어온 주문은 저장을 한 번만 한다")
+    void merge() {
+        runner.withPropertyValues("single-flight.enabled=true").run(context -> {
+            OrderServiceV3 orderService = context.getBean(OrderServiceV3.class);
+            SingleFlightInterceptor interceptor = context.getBean(SingleFlightInterceptor.class);
+
+            List<Future<?>> orders = orderConcurrently(orderService, "itemA", interceptor);
+            for (Future<?> order : orders) {
+                order.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(repository.saves.get()).isEqualTo(1);
+            assertThat(interceptor.getMergedCount()).isEqualTo(CLIENTS - 1);
+        });
+    }
+
+    @Test
+    @DisplayName("저장에서 발생한 예외를 기다린 모든 주문이 같이 받는다")
+    void exception() {
+        runner.withPropertyValues("single-flight.enabled=true").run(context -> {
+            OrderServiceV3 orderService = context.getBean(OrderServiceV3.class);
+            SingleFlightInterceptor interceptor = context.getBean(SingleFlightInterceptor.class);
+
+            List<Future<?>> orders = orderConcurrently(orderService, "ex", interceptor);
+            List<Throwable> exceptions = new ArrayList<>();
+            for (Future<?> order : orders) {
+                assertThatThrownBy(() -> order.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .satisfies(e -> exceptions.add(e.getCause()));
+            }
+
+            assertThat(repository.saves.get()).isEqualTo(1);
+            assertThat(exceptions).hasSize(CLIENTS)
+                    .allSatisfy(e -> assertThat(e).isInstanceOf(IllegalStateException.class).isSameAs(exceptions.get(0)));
+        });
+    }
+
+    @Test
+    @DisplayName("비동기 주문은 Future 가 완료될 때까지 합치고, 다른 itemId 는 합치지 않는다")
+    void async() {
+        runner.withPropertyValues("single-flight.enabled=true").run(context -> {
+            OrderServiceV3 orderService = context.getBean(OrderServiceV3.class);
+
+            List<CompletableFuture<Void>> orders = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                orders.add(orderService.orderItemAsync(i % 2 == 0 ? "itemA" : "itemB"));
+            }
+            assertThat(repository.saves.get()).isEqualTo(2);
+            assertThat(orders).allSatisfy(order -> assertThat(order).isNotDone());
+
+            repository.release.countDown();
+            CompletableFuture.allOf(orders.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            // 끝난 호출은 기억하지 않는다.
+            orderService.orderItemAsync("itemA").get(5, TimeUnit.SECONDS);
+            assertThat(repository.saves.get()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("single-flight.enabled 가 없으면 프록시를 만들지 않는다")
+    void disabled() {
+        runner.run(context -> {
+            assertThat(context).doesNotHaveBean(SingleFlightInterceptor.class);
+            assertThat(AopUtils.isAopProxy(context.getBean(OrderServiceV3.class))).isFalse();
+        });
+    }
+
+    /**
+     * 주문을 동시에 보내고, 첫 주문이 저장하는 동안 나머지가 모두 합쳐지면 저장을 끝낸다.
+     */
+    private List<Future<?>> orderConcurrently(
+            OrderServiceV3 orderService,
+            String itemId,
+            SingleFlightInterceptor interceptor
+    ) throws InterruptedException {
+        List<Future<?>> orders = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            orders.add(executor.submit(() -> orderService.orderItem(itemId)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (interceptor.getMergedCount() < CLIENTS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        repository.release.countDown();
+        return orders;
+    }
+
+    /**
+     * release 될 때까지 저장을 끝내지 않는 저장소
+     */
+    static class BlockingRepository extends OrderRepositoryV3 {
+        private final AtomicInteger saves = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void save(String itemId) {
+            saves.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.save(itemId);
+        }
+
+        @Override
+        public CompletableFuture<Void> saveAsync(String itemId) {
+            saves.incrementAndGet();
+            CompletableFuture<Void> saved = new CompletableFuture<>();
+            CompletableFuture.runAsync(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                saved.complete(null);
+            });
+            return saved;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package hello.springcoreadvanced2.trace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TraceIdGenerator} Test
+ */
+class TraceIdGeneratorTest {
+
+    @Test
+    @DisplayName("상위 16bit 는 노드 ID, 새 ID 마다 하위 bit 가 바뀐다")
+    void nextId() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            long id = TraceIdGenerator.nextId();
+            assertThat(id >>> 48).isEqualTo(TraceIdGenerator.nodeId());
+            ids.add(id);
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    @DisplayName("노드 ID 4자리 + 하위 32bit 8자리로 출력한다")
+    void format() {
+        assertThat(TraceIdGenerator.format(0x3FA2_1234_5519_E992L)).isEqualTo("3fa25519e992");
+        assertThat(TraceIdGenerator.format(0L)).isEqualTo("000000000000");
+        assertThat(TraceIdGenerator.format(-1L)).isEqualTo("ffffffffffff");
+    }
+
+    @Test
+    @DisplayName("출력한 ID 에 이 노드의 ID 가 들어있다")
+    void formatContainsNodeId() {
+        String id = new TraceId().getId();
+
+        assertThat(id).hasSize(12).matches("[0-9a-f]{12}");
+        assertThat(Long.parseLong(id.substring(0, 4), 16)).isEqualTo(TraceIdGenerator.nodeId());
+    }
+}
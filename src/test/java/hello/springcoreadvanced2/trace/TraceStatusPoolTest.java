@@ -0,0 +1,61 @@
+package hello.springcoreadvanced2.trace;
+
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceStatusPool} Test<br>
+ * - 반환 후 사용 검사는 assert 이므로, <code>-ea</code>(테스트 기본값)에서만 동작한다.
+ */
+public class TraceStatusPoolTest {
+
+    private final ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace(new ThreadLocalTraceContextCarrier(), 2);
+
+    @Test
+    @DisplayName("같은 Level 의 TraceStatus 는 다음 호출에서 재사용된다")
+    void reuse() {
+        TraceStatus first = logTrace.begin("first");
+        TraceStatus child = logTrace.begin("child");
+        logTrace.end(child);
+        logTrace.end(first);
+
+        TraceStatus second = logTrace.begin("second");
+        assertThat(second).isSameAs(first);
+        assertThat(second.getMessage()).isEqualTo("second");
+        logTrace.end(second);
+
+        assertThat(logTrace.isFirstLevel()).isTrue();
+    }
+
+    @Test
+    @DisplayName("미리 만든 Level 보다 깊으면 새로 만든다")
+    void deeperThanPool() {
+        TraceStatus level0 = logTrace.begin("level0");
+        TraceStatus level1 = logTrace.begin("level1");
+        TraceStatus level2 = logTrace.begin("level2");
+
+        assertThat(level0.isPooled()).isTrue();
+        assertThat(level1.isPooled()).isTrue();
+        assertThat(level2.isPooled()).isFalse();
+
+        logTrace.end(level2);
+        logTrace.end(level1);
+        logTrace.end(level0);
+        assertThat(level2.getMessage()).isEqualTo("level2");
+    }
+
+    @Test
+    @DisplayName("반환된 TraceStatus 를 읽으면 AssertionError")
+    void useAfterRelease() {
+        TraceStatus status = logTrace.begin("request");
+        logTrace.end(status);
+
+        assertThatThrownBy(status::getMessage).isInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> logTrace.end(status)).isInstanceOf(AssertionError.class);
+    }
+}
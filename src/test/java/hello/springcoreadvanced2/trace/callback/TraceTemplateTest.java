@@ -0,0 +1,159 @@
+package hello.springcoreadvanced2.trace.callback;
+
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceTemplate} Test<br>
+ * - 진입점마다 begin -> 로직 -> end 순서와 반환 값, 예외가 발생했을 때 exception 기록을 확인한다.
+ */
+public class TraceTemplateTest {
+    private static final String MESSAGE = "OrderServiceV1.orderItem()";
+
+    private final RecordingLogTrace logTrace = new RecordingLogTrace();
+    private final TraceTemplate template = new TraceTemplate(logTrace);
+
+    /**
+     * 호출 순서를 기록하는 {@link LogTrace}, 실제 Trace 는 {@link ThreadLocalLogTrace}가 관리한다.
+     */
+    private static final class RecordingLogTrace implements LogTrace {
+        private final LogTrace delegate = new ThreadLocalLogTrace();
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public TraceStatus begin(String message) {
+            events.add("begin " + message);
+            return delegate.begin(message);
+        }
+
+        @Override
+        public void end(TraceStatus status) {
+            events.add("end " + status.getMessage());
+            delegate.end(status);
+        }
+
+        @Override
+        public void exception(TraceStatus status, Exception e) {
+            events.add("exception " + status.getMessage() + " " + e.getMessage());
+            delegate.exception(status, e);
+        }
+
+        @Override
+        public boolean isFirstLevel() {
+            return delegate.isFirstLevel();
+        }
+    }
+
+    private static String upperCase(String itemId) {
+        return itemId.toUpperCase();
+    }
+
+    @Test
+    @DisplayName("execute: begin -> 로직 -> end 순서로 호출하고 결과를 돌려준다")
+    void execute() {
+        String result = template.execute(MESSAGE, () -> {
+            logTrace.events.add("call");
+            return "item";
+        });
+
+        assertThat(result).isEqualTo("item");
+        assertThat(logTrace.events).containsExactly("begin " + MESSAGE, "call", "end " + MESSAGE);
+        assertThat(logTrace.isFirstLevel()).isTrue();
+    }
+
+    @Test
+    @DisplayName("execute(문맥): 넘긴 문맥으로 로직을 호출한다")
+    void executeWithContext() {
+        String result = template.execute(MESSAGE, "item", TraceTemplateTest::upperCase);
+        assertThat(result).isEqualTo("ITEM");
+
+        List<String> saved = new ArrayList<>();
+        template.executeVoid(MESSAGE, "item", saved::add);
+        assertThat(saved).containsExactly("item");
+
+        assertThat(logTrace.events).containsExactly(
+                "begin " + MESSAGE, "end " + MESSAGE,
+                "begin " + MESSAGE, "end " + MESSAGE
+        );
+    }
+
+    @Test
+    @DisplayName("executeVoid, executeInt, executeLong, executeBoolean: 결과를 그대로 돌려준다")
+    void primitives() {
+        template.executeVoid(MESSAGE, () -> logTrace.events.add("call"));
+        assertThat(template.executeInt(MESSAGE, () -> 7)).isEqualTo(7);
+        assertThat(template.executeLong(MESSAGE, () -> Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+        assertThat(template.executeBoolean(MESSAGE, () -> true)).isTrue();
+
+        assertThat(logTrace.events).containsExactly(
+                "begin " + MESSAGE, "call", "end " + MESSAGE,
+                "begin " + MESSAGE, "end " + MESSAGE,
+                "begin " + MESSAGE, "end " + MESSAGE,
+                "begin " + MESSAGE, "end " + MESSAGE
+        );
+        assertThat(logTrace.isFirstLevel()).isTrue();
+    }
+
+    @Test
+    @DisplayName("예외: 진입점마다 end 대신 exception 을 기록하고 같은 예외를 다시 던진다")
+    void exception() {
+        IllegalStateException e = new IllegalStateException("예외 발생!");
+        List<Runnable> calls = List.of(
+                () -> template.execute(MESSAGE, () -> {
+                    throw e;
+                }),
+                () -> template.execute(MESSAGE, "item", itemId -> {
+                    throw e;
+                }),
+                () -> template.executeVoid(MESSAGE, () -> {
+                    throw e;
+                }),
+                () -> template.executeVoid(MESSAGE, "item", itemId -> {
+                    throw e;
+                }),
+                () -> template.executeInt(MESSAGE, () -> {
+                    throw e;
+                }),
+                () -> template.executeLong(MESSAGE, () -> {
+                    throw e;
+                }),
+                () -> template.executeBoolean(MESSAGE, () -> {
+                    throw e;
+                })
+        );
+
+        for (Runnable call : calls) {
+            logTrace.events.clear();
+
+            assertThatThrownBy(call::run).isSameAs(e);
+            assertThat(logTrace.events).containsExactly("begin " + MESSAGE, "exception " + MESSAGE + " 예외 발생!");
+            assertThat(logTrace.isFirstLevel()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("중첩 호출: 안쪽 템플릿이 먼저 끝난다")
+    void nested() {
+        String result = template.execute("OrderControllerV1.request()", () ->
+                template.execute(MESSAGE, "item", TraceTemplateTest::upperCase)
+        );
+
+        assertThat(result).isEqualTo("ITEM");
+        assertThat(logTrace.events).containsExactly(
+                "begin OrderControllerV1.request()",
+                "begin " + MESSAGE,
+                "end " + MESSAGE,
+                "end OrderControllerV1.request()"
+        );
+        assertThat(logTrace.isFirstLevel()).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LogTraceConfig} Test
+ */
+class LogTraceConfigTest {
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(LogTraceConfig.class);
+
+    @Test
+    @DisplayName("trace.status-pool.depth 는 trace.context=thread-local 에서만 사용할 수 있다")
+    void statusPoolWithThreadLocal() {
+        runner.withPropertyValues("trace.status-pool.depth=4")
+                .run(context -> assertThat(context.getBean(LogTrace.class)).isInstanceOf(ThreadLocalLogTrace.class));
+        runner.withPropertyValues("trace.context=thread-map")
+                .run(context -> assertThat(context.getBean(LogTrace.class)).isInstanceOf(ThreadLocalLogTrace.class));
+    }
+
+    @Test
+    @DisplayName("trace.context=thread-map 과 trace.status-pool.depth 를 함께 쓰면 시작하지 않는다")
+    void statusPoolWithThreadMap() {
+        runner.withPropertyValues("trace.context=thread-map", "trace.status-pool.depth=4")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("trace.context=thread-map"));
+    }
+}
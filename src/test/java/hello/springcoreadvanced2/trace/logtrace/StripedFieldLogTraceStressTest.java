@@ -0,0 +1,122 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springcoreadvanced2.app.v1.*;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StripedFieldLogTrace} 동시성 테스트<br>
+ * - 수백 개의 쓰레드가 동시에 {@link OrderControllerV1}을 호출하고, 모든 Trace 트리의 모양을 확인한다.<br>
+ * - 칸 수보다 쓰레드가 많으므로, 칸이 겹친 쓰레드는 overflow 경로를 지난다.
+ */
+@Slf4j
+public class StripedFieldLogTraceStressTest {
+    private static final int THREADS = 200;
+    private static final int REQUESTS_PER_THREAD = 10;
+    private static final int STRIPES = 64;
+    private static final String[] METHOD_PATTERNS = {"request*", "order*", "save*"};
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(StripedFieldLogTrace.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void beforeEach() {
+        // 쓰레드가 최대한 섞이도록 sleep 대신 양보한다.
+        SleepWrapper.replace(millis -> Thread.yield());
+        appender.start();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.setAdditive(true);
+        logger.detachAppender(appender);
+        SleepWrapper.reset();
+    }
+
+    private static Object proxy(Object target, LogTrace logTrace) {
+        Class<?>[] supIntfs = target.getClass().getInterfaces();
+        return Proxy.newProxyInstance(
+                supIntfs[0].getClassLoader(),
+                supIntfs,
+                new LogTraceFilterHandler(target, logTrace, METHOD_PATTERNS)
+        );
+    }
+
+    @Test
+    @DisplayName("동시에 호출해도 모든 Trace 트리가 올바른 모양이다")
+    void stress() throws Exception {
+        LogTrace logTrace = new StripedFieldLogTrace(STRIPES);
+        OrderRepositoryV1 repository = (OrderRepositoryV1) proxy(new OrderRepositoryV1Impl(), logTrace);
+        OrderServiceV1 service = (OrderServiceV1) proxy(new OrderServiceV1Impl(repository), logTrace);
+        OrderControllerV1 controller = (OrderControllerV1) proxy(new OrderControllerV1Impl(service), logTrace);
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger leaked = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    controller.request("item");
+                    if (!logTrace.isFirstLevel()) {
+                        leaked.incrementAndGet();
+                    }
+                }
+            }, "stress-" + t);
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 쓰레드 이름 + Trace ID 로 Trace 를 나눈다.
+        Map<String, List<String>> traces = new LinkedHashMap<>();
+        for (ILoggingEvent event : appender.list) {
+            String line = event.getFormattedMessage();
+            String id = line.substring(0, line.indexOf(']') + 1);
+            traces.computeIfAbsent(event.getThreadName() + id, key -> new ArrayList<>())
+                    .add(line.substring(id.length() + 1));
+        }
+
+        log.info("threads = {}, traces = {}, events = {}", THREADS, traces.size(), appender.list.size());
+        assertThat(leaked.get()).isZero();
+        assertThat(traces).hasSize(THREADS * REQUESTS_PER_THREAD);
+        for (List<String> lines : traces.values()) {
+            assertThat(lines).hasSize(6);
+            assertThat(lines.get(0)).doesNotStartWith("|").doesNotContain("time =");
+            assertThat(lines.get(1)).startsWith("|-->");
+            assertThat(lines.get(2)).startsWith("|   |-->");
+            assertThat(lines.get(3)).startsWith("|   |<--");
+            assertThat(lines.get(4)).startsWith("|<--");
+            assertThat(lines.get(5)).doesNotStartWith("|").contains("time =");
+        }
+    }
+}
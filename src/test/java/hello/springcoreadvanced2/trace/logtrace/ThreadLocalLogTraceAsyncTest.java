@@ -0,0 +1,96 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ThreadLocalLogTrace#endAsync} Test
+ */
+class ThreadLocalLogTraceAsyncTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ThreadLocalLogTrace.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void beforeEach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+    }
+
+    /**
+     * controller -> service -> repository, repository 가 돌려준 Future 를 위로 이어 붙인다.
+     */
+    private static CompletableFuture<String> request(LogTrace logTrace, CompletableFuture<Void> saved) {
+        TraceStatus controller = logTrace.begin("OrderControllerV3.requestAsync()");
+        TraceStatus service = logTrace.begin("OrderServiceV3.orderItemAsync()");
+        TraceStatus repository = logTrace.begin("OrderRepositoryV3.saveAsync()");
+        CompletableFuture<Void> repositoryResult = logTrace.endAsync(repository, saved);
+        CompletableFuture<Void> serviceResult = logTrace.endAsync(service, repositoryResult);
+        return logTrace.endAsync(controller, serviceResult.thenApply(ignored -> "itemId"));
+    }
+
+    @Test
+    @DisplayName("쓰레드는 바로 돌려주고, 완료될 때 하위 Level 부터 종료 로그를 남긴다")
+    void nesting() throws Exception {
+        for (int statusPoolDepth : new int[]{0, 4}) {
+            appender.list.clear();
+            ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace(new ThreadLocalTraceContextCarrier(), statusPoolDepth);
+            CompletableFuture<Void> saved = new CompletableFuture<>();
+
+            CompletableFuture<String> result = request(logTrace, saved);
+            assertThat(logTrace.isFirstLevel()).isTrue();
+            assertThat(appender.list).hasSize(3);
+
+            Thread.sleep(50);
+            CompletableFuture.runAsync(() -> saved.complete(null));
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("itemId");
+
+            List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+            assertThat(messages).hasSize(6);
+            assertThat(messages.get(3)).contains("|   |<--OrderRepositoryV3.saveAsync()");
+            assertThat(messages.get(4)).contains("|<--OrderServiceV3.orderItemAsync()");
+            assertThat(messages.get(5)).contains("] OrderControllerV3.requestAsync()");
+            assertThat(messages.subList(3, 6)).allSatisfy(message -> assertThat(elapsedMillis(message)).isGreaterThanOrEqualTo(50));
+        }
+    }
+
+    @Test
+    @DisplayName("비동기로 전달된 예외는 가장 깊은 Level 에서만 전체를 기록한다")
+    void exception() {
+        ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace();
+        CompletableFuture<Void> saved = new CompletableFuture<>();
+
+        CompletableFuture<String> result = request(logTrace, saved);
+        saved.completeExceptionally(new IllegalStateException("예외 발생!"));
+
+        assertThat(result).isCompletedExceptionally();
+        List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertThat(messages).hasSize(6);
+        assertThat(messages.get(3)).contains("<X-OrderRepositoryV3.saveAsync()").contains("e = java.lang.IllegalStateException: 예외 발생!");
+        assertThat(messages.get(4)).contains("<X-OrderServiceV3.orderItemAsync()").endsWith("e = ^java.lang.IllegalStateException");
+        assertThat(messages.get(5)).contains("] OrderControllerV3.requestAsync()").endsWith("e = ^java.lang.IllegalStateException");
+    }
+
+    private static double elapsedMillis(String message) {
+        int start = message.indexOf("time = [") + "time = [".length();
+        return Double.parseDouble(message.substring(start, message.indexOf("ms]", start)));
+    }
+}
@@ -0,0 +1,206 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import hello.springcoreadvanced2.app.v1.*;
+import hello.springcoreadvanced2.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.springcoreadvanced2.trace.TraceId;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadLocalTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.context.ThreadMapTraceContextCarrier;
+import hello.springcoreadvanced2.trace.logtrace.context.TraceContextCarrier;
+import hello.springcoreadvanced2.wrapper.SleepWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TraceContextCarrier} 부하 테스트<br>
+ * - 쓰레드 풀(플랫폼 쓰레드) vs 요청마다 새 쓰레드(JDK 21 이상이면 가상 쓰레드)<br>
+ * - {@link SleepWrapper}에 묶인 주문 흐름을 실행하고, 끝난 뒤 Trace 문맥이 남아있지 않은지 확인한다.
+ */
+@Slf4j
+public class TraceContextCarrierLoadTest {
+    private static final int REQUESTS = 2000;
+    private static final int POOL_SIZE = 16;
+    private static final int SLEEP_MILLIS = 5;
+    private static final String[] METHOD_PATTERNS = {"request*", "order*", "save*"};
+
+    @BeforeEach
+    void beforeEach() {
+        // 1초 대신 짧게 기다린다.
+        SleepWrapper.replace(millis -> {
+            try {
+                Thread.sleep(SLEEP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        SleepWrapper.reset();
+    }
+
+    private static Object proxy(Object target, LogTrace logTrace) {
+        Class<?>[] supIntfs = target.getClass().getInterfaces();
+        return Proxy.newProxyInstance(
+                supIntfs[0].getClassLoader(),
+                supIntfs,
+                new LogTraceFilterHandler(target, logTrace, METHOD_PATTERNS)
+        );
+    }
+
+    private static OrderControllerV1 controller(LogTrace logTrace) {
+        OrderRepositoryV1 repository = (OrderRepositoryV1) proxy(new OrderRepositoryV1Impl(), logTrace);
+        OrderServiceV1 service = (OrderServiceV1) proxy(new OrderServiceV1Impl(repository), logTrace);
+        return (OrderControllerV1) proxy(new OrderControllerV1Impl(service), logTrace);
+    }
+
+    /**
+     * JDK 21 이상이면 가상 쓰레드, 아니면 요청마다 새 플랫폼 쓰레드
+     */
+    private static ExecutorService threadPerTask() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // 쉬는 쓰레드를 바로 없애므로, 동시에 들어온 요청은 각자 새 쓰레드에서 실행된다.
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.NANOSECONDS, new SynchronousQueue<>());
+        }
+    }
+
+    /**
+     * @return 끝난 뒤에도 Trace 문맥이 남아있던 요청 수
+     */
+    private static int run(
+            String name,
+            LogTrace logTrace,
+            Supplier<ExecutorService> executorSupplier
+    ) throws Exception {
+        OrderControllerV1 controller = controller(logTrace);
+        AtomicInteger leaked = new AtomicInteger();
+        ExecutorService executor = executorSupplier.get();
+
+        long startNanos = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String itemId = "item-" + i;
+            futures.add(executor.submit(() -> {
+                controller.request(itemId);
+                if (!logTrace.isFirstLevel()) {
+                    leaked.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        log.info("[{}] requests = {}, elapsed = {}ms, leaked = {}", name, REQUESTS, elapsedMs, leaked.get());
+        return leaked.get();
+    }
+
+    @Test
+    @DisplayName("쓰레드 풀 vs 요청마다 새 쓰레드, 모든 Carrier 에서 Trace 문맥이 남지 않는다")
+    void load() throws Exception {
+        ThreadMapTraceContextCarrier threadMap = new ThreadMapTraceContextCarrier();
+
+        assertThat(run("pool/thread-local", new ThreadLocalLogTrace(new ThreadLocalTraceContextCarrier()),
+                () -> Executors.newFixedThreadPool(POOL_SIZE))).isZero();
+        assertThat(run("pool/thread-map", new ThreadLocalLogTrace(threadMap),
+                () -> Executors.newFixedThreadPool(POOL_SIZE))).isZero();
+        assertThat(run("per-task/thread-local", new ThreadLocalLogTrace(new ThreadLocalTraceContextCarrier()),
+                TraceContextCarrierLoadTest::threadPerTask)).isZero();
+        assertThat(run("per-task/thread-map", new ThreadLocalLogTrace(threadMap),
+                TraceContextCarrierLoadTest::threadPerTask)).isZero();
+
+        assertThat(threadMap.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("wrap 으로 넘긴 작업은 같은 TraceId, 다음 Level 로 기록된다")
+    void propagation() throws Exception {
+        ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace(new ThreadMapTraceContextCarrier());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        TraceStatus parent = logTrace.begin("parent");
+        Future<TraceStatus> future = executor.submit(logTrace.wrap(() -> {
+            TraceStatus child = logTrace.begin("child");
+            logTrace.end(child);
+            return child;
+        }));
+        TraceStatus child = future.get();
+        logTrace.end(parent);
+
+        assertThat(child.getTraceId()).isSameAs(parent.getTraceId());
+        assertThat(child.getLevel()).isEqualTo(parent.getLevel() + 1);
+        assertThat(logTrace.isFirstLevel()).isTrue();
+
+        // 넘겨받은 쓰레드에도 남아있지 않다.
+        assertThat(executor.submit(logTrace::isFirstLevel).get()).isTrue();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("부모 Trace 가 작업 실행 전에 끝나도, wrap 할 때의 TraceId 와 다음 Level 로 기록된다")
+    void propagationAfterParentEnds() throws Exception {
+        for (int statusPoolDepth : new int[]{0, 4}) {
+            ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace(new ThreadLocalTraceContextCarrier(), statusPoolDepth);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            CountDownLatch gate = new CountDownLatch(1);
+            AtomicReference<TraceId> childTraceId = new AtomicReference<>();
+            AtomicInteger childLevel = new AtomicInteger(-1);
+            try {
+                // 실행 쓰레드를 붙잡아 두므로, 넘긴 작업은 부모 Trace 가 끝난 뒤에 실행된다.
+                executor.submit(() -> gate.await(5, TimeUnit.SECONDS));
+
+                TraceStatus parent = logTrace.begin("parent");
+                TraceId parentTraceId = parent.getTraceId();
+                int parentLevel = parent.getLevel();
+                Future<?> future = executor.submit(logTrace.wrap(() -> {
+                    TraceStatus child = logTrace.begin("child");
+                    childTraceId.set(child.getTraceId());
+                    childLevel.set(child.getLevel());
+                    logTrace.end(child);
+                }));
+                logTrace.end(parent);
+
+                // 같은 쓰레드에서 다음 요청이 시작된다. statusPoolDepth 가 1 이상이면 같은 프레임을 재사용한다.
+                TraceStatus next = logTrace.begin("next");
+                TraceId nextTraceId = next.getTraceId();
+                gate.countDown();
+                future.get(5, TimeUnit.SECONDS);
+                logTrace.end(next);
+
+                assertThat(childTraceId.get()).isSameAs(parentTraceId).isNotSameAs(nextTraceId);
+                assertThat(childLevel.get()).isEqualTo(parentLevel + 1);
+                assertThat(logTrace.isFirstLevel()).isTrue();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package hello.springcoreadvanced2.trace.logtrace;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.async.AsyncLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.sampling.SamplingLogTrace;
+import hello.springcoreadvanced2.trace.logtrace.sampling.SamplingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TraceLogRenderer} Test<br>
+ * - 예외는 가장 깊은 Level 에서 한 번만 전체를 출력하고, 상위 Level 에는 <code>e = ^클래스 이름</code>만 남긴다.<br>
+ * - 모든 구현체가 같은 모양으로 출력하는지 확인한다.
+ */
+public class TraceLogRendererTest {
+    /**
+     * 모든 {@link LogTrace} 구현체의 Logger 는 이 Logger 의 하위 Logger 이다.
+     */
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogTrace.class.getPackageName());
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void beforeEach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+    }
+
+    /**
+     * 컨트롤러 → 서비스 → 리포지토리, 리포지토리에서 던진 예외를 상위 Level 이 그대로 다시 던진다.
+     */
+    private static void request(LogTrace logTrace, Exception e) {
+        TraceStatus controller = logTrace.begin("OrderController.request()");
+        TraceStatus service = logTrace.begin("OrderService.orderItem()");
+        TraceStatus repository = logTrace.begin("OrderRepository.save()");
+        logTrace.exception(repository, e);
+        logTrace.exception(service, e);
+        logTrace.exception(controller, e);
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private void assertRenderedOnce(LogTrace logTrace) {
+        IllegalStateException e = new IllegalStateException("예외 발생!");
+        request(logTrace, e);
+
+        List<String> messages = messages();
+        assertThat(messages).hasSize(6);
+        assertThat(messages.get(0)).endsWith("] OrderController.request()");
+        assertThat(messages.get(1)).endsWith("] |-->OrderService.orderItem()");
+        assertThat(messages.get(2)).endsWith("] |   |-->OrderRepository.save()");
+        assertThat(messages.get(3))
+                .contains("] |   |<X-OrderRepository.save() time = [")
+                .endsWith("ms] e = java.lang.IllegalStateException: 예외 발생!");
+        assertThat(messages.get(4))
+                .contains("] |<X-OrderService.orderItem() time = [")
+                .endsWith("ms] e = ^java.lang.IllegalStateException");
+        assertThat(messages.get(5))
+                .contains("] OrderController.request() time = [")
+                .endsWith("ms] e = ^java.lang.IllegalStateException");
+
+        // 다음 Trace 는 같은 예외 객체라도 다시 전체를 출력한다.
+        appender.list.clear();
+        request(logTrace, e);
+        assertThat(messages().get(3)).endsWith("e = java.lang.IllegalStateException: 예외 발생!");
+        assertThat(messages().get(4)).endsWith("e = ^java.lang.IllegalStateException");
+    }
+
+    @Test
+    @DisplayName("ThreadLocalLogTrace: 예외 전체는 가장 깊은 Level 에서 한 번만")
+    void threadLocal() {
+        assertRenderedOnce(new ThreadLocalLogTrace());
+    }
+
+    @Test
+    @DisplayName("FieldLogTrace: 예외 전체는 가장 깊은 Level 에서 한 번만")
+    void field() {
+        assertRenderedOnce(new FieldLogTrace());
+    }
+
+    @Test
+    @DisplayName("StripedFieldLogTrace: 예외 전체는 가장 깊은 Level 에서 한 번만")
+    void striped() {
+        assertRenderedOnce(new StripedFieldLogTrace(4));
+    }
+
+    @Test
+    @DisplayName("SamplingLogTrace: HEAD, TAIL 모두 예외 전체는 가장 깊은 Level 에서 한 번만")
+    void sampling() {
+        assertRenderedOnce(new SamplingLogTrace(SamplingMode.HEAD, 1.0, 0));
+
+        appender.list.clear();
+        assertRenderedOnce(new SamplingLogTrace(SamplingMode.TAIL, 0.0, 0));
+    }
+
+    @Test
+    @DisplayName("AsyncLogTrace: 다시 던져진 예외인지는 요청 쓰레드에서 정한다")
+    void async() throws InterruptedException {
+        AsyncLogTrace logTrace = new AsyncLogTrace();
+        IllegalStateException e = new IllegalStateException("예외 발생!");
+        request(logTrace, e);
+        request(logTrace, e);
+        // 닫으면 남은 이벤트를 모두 출력한다.
+        logTrace.close();
+
+        List<String> messages = messages();
+        assertThat(messages).hasSize(12);
+        for (int offset : new int[]{0, 6}) {
+            assertThat(messages.get(offset + 3)).endsWith("e = java.lang.IllegalStateException: 예외 발생!");
+            assertThat(messages.get(offset + 4)).endsWith("e = ^java.lang.IllegalStateException");
+            assertThat(messages.get(offset + 5)).endsWith("e = ^java.lang.IllegalStateException");
+        }
+    }
+}
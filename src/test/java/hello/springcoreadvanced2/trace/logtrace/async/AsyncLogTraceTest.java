@@ -0,0 +1,201 @@
+package hello.springcoreadvanced2.trace.logtrace.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AsyncLogTrace} Test<br>
+ * - 로그 출력 쓰레드를 {@link GateAppender}에 붙잡아 두고 버퍼를 채운다.<br>
+ * - batchSize 1 이므로 붙잡힌 출력 쓰레드는 이벤트 하나만 꺼낸 상태다.
+ */
+public class AsyncLogTraceTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AsyncLogTrace.class);
+    private final GateAppender appender = new GateAppender();
+
+    @BeforeEach
+    void beforeEach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        appender.open();
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    /**
+     * 이벤트 2개 (시작, 종료)
+     */
+    private static void call(AsyncLogTrace logTrace) {
+        TraceStatus status = logTrace.begin("OrderServiceV1.orderItem()");
+        logTrace.end(status);
+    }
+
+    /**
+     * 첫 이벤트를 넣고, 출력 쓰레드가 그 이벤트를 꺼내서 {@link GateAppender}에 붙잡힐 때까지 기다린다.<br>
+     * - 이후 버퍼는 비어있고, 출력 쓰레드는 더 꺼내지 않는다.
+     */
+    private void holdWriter(AsyncLogTrace logTrace) throws InterruptedException {
+        TraceStatus status = logTrace.begin("OrderControllerV1.request()");
+        assertThat(appender.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        logTrace.end(status);
+    }
+
+    @Test
+    @DisplayName("DROP: 버퍼가 가득 차면 버리고 버린 수를 센다")
+    void drop() throws InterruptedException {
+        AsyncLogTrace logTrace = new AsyncLogTrace(8, 1, OverflowPolicy.DROP, 1);
+        holdWriter(logTrace);
+        // 종료 이벤트 1 + 7 = 8, 버퍼가 가득 찬다.
+        for (int i = 0; i < 7; i++) {
+            logTrace.begin("OrderRepositoryV1.save()");
+        }
+        assertThat(logTrace.getDroppedCount()).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            call(logTrace);
+        }
+        assertThat(logTrace.getDroppedCount()).isEqualTo(20);
+
+        appender.open();
+        logTrace.close();
+        assertThat(appender.messages).hasSize(1 + 8);
+    }
+
+    @Test
+    @DisplayName("BLOCK: 버퍼가 가득 차면 기다렸다가, 출력 쓰레드가 따라잡으면 이어서 넣는다")
+    void block() throws InterruptedException {
+        AsyncLogTrace logTrace = new AsyncLogTrace(8, 1, OverflowPolicy.BLOCK, 1);
+        holdWriter(logTrace);
+
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                call(logTrace);
+            }
+            done.countDown();
+        });
+        producer.start();
+
+        // 출력 쓰레드가 붙잡혀 있는 동안에는 끝나지 않는다.
+        assertThat(done.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(producer.getState()).isIn(Thread.State.TIMED_WAITING, Thread.State.RUNNABLE);
+
+        appender.open();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        logTrace.close();
+
+        assertThat(logTrace.getDroppedCount()).isZero();
+        assertThat(appender.messages).hasSize(2 + 100);
+    }
+
+    @Test
+    @DisplayName("SAMPLE: 버퍼가 절반 이상 차면 sampleRate 개 중 1개만 받는다")
+    void sample() throws InterruptedException {
+        AsyncLogTrace logTrace = new AsyncLogTrace(64, 1, OverflowPolicy.SAMPLE, 4);
+        holdWriter(logTrace);
+        // 종료 이벤트 1 + 31 = 32, 절반까지는 모두 받는다.
+        for (int i = 0; i < 31; i++) {
+            logTrace.begin("OrderRepositoryV1.save()");
+        }
+        assertThat(logTrace.getDroppedCount()).isZero();
+
+        // 절반 이후 128개 중 1/4 = 32개만 받는다. 버퍼는 정확히 가득 찬다.
+        for (int i = 0; i < 64; i++) {
+            call(logTrace);
+        }
+        assertThat(logTrace.getDroppedCount()).isEqualTo(96);
+
+        // 가득 찬 뒤에는 받을 차례라도 버린다. (DROP 과 동일)
+        for (int i = 0; i < 4; i++) {
+            call(logTrace);
+        }
+        assertThat(logTrace.getDroppedCount()).isEqualTo(96 + 8);
+
+        appender.open();
+        logTrace.close();
+        assertThat(appender.messages).hasSize(1 + 64);
+    }
+
+    @Test
+    @DisplayName("close: 출력 쓰레드를 멈추기 전에 남은 이벤트를 모두 출력한다")
+    void drainOnClose() throws InterruptedException {
+        AsyncLogTrace logTrace = new AsyncLogTrace(4096, 16, OverflowPolicy.DROP, 1);
+        holdWriter(logTrace);
+        for (int i = 0; i < 1000; i++) {
+            call(logTrace);
+        }
+
+        // 붙잡힌 쓰레드를 풀자마자 닫는다. 남은 2001개는 종료 전 drain 에서 출력된다.
+        appender.open();
+        logTrace.close();
+
+        assertThat(logTrace.getDroppedCount()).isZero();
+        assertThat(appender.messages).hasSize(2 + 2000);
+        assertThat(appender.messages.get(0)).endsWith("] OrderControllerV1.request()");
+        assertThat(appender.messages.get(1)).contains("] OrderControllerV1.request() time = [");
+    }
+
+    @Test
+    @DisplayName("INFO 로그를 끄면 이벤트를 버퍼에 넣지 않는다")
+    void infoDisabled() throws InterruptedException {
+        AsyncLogTrace logTrace = new AsyncLogTrace(8, 1, OverflowPolicy.DROP, 1);
+        holdWriter(logTrace);
+
+        // 종료 이벤트 1개만 버퍼에 있다. 이벤트를 넣는다면 7개를 넘는 순간부터 버려진다.
+        logger.setLevel(Level.WARN);
+        for (int i = 0; i < 100; i++) {
+            call(logTrace);
+        }
+        TraceStatus status = logTrace.begin("OrderServiceV1.orderItem()");
+        logTrace.exception(status, new IllegalStateException("예외 발생!"));
+        assertThat(logTrace.getDroppedCount()).isZero();
+        assertThat(logTrace.isFirstLevel()).isTrue();
+
+        // 버퍼에 있던 종료 이벤트도 출력할 때 Level 을 다시 확인하므로, 붙잡혀 있던 시작 로그만 남는다.
+        appender.open();
+        logTrace.close();
+        assertThat(appender.messages).hasSize(1);
+    }
+
+    /**
+     * 처음 출력하는 쓰레드를 {@link #open()}까지 붙잡아 두는 Appender
+     */
+    private static final class GateAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getFormattedMessage());
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void open() {
+            gate.countDown();
+        }
+    }
+}
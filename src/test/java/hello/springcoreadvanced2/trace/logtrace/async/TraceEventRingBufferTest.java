@@ -0,0 +1,158 @@
+package hello.springcoreadvanced2.trace.logtrace.async;
+
+import hello.springcoreadvanced2.trace.TraceId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceEventRingBuffer} Test<br>
+ * - 이벤트의 level 에 생산자 번호, resultTimeMicros 에 생산자별 순번을 담아서 확인한다.
+ */
+public class TraceEventRingBufferTest {
+    private static final int PRODUCERS = 8;
+    private static final int EVENTS_PER_PRODUCER = 20_000;
+
+    private static final TraceId TRACE_ID = new TraceId();
+
+    private static TraceEvent event(int producer, long sequence) {
+        return new TraceEvent(TRACE_ID, producer, "OrderServiceV1.orderItem()", sequence, null, false);
+    }
+
+    @Test
+    @DisplayName("크기는 2의 거듭제곱으로 올림하고, 가득 차면 offer 는 false")
+    void capacity() {
+        TraceEventRingBuffer buffer = new TraceEventRingBuffer(5);
+        assertThat(buffer.capacity()).isEqualTo(8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(buffer.offer(event(0, i))).isTrue();
+        }
+        assertThat(buffer.offer(event(0, 8))).isFalse();
+        assertThat(buffer.size()).isEqualTo(8);
+
+        // 꺼낸 만큼 다시 넣을 수 있다.
+        List<TraceEvent> events = new ArrayList<>();
+        assertThat(buffer.drainTo(events, 3)).isEqualTo(3);
+        assertThat(events).extracting(TraceEvent::getResultTimeMicros).containsExactly(0L, 1L, 2L);
+        for (int i = 8; i < 11; i++) {
+            assertThat(buffer.offer(event(0, i))).isTrue();
+        }
+        assertThat(buffer.offer(event(0, 11))).isFalse();
+
+        events.clear();
+        assertThat(buffer.drainTo(events, 100)).isEqualTo(8);
+        assertThat(events).extracting(TraceEvent::getResultTimeMicros)
+                .containsExactly(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("capacity 는 2 이상")
+    void invalidCapacity() {
+        assertThatThrownBy(() -> new TraceEventRingBuffer(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("크기 안에서는 여러 생산자가 넣은 이벤트를 잃지 않는다")
+    void underCapacity() throws Exception {
+        int perProducer = 128;
+        TraceEventRingBuffer buffer = new TraceEventRingBuffer(PRODUCERS * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> rejected = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                rejected.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < perProducer; i++) {
+                        if (!buffer.offer(event(producer, i))) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : rejected) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TraceEvent> events = new ArrayList<>();
+        assertThat(buffer.drainTo(events, Integer.MAX_VALUE)).isEqualTo(PRODUCERS * perProducer);
+        assertExactlyOnceInOrder(events, perProducer);
+    }
+
+    @Test
+    @DisplayName("생산자 N, 꺼내는 쓰레드 1: 유실, 중복 없이 생산자별 순서대로 꺼낸다")
+    void multiProducerSingleConsumer() throws Exception {
+        TraceEventRingBuffer buffer = new TraceEventRingBuffer(1024);
+        int total = PRODUCERS * EVENTS_PER_PRODUCER;
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            // 가득 차면 자리가 날 때까지 다시 넣는다. (OverflowPolicy.BLOCK 과 같은 방식)
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                        while (!buffer.offer(event(producer, i))) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            }
+            Future<List<TraceEvent>> drained = executor.submit(() -> {
+                List<TraceEvent> events = new ArrayList<>(total);
+                start.await();
+                while (events.size() < total) {
+                    if (buffer.drainTo(events, 256) == 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return events;
+            });
+            start.countDown();
+
+            List<TraceEvent> events = drained.get(30, TimeUnit.SECONDS);
+            assertThat(events).hasSize(total);
+            assertExactlyOnceInOrder(events, EVENTS_PER_PRODUCER);
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 생산자마다 0 ~ perProducer - 1 순번이 빠짐없이, 한 번씩, 넣은 순서대로 있는지 확인
+     */
+    private static void assertExactlyOnceInOrder(List<TraceEvent> events, int perProducer) {
+        long[] next = new long[PRODUCERS];
+        for (TraceEvent event : events) {
+            int producer = event.getLevel();
+            assertThat(event.getResultTimeMicros()).isEqualTo(next[producer]);
+            next[producer]++;
+        }
+        for (long count : next) {
+            assertThat(count).isEqualTo(perProducer);
+        }
+    }
+}
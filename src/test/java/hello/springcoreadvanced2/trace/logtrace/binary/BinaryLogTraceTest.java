@@ -0,0 +1,191 @@
+package hello.springcoreadvanced2.trace.logtrace.binary;
+
+import hello.springcoreadvanced2.trace.TraceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link BinaryLogTrace}, {@link BinaryTraceDecoder} Test
+ */
+@Slf4j
+public class BinaryLogTraceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 이벤트를 기존 로그 모양으로 되돌린다")
+    void decode() throws Exception {
+        BinaryLogTrace logTrace = new BinaryLogTrace(new BinaryTraceWriter(directory, 64 * 1024, 2));
+
+        TraceStatus controller = logTrace.begin("OrderControllerV1.request()");
+        TraceStatus service = logTrace.begin("OrderServiceV1.orderItem()");
+        TraceStatus repository = logTrace.begin("OrderRepositoryV1.save()");
+        logTrace.end(repository);
+        logTrace.end(service);
+        TraceStatus failed = logTrace.begin("OrderServiceV1.orderItem()");
+        logTrace.exception(failed, new IllegalStateException("예외 발생!"));
+        logTrace.end(controller);
+        logTrace.close();
+
+        List<String> lines = BinaryTraceDecoder.decode(directory);
+        lines.forEach(line -> log.info("{}", line));
+
+        String id = "[" + controller.getTraceId().getId() + "] ";
+        assertThat(lines).hasSize(8);
+        assertThat(lines.get(0)).isEqualTo(id + "OrderControllerV1.request()");
+        assertThat(lines.get(1)).isEqualTo(id + "|-->OrderServiceV1.orderItem()");
+        assertThat(lines.get(2)).isEqualTo(id + "|   |-->OrderRepositoryV1.save()");
+        assertThat(lines.get(3)).matches("\\Q" + id + "|   |<--OrderRepositoryV1.save() time = [\\E\\d+\\.\\d{3}ms]");
+        assertThat(lines.get(4)).matches("\\Q" + id + "|<--OrderServiceV1.orderItem() time = [\\E\\d+\\.\\d{3}ms]");
+        assertThat(lines.get(5)).isEqualTo(id + "|-->OrderServiceV1.orderItem()");
+        assertThat(lines.get(6)).matches(
+                "\\Q" + id + "|<X-OrderServiceV1.orderItem() time = [\\E\\d+\\.\\d{3}ms] e = java.lang.IllegalStateException"
+        );
+        assertThat(lines.get(7)).matches("\\Q" + id + "OrderControllerV1.request() time = [\\E\\d+\\.\\d{3}ms]");
+        assertThat(logTrace.isFirstLevel()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Segment 가 가득 차면 다음 파일로 넘어가고, 각 Segment 는 혼자서도 해석된다")
+    void rolling() throws Exception {
+        int maxSegments = 3;
+        BinaryTraceWriter writer = new BinaryTraceWriter(directory, 1024, maxSegments);
+        BinaryLogTrace logTrace = new BinaryLogTrace(writer);
+
+        for (int i = 0; i < 200; i++) {
+            TraceStatus parent = logTrace.begin("OrderControllerV1.request()");
+            TraceStatus child = logTrace.begin("OrderServiceV1.orderItem()");
+            logTrace.end(child);
+            logTrace.end(parent);
+        }
+        logTrace.close();
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.sorted().toList();
+        }
+        assertThat(segments).hasSize(maxSegments);
+        assertThat(writer.getDroppedCount()).isZero();
+
+        for (Path segment : segments) {
+            List<String> lines = BinaryTraceDecoder.decodeSegment(segment);
+            assertThat(lines).isNotEmpty();
+            assertThat(lines).noneMatch(line -> line.contains("null"));
+        }
+    }
+
+    @Test
+    @DisplayName("여러 쓰레드가 동시에 기록해도 레코드가 섞이거나 사라지지 않는다")
+    void concurrentWrite() throws Exception {
+        int threads = 8;
+        int tracesPerThread = 2_000;
+        // 작은 Segment 로 동시에 넘어가는 경우도 만든다.
+        BinaryTraceWriter writer = new BinaryTraceWriter(directory, 16 * 1024, 10_000);
+        BinaryLogTrace logTrace = new BinaryLogTrace(writer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < tracesPerThread; i++) {
+                        TraceStatus controller = logTrace.begin("OrderControllerV1.request()");
+                        TraceStatus service = logTrace.begin("OrderServiceV1.orderItem()");
+                        logTrace.exception(service, new IllegalStateException("예외 발생!"));
+                        logTrace.end(controller);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        logTrace.close();
+        assertThat(writer.getDroppedCount()).isZero();
+
+        // Trace 마다 4줄이 순서대로 있어야 한다.
+        Map<String, List<String>> traces = new HashMap<>();
+        for (String line : BinaryTraceDecoder.decode(directory)) {
+            String id = line.substring(0, line.indexOf(']') + 1);
+            traces.computeIfAbsent(id, key -> new ArrayList<>()).add(line.substring(id.length() + 1));
+        }
+        assertThat(traces).hasSize(threads * tracesPerThread);
+        for (List<String> lines : traces.values()) {
+            assertThat(lines).hasSize(4);
+            assertThat(lines.get(0)).isEqualTo("OrderControllerV1.request()");
+            assertThat(lines.get(1)).isEqualTo("|-->OrderServiceV1.orderItem()");
+            assertThat(lines.get(2)).startsWith("|<X-OrderServiceV1.orderItem() time = [")
+                    .endsWith("e = java.lang.IllegalStateException");
+            assertThat(lines.get(3)).startsWith("OrderControllerV1.request() time = [");
+        }
+    }
+
+    @Test
+    @DisplayName("다시 시작하면 이전 실행의 마지막 Segment 다음 번호부터 기록한다")
+    void restart() throws Exception {
+        BinaryLogTrace first = new BinaryLogTrace(new BinaryTraceWriter(directory, 1024, 4));
+        for (int i = 0; i < 100; i++) {
+            first.end(first.begin("OrderControllerV1.request()"));
+        }
+        first.close();
+
+        // 이전 실행보다 적게 기록해도, 이전 실행의 Segment 를 덮어쓰거나 사이에 끼지 않는다.
+        BinaryTraceWriter writer = new BinaryTraceWriter(directory, 1024, 4);
+        BinaryLogTrace second = new BinaryLogTrace(writer);
+        for (int i = 0; i < 3; i++) {
+            second.end(second.begin("OrderServiceV1.orderItem()"));
+        }
+        second.close();
+
+        List<Long> indexes;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexes = files.map(file -> BinaryTraceFormat.segmentIndex(file.getFileName().toString()))
+                    .sorted()
+                    .toList();
+        }
+        assertThat(indexes).hasSize(4);
+        long last = indexes.get(indexes.size() - 1);
+        assertThat(writer.currentSegment().getFileName().toString()).isEqualTo(BinaryTraceFormat.segmentName(last));
+        assertThat(indexes).containsExactly(last - 3, last - 2, last - 1, last);
+
+        List<String> lines = BinaryTraceDecoder.decode(directory);
+        List<String> tail = lines.subList(lines.size() - 6, lines.size());
+        assertThat(tail).allMatch(line -> line.contains("OrderServiceV1.orderItem()"));
+        assertThat(lines.subList(0, lines.size() - 6)).allMatch(line -> line.contains("OrderControllerV1.request()"));
+    }
+
+    @Test
+    @DisplayName("Segment 번호가 5자리를 넘어도 번호 순서로 읽는다")
+    void segmentOrder() {
+        assertThat(BinaryTraceFormat.segmentName(3)).isEqualTo("trace-00003.seg");
+        assertThat(BinaryTraceFormat.segmentName(100_000)).isEqualTo("trace-100000.seg");
+        assertThat(BinaryTraceFormat.segmentIndex("trace-100000.seg")).isEqualTo(100_000);
+        assertThat(BinaryTraceFormat.segmentIndex("trace-99999.seg")).isEqualTo(99_999);
+        assertThat(BinaryTraceFormat.segmentIndex("trace-.seg")).isEqualTo(-1);
+        assertThat(BinaryTraceFormat.segmentIndex("other.seg")).isEqualTo(-1);
+    }
+}
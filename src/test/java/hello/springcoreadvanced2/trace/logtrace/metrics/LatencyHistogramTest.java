@@ -0,0 +1,188 @@
+package hello.springcoreadvanced2.trace.logtrace.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LatencyHistogram} Test<br>
+ * - 조회값은 값이 속한 칸의 최대값이므로, 실제값 이상이고 실제값 * (1 + 1/32) 이하이다.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * 실제값 v 에 대해 허용되는 조회값 범위 [v, v + v/32]
+     */
+    private static void assertWithinError(long actual, long expected) {
+        assertThat(actual).isBetween(expected, expected + expected / 32);
+    }
+
+    @Test
+    @DisplayName("칸 경계: 0 ~ 31 은 그대로, 이후 칸은 빈틈없이 이어진다")
+    void bucketBoundaries() {
+        for (int value = 0; value < 32; value++) {
+            assertThat(LatencyHistogram.indexOf(value)).isEqualTo(value);
+            assertThat(LatencyHistogram.highestValueOf(value)).isEqualTo(value);
+        }
+
+        // 32 ~ 63 은 1 간격, 64 ~ 127 은 2 간격
+        assertThat(LatencyHistogram.indexOf(32)).isEqualTo(32);
+        assertThat(LatencyHistogram.indexOf(63)).isEqualTo(63);
+        assertThat(LatencyHistogram.indexOf(64)).isEqualTo(64);
+        assertThat(LatencyHistogram.indexOf(65)).isEqualTo(64);
+        assertThat(LatencyHistogram.highestValueOf(64)).isEqualTo(65);
+        assertThat(LatencyHistogram.indexOf(66)).isEqualTo(65);
+
+        // 칸 i 의 최대값 + 1 은 항상 칸 i + 1 의 첫 값이다.
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT - 1; i++) {
+            long highest = LatencyHistogram.highestValueOf(i);
+            assertThat(LatencyHistogram.indexOf(highest)).isEqualTo(i);
+            assertThat(LatencyHistogram.indexOf(highest + 1)).isEqualTo(i + 1);
+        }
+        assertThat(LatencyHistogram.highestValueOf(LatencyHistogram.BUCKET_COUNT - 1))
+                .isEqualTo(LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("칸의 최대값은 실제값보다 1/32 이상 크지 않다")
+    void relativeError() {
+        for (long value = 1; value <= LatencyHistogram.MAX_VALUE; value = value * 3 + 1) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+            assertWithinError(highest, value);
+        }
+    }
+
+    @Test
+    @DisplayName("기록이 없으면 모두 0")
+    void empty() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getP50()).isZero();
+        assertThat(snapshot.getP99()).isZero();
+        assertThat(snapshot.getP999()).isZero();
+        assertThat(snapshot.getMax()).isZero();
+    }
+
+    @Test
+    @DisplayName("모두 같은 값: 백분위수는 max 를 넘지 않으므로 정확하다")
+    void constant() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(1000);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getP50()).isEqualTo(1000);
+        assertThat(snapshot.getP99()).isEqualTo(1000);
+        assertThat(snapshot.getP999()).isEqualTo(1000);
+        assertThat(snapshot.getMax()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("균등 분포 1 ~ 10000: 백분위수는 허용 오차 안에 있다")
+    void uniform() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertWithinError(snapshot.getP50(), 5_000);
+        assertWithinError(snapshot.getP99(), 9_900);
+        assertWithinError(snapshot.getP999(), 9_990);
+        assertThat(snapshot.getMax()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("튀는 값 하나: 비율이 작으면 백분위수에 나타나지 않고 max 에만 나타난다")
+    void outlier() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 1999; i++) {
+            histogram.record(100);
+        }
+        histogram.record(1_000_000);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(2000);
+        assertWithinError(snapshot.getP50(), 100);
+        assertWithinError(snapshot.getP99(), 100);
+        assertWithinError(snapshot.getP999(), 100);
+        assertThat(snapshot.getMax()).isEqualTo(1_000_000);
+    }
+
+    @Test
+    @DisplayName("튀는 값 하나: 비율이 크면 백분위수에 나타나고, max 로 잘린다")
+    void outlierAboveRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 9; i++) {
+            histogram.record(100);
+        }
+        histogram.record(1_000_000);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertWithinError(snapshot.getP50(), 100);
+        assertThat(snapshot.getP99()).isEqualTo(1_000_000);
+        assertThat(snapshot.getP999()).isEqualTo(1_000_000);
+        assertThat(snapshot.getMax()).isEqualTo(1_000_000);
+    }
+
+    @Test
+    @DisplayName("범위 밖의 값: 음수는 0, 최대값을 넘으면 최대값으로 기록한다")
+    void clamp() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getP50()).isZero();
+        assertThat(snapshot.getMax()).isEqualTo(LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("여러 쓰레드가 다른 stripe 에 기록해도 조회할 때 모두 합친다")
+    void mergeStripes() throws Exception {
+        int threads = LatencyHistogram.STRIPE_COUNT * 2;
+        int perThread = 10_000;
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                // 쓰레드마다 다른 값, 가장 큰 값은 마지막 쓰레드의 값
+                long value = (t + 1) * 100L;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        histogram.record(value);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo((long) threads * perThread);
+        assertWithinError(snapshot.getP50(), (threads / 2) * 100L);
+        assertThat(snapshot.getMax()).isEqualTo(threads * 100L);
+    }
+}
@@ -0,0 +1,74 @@
+package hello.springcoreadvanced2.trace.logtrace.metrics;
+
+import hello.springcoreadvanced2.trace.TraceStatus;
+import hello.springcoreadvanced2.trace.logtrace.LogTrace;
+import hello.springcoreadvanced2.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MetricsLogTrace} Test
+ */
+public class MetricsLogTraceTest {
+
+    /**
+     * 받은 status 를 기록만 하는 {@link LogTrace}
+     */
+    private static final class RecordingLogTrace implements LogTrace {
+        private final List<TraceStatus> completed = new ArrayList<>();
+
+        @Override
+        public TraceStatus begin(String message) {
+            return null;
+        }
+
+        @Override
+        public void end(TraceStatus status) {
+            completed.add(status);
+        }
+
+        @Override
+        public void exception(TraceStatus status, Exception e) {
+            completed.add(status);
+        }
+
+        @Override
+        public boolean isFirstLevel() {
+            return true;
+        }
+    }
+
+    @Test
+    @DisplayName("end, exception, endAsync 모두 걸린 시간을 메시지별로 기록한다")
+    void record() {
+        MetricsLogTrace logTrace = new MetricsLogTrace(new ThreadLocalLogTrace());
+
+        logTrace.end(logTrace.begin("OrderServiceV1.orderItem()"));
+        logTrace.exception(logTrace.begin("OrderServiceV1.orderItem()"), new IllegalStateException("예외 발생!"));
+        logTrace.endAsync(logTrace.begin("OrderRepositoryV1.save()"), CompletableFuture.completedFuture(null)).join();
+
+        assertThat(logTrace.snapshot()).containsOnlyKeys("OrderRepositoryV1.save()", "OrderServiceV1.orderItem()");
+        assertThat(logTrace.snapshot().get("OrderServiceV1.orderItem()").getCount()).isEqualTo(2);
+        assertThat(logTrace.snapshot().get("OrderRepositoryV1.save()").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("status 가 null 이면 end, exception, endAsync 모두 기록하지 않고 target 에 넘긴다")
+    void nullStatus() {
+        RecordingLogTrace target = new RecordingLogTrace();
+        MetricsLogTrace logTrace = new MetricsLogTrace(target);
+
+        logTrace.end(null);
+        logTrace.exception(null, new IllegalStateException("예외 발생!"));
+        logTrace.endAsync(null, CompletableFuture.completedFuture(null)).join();
+
+        assertThat(target.completed).containsExactly(null, null, null);
+        assertThat(logTrace.snapshot()).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package hello.springcoreadvanced2.trace.logtrace.sampling;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springcoreadvanced2.trace.TraceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SamplingLogTrace} Test
+ */
+public class SamplingLogTraceTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SamplingLogTrace.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void beforeEach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+    }
+
+    private static void request(SamplingLogTrace logTrace, Exception e) {
+        TraceStatus controller = logTrace.begin("OrderControllerV1.request()");
+        TraceStatus service = logTrace.begin("OrderServiceV1.orderItem()");
+        logTrace.end(service);
+        if (e == null) {
+            logTrace.end(controller);
+        } else {
+            logTrace.exception(controller, e);
+        }
+    }
+
+    @Test
+    @DisplayName("HEAD: 최상위 호출에서 정한 결과를 하위 호출이 따른다")
+    void head() {
+        request(new SamplingLogTrace(SamplingMode.HEAD, 1.0, 0), null);
+        assertThat(appender.list).hasSize(4);
+
+        appender.list.clear();
+        SamplingLogTrace none = new SamplingLogTrace(SamplingMode.HEAD, 0.0, 0);
+        TraceStatus controller = none.begin("OrderControllerV1.request()");
+        TraceStatus service = none.begin("OrderServiceV1.orderItem()");
+        assertThat(controller).isSameAs(TraceStatus.NOT_SAMPLED);
+        assertThat(service).isSameAs(TraceStatus.NOT_SAMPLED);
+        assertThat(none.isFirstLevel()).isFalse();
+        none.end(service);
+        none.end(controller);
+
+        assertThat(none.isFirstLevel()).isTrue();
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("HEAD: 기록하지 않는 호출은 객체를 만들지 않는다")
+    void headNoAllocation() {
+        SamplingLogTrace logTrace = new SamplingLogTrace(SamplingMode.HEAD, 0.0, 0);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // JIT 최적화 전 할당을 제외하기 위해 먼저 충분히 실행한다.
+        for (int i = 0; i < 200_000; i++) {
+            request(logTrace, null);
+        }
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            request(logTrace, null);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        // 측정 자체가 만드는 약간의 객체만 허용한다. (호출당 1 byte 미만)
+        assertThat(allocated).isLessThan(100_000);
+    }
+
+    @Test
+    @DisplayName("TAIL: 빠르게 정상 종료된 Trace 는 출력하지 않는다")
+    void tailFast() {
+        SamplingLogTrace logTrace = new SamplingLogTrace(SamplingMode.TAIL, 0.0, 60_000);
+        request(logTrace, null);
+
+        assertThat(logTrace.isFirstLevel()).isTrue();
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TAIL: 예외로 끝난 Trace 는 전체를 출력한다")
+    void tailException() {
+        SamplingLogTrace logTrace = new SamplingLogTrace(SamplingMode.TAIL, 0.0, 60_000);
+        request(logTrace, new IllegalStateException("예외 발생!"));
+
+        assertThat(appender.list).hasSize(4);
+        assertThat(appender.list.get(0).getFormattedMessage()).endsWith("] OrderControllerV1.request()");
+        assertThat(appender.list.get(1).getFormattedMessage()).endsWith("] |-->OrderServiceV1.orderItem()");
+        assertThat(appender.list.get(3).getFormattedMessage()).contains("e = java.lang.IllegalStateException");
+    }
+
+    @Test
+    @DisplayName("TAIL: 느린 Trace 는 전체를 출력한다")
+    void tailSlow() {
+        SamplingLogTrace logTrace = new SamplingLogTrace(SamplingMode.TAIL, 0.0, 0);
+        request(logTrace, null);
+
+        assertThat(appender.list).hasSize(4);
+    }
+}
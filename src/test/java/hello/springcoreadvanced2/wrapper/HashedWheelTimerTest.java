@@ -0,0 +1,82 @@
+package hello.springcoreadvanced2.wrapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedWheelTimerTest {
+
+    @Test
+    @DisplayName("테스트 시계: 움직인 만큼만 만료된다, 한 바퀴보다 먼 예약도 제 시간에 만료된다")
+    void manual() throws Exception {
+        // tick 10ms, 8칸 -> 한 바퀴 80ms
+        try (HashedWheelTimer timer = HashedWheelTimer.manual(10, 8)) {
+            CompletableFuture<Void> first = timer.newTimeout(5);
+            CompletableFuture<Void> second = timer.newTimeout(30);
+            CompletableFuture<Void> third = timer.newTimeout(100);
+            CompletableFuture<Void> fourth = timer.newTimeout(1000);
+
+            timer.advance(9);
+            assertThat(first).isNotDone();
+            timer.advance(1);
+            assertThat(first).isCompleted();
+            assertThat(second).isNotDone();
+
+            timer.advance(20);
+            assertThat(second).isCompleted();
+
+            timer.advance(60);
+            assertThat(third).isNotDone();
+            timer.advance(10);
+            assertThat(third).isCompleted();
+
+            timer.advance(899);
+            assertThat(fourth).isNotDone();
+            timer.advance(1);
+            assertThat(fourth).isCompleted();
+            assertThat(timer.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("실제 시간: 예약한 시간이 지나면 타이머 쓰레드가 완료한다")
+    void realTime() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, 64)) {
+            long start = System.nanoTime();
+            timer.newTimeout(50).get(5, TimeUnit.SECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(elapsedMillis).isBetween(50L, 1000L);
+        }
+    }
+
+    @Test
+    @DisplayName("취소한 예약은 건너뛰고, 닫으면 남은 예약을 취소한다")
+    void cancelAndClose() throws Exception {
+        HashedWheelTimer timer = HashedWheelTimer.manual(1, 16);
+        CompletableFuture<Void> cancelled = timer.newTimeout(10);
+        CompletableFuture<Void> remaining = timer.newTimeout(100);
+        cancelled.cancel(false);
+
+        timer.advance(10);
+        assertThat(timer.getPendingCount()).isEqualTo(1);
+
+        timer.close();
+        assertThat(remaining).isCancelled();
+        assertThat(timer.getPendingCount()).isZero();
+        assertThatThrownBy(() -> timer.newTimeout(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("실제 시간 타이머는 advance 를 사용할 수 없다")
+    void advanceRealTime() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, 64)) {
+            assertThatThrownBy(() -> timer.advance(10)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package hello.springcoreadvanced2.wrapper;
+
+import hello.springcoreadvanced2.app.v3.OrderRepositoryV3;
+import hello.springcoreadvanced2.app.v3.OrderServiceV3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SleepWrapperTest {
+
+    @AfterEach
+    void tearDown() {
+        SleepWrapper.reset();
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("interrupt 되면 바로 돌아가고 interrupt 상태를 유지한다")
+    void interrupt() {
+        Thread.currentThread().interrupt();
+
+        long start = System.nanoTime();
+        SleepWrapper.sleep(1000);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("테스트 시계: 초당 10건씩 1시간 동안의 비동기 주문을 바로 처리한다")
+    void testClockAsync() {
+        HashedWheelTimer clock = SleepWrapper.useTestClock();
+        OrderServiceV3 orderService = new OrderServiceV3(new OrderRepositoryV3());
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> orders = new ArrayList<>();
+        for (int second = 0; second < 3600; second++) {
+            for (int i = 0; i < 10; i++) {
+                orders.add(orderService.orderItemAsync("item" + i));
+            }
+            clock.advance(1000);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(orders).allSatisfy(order -> assertThat(order).isCompleted());
+        assertThat(clock.getPendingCount()).isZero();
+        assertThat(elapsedMillis).isLessThan(10_000);
+    }
+
+    @Test
+    @DisplayName("테스트 시계: 블로킹 sleep 도 시계가 움직일 때까지만 기다린다")
+    void testClockBlocking() throws Exception {
+        HashedWheelTimer clock = SleepWrapper.useTestClock();
+        AtomicInteger completed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                // 쓰레드마다 100초
+                for (int i = 0; i < 100; i++) {
+                    SleepWrapper.sleep(1000);
+                    completed.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long start = System.nanoTime();
+        while (completed.get() < 800 && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 30) {
+            clock.advance(100);
+            Thread.onSpinWait();
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        assertThat(completed.get()).isEqualTo(800);
+    }
+
+    @Test
+    @DisplayName("reset 하면 남은 테스트 시계 대기는 취소된다")
+    void resetCancels() {
+        SleepWrapper.useTestClock();
+        CompletableFuture<Void> future = SleepWrapper.sleepAsync(1000);
+
+        SleepWrapper.reset();
+
+        assertThat(future).isCancelled();
+    }
+}
@@ -0,0 +1,212 @@
+package hello.springcoreadvanced2.writebehind;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindBufferTest {
+
+    @Test
+    @DisplayName("batchSize 만큼 모아서 한 번에 쓴다")
+    void batch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        try (WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 100, 10, 1000, items -> {
+            batches.add(List.copyOf(items));
+            await(release);
+        })) {
+            // 첫 배치를 쓰는 동안 나머지가 큐에 쌓인다.
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            futures.add(buffer.submit(0));
+            while (batches.isEmpty()) {
+                Thread.onSpinWait();
+            }
+            for (int i = 1; i <= 30; i++) {
+                futures.add(buffer.submit(i));
+            }
+            release.countDown();
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(batches).hasSize(4);
+        assertThat(batches.get(0)).containsExactly(0);
+        assertThat(batches.subList(1, 4)).allSatisfy(batch -> assertThat(batch).hasSize(10));
+    }
+
+    @Test
+    @DisplayName("배치가 덜 차도 linger 가 지나면 쓴다")
+    void linger() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        try (WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 100, 10, 20, batches::add)) {
+            long start = System.nanoTime();
+            buffer.submit(1);
+            buffer.submit(2).get(5, TimeUnit.SECONDS);
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        }
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 바로 RejectedExecutionException")
+    void bounded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        try (WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 2, 1, 0, items -> {
+            writing.countDown();
+            await(release);
+        })) {
+            buffer.submit(0);
+            writing.await(5, TimeUnit.SECONDS);
+            buffer.submit(1);
+            buffer.submit(2);
+
+            assertThatThrownBy(() -> buffer.submit(3)).isInstanceOf(RejectedExecutionException.class);
+            assertThat(buffer.getPendingCount()).isEqualTo(2);
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("배치 쓰기가 실패하면 배치의 모든 Future 가 실패한다")
+    void failure() throws Exception {
+        try (WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 10, 10, 50, items -> {
+            throw new IllegalStateException("저장 실패");
+        })) {
+            CompletableFuture<Void> first = buffer.submit(1);
+            CompletableFuture<Void> second = buffer.submit(2);
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("배치 쓰기가 Error 를 던져도 배치의 Future 가 실패하고, 다음 배치는 계속 쓴다")
+    void error() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        try (WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 10, 1, 0, items -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new AssertionError("저장 실패");
+            }
+        })) {
+            CompletableFuture<Void> failed = buffer.submit(1);
+            assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(AssertionError.class);
+
+            buffer.submit(2).get(5, TimeUnit.SECONDS);
+        }
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("flushers 만큼 배치를 동시에 쓴다")
+    void flushers() throws Exception {
+        int flushers = 3;
+        CountDownLatch writing = new CountDownLatch(flushers);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        try (WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 100, 1, 0, flushers, items -> {
+            threads.add(Thread.currentThread().getName());
+            writing.countDown();
+            await(release);
+        })) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < flushers; i++) {
+                futures.add(buffer.submit(i));
+            }
+
+            // 쓰레드마다 배치 하나씩, 모두 쓰는 중
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        }
+        assertThat(threads).containsExactlyInAnyOrder("test-0", "test-1", "test-2");
+    }
+
+    @Test
+    @DisplayName("닫으면 남은 항목을 모두 쓰고, 새 항목은 받지 않는다")
+    void close() throws Exception {
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 1000, 7, 1000, 2, written::addAll);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(buffer.submit(i));
+        }
+
+        buffer.close();
+
+        assertThat(written).hasSize(100);
+        assertThat(futures).allSatisfy(future -> assertThat(future).isCompleted());
+        assertThatThrownBy(() -> buffer.submit(100)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("닫는 중에 넣은 항목도 쓰이거나 IllegalStateException, 완료되지 않는 Future 는 없다")
+    void submitWhileClosing() throws Exception {
+        // close() 는 쓰레드가 멈출 때까지 최대 100ms 기다리므로, 횟수를 줄이고 넣는 쓰레드를 늘린다.
+        for (int round = 0; round < 50; round++) {
+            WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test", 1000, 10, 0, items -> {
+            });
+            List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Thread submitter = new Thread(() -> {
+                    await(start);
+                    List<CompletableFuture<Void>> submitted = new ArrayList<>();
+                    try {
+                        while (true) {
+                            try {
+                                submitted.add(buffer.submit(0));
+                            } catch (RejectedExecutionException e) {
+                                Thread.onSpinWait();
+                            }
+                        }
+                    } catch (IllegalStateException e) {
+                        futures.addAll(submitted);
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+
+            start.countDown();
+            buffer.close();
+            for (Thread submitter : submitters) {
+                submitter.join(5000);
+                assertThat(submitter.isAlive()).isFalse();
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            assertThat(buffer.getPendingCount()).isZero();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package hello.springcoreadvanced2.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * <code>@GenerateTraceProxies</code> 어노테이션 프로세서<br>
+ * - 지정한 인터페이스/구체 클래스마다 LogTrace 프록시 소스를 생성한다.<br>
+ * - 생성된 프록시는 손으로 작성한 v1 프록시와 같은 모양이다. (begin -> target 직접 호출 -> end, 예외 시 exception)
+ * <p>
+ * 이 모듈은 애플리케이션 클래스를 참조하지 않으므로, 어노테이션과 타입은 이름으로 찾는다.
+ */
+@SupportedAnnotationTypes(TraceProxyProcessor.ANNOTATION)
+public class TraceProxyProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies";
+    private static final String LOG_TRACE = "hello.springcoreadvanced2.trace.logtrace.LogTrace";
+    private static final String TRACE_STATUS = "hello.springcoreadvanced2.trace.TraceStatus";
+    private static final String SUFFIX = "TraceProxy";
+
+    /**
+     * 이미 생성한 프록시 이름, 같은 프록시를 두 번 만들지 않는다.
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element config : roundEnv.getElementsAnnotatedWith(annotation)) {
+                AnnotationMirror mirror = findAnnotation(config);
+                if (mirror == null) {
+                    continue;
+                }
+                String packageName = processingEnv.getElementUtils().getPackageOf(config).getQualifiedName().toString();
+                List<String> patterns = stringValues(mirror, "patterns");
+                for (TypeElement type : typeValues(mirror, "value")) {
+                    generate(config, packageName, type, patterns);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 프록시 소스 하나 생성
+     *
+     * @param config      어노테이션이 붙은 설정 클래스
+     * @param packageName 프록시를 만들 패키지
+     * @param type        프록시 대상
+     * @param patterns    로그를 남길 메서드 이름 패턴
+     */
+    private void generate(Element config, String packageName, TypeElement type, List<String> patterns) {
+        Messager messager = processingEnv.getMessager();
+        String proxyName = type.getSimpleName() + SUFFIX;
+        String qualifiedName = packageName + "." + proxyName;
+        if (!generated.add(qualifiedName)) {
+            return;
+        }
+
+        boolean isInterface = type.getKind() == ElementKind.INTERFACE;
+        if (!isInterface && type.getKind() != ElementKind.CLASS) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "인터페이스나 클래스만 프록시를 만들 수 있습니다: " + type, config);
+            return;
+        }
+        if (type.getModifiers().contains(Modifier.FINAL)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "final 클래스는 상속할 수 없습니다: " + type, config);
+            return;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "제네릭 타입은 지원하지 않습니다: " + type, config);
+            return;
+        }
+
+        StringBuilder source = new StringBuilder();
+        String typeName = type.getQualifiedName().toString();
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("/**\n")
+                .append(" * {@link ").append(typeName).append("} LogTrace Proxy<br>\n")
+                .append(" * - 자동 생성: {@link hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies}\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public class ").append(proxyName)
+                .append(isInterface ? " implements " : " extends ").append(typeName).append(" {\n\n")
+                .append("    private final ").append(typeName).append(" target;\n")
+                .append("    private final ").append(LOG_TRACE).append(" logTrace;\n\n")
+                .append("    public ").append(proxyName).append("(")
+                .append(typeName).append(" target, ").append(LOG_TRACE).append(" logTrace) {\n");
+        if (!isInterface) {
+            String superCall = superConstructorCall(type);
+            if (superCall == null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "호출할 수 있는 생성자가 없습니다: " + type, config);
+                return;
+            }
+            source.append("        ").append(superCall).append("\n");
+        }
+        source.append("        this.target = target;\n")
+                .append("        this.logTrace = logTrace;\n")
+                .append("    }\n");
+
+        Elements elements = processingEnv.getElementUtils();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!overridable(method, isInterface)) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            boolean traced = patterns.stream().anyMatch(pattern -> simpleMatch(pattern, name));
+            source.append("\n");
+            appendMethod(source, method, traced);
+        }
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, config, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "프록시를 생성하지 못했습니다: " + qualifiedName + ", " + e, config);
+        }
+    }
+
+    /**
+     * 재정의할 메서드인지 확인<br>
+     * - {@link Object}의 메서드, static, private, final 메서드는 제외<br>
+     * - 구체 클래스는 다른 패키지에서 재정의할 수 있는 public, protected 메서드만
+     */
+    private boolean overridable(ExecutableElement method, boolean isInterface) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.PRIVATE)
+                || modifiers.contains(Modifier.FINAL)) {
+            return false;
+        }
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+        if (owner.getQualifiedName().contentEquals("java.lang.Object")) {
+            return false;
+        }
+        return isInterface
+                || modifiers.contains(Modifier.PUBLIC)
+                || modifiers.contains(Modifier.PROTECTED);
+    }
+
+    private void appendMethod(StringBuilder source, ExecutableElement method, boolean traced) {
+        String name = method.getSimpleName().toString();
+        TypeMirror returnType = method.getReturnType();
+        boolean isVoid = returnType.getKind() == TypeKind.VOID;
+        List<String> parameterNames = method.getParameters().stream()
+                .map(parameter -> parameter.getSimpleName().toString())
+                .toList();
+        String status = freshName("status", parameterNames);
+        String result = freshName("result", parameterNames);
+        String exception = freshName("e", parameterNames);
+        String call = "target." + name + "(" + String.join(", ", parameterNames) + ")";
+
+        source.append("    @Override\n")
+                .append("    ").append(method.getModifiers().contains(Modifier.PROTECTED) ? "protected " : "public ")
+                .append(typeParameters(method))
+                .append(returnType).append(" ").append(name).append("(")
+                .append(parameters(method)).append(")")
+                .append(thrownTypes(method)).append(" {\n");
+
+        if (!traced) {
+            source.append("        ").append(isVoid ? "" : "return ").append(call).append(";\n")
+                    .append("    }\n");
+            return;
+        }
+
+        String message = method.getEnclosingElement().getSimpleName() + "." + name + "()";
+        source.append("        ").append(TRACE_STATUS).append(" ").append(status).append(" = null;\n\n")
+                .append("        try {\n")
+                .append("            ").append(status).append(" = logTrace.begin(\"").append(message).append("\");\n\n");
+        if (isVoid) {
+            source.append("            ").append(call).append(";\n\n")
+                    .append("            logTrace.end(").append(status).append(");\n");
+        } else {
+            source.append("            ").append(returnType).append(" ").append(result).append(" = ").append(call).append(";\n\n")
+                    .append("            logTrace.end(").append(status).append(");\n")
+                    .append("            return ").append(result).append(";\n");
+        }
+        source.append("        } catch (Exception ").append(exception).append(") {\n")
+                .append("            logTrace.exception(").append(status).append(", ").append(exception).append(");\n")
+                .append("            throw ").append(exception).append(";\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    private static String typeParameters(ExecutableElement method) {
+        if (method.getTypeParameters().isEmpty()) {
+            return "";
+        }
+        return method.getTypeParameters().stream()
+                .map(parameter -> {
+                    List<String> bounds = parameter.getBounds().stream()
+                            .map(TypeMirror::toString)
+                            .filter(bound -> !bound.equals("java.lang.Object"))
+                            .toList();
+                    return bounds.isEmpty()
+                            ? parameter.getSimpleName().toString()
+                            : parameter.getSimpleName() + " extends " + String.join(" & ", bounds);
+                })
+                .collect(Collectors.joining(", ", "<", "> "));
+    }
+
+    private static String parameters(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            TypeMirror type = parameter.asType();
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (method.isVarArgs() && i == parameters.size() - 1 && type.getKind() == TypeKind.ARRAY) {
+                sb.append(((ArrayType) type).getComponentType()).append("...");
+            } else {
+                sb.append(type);
+            }
+            sb.append(" ").append(parameter.getSimpleName());
+        }
+        return sb.toString();
+    }
+
+    private static String thrownTypes(ExecutableElement method) {
+        if (method.getThrownTypes().isEmpty()) {
+            return "";
+        }
+        return method.getThrownTypes().stream()
+                .map(TypeMirror::toString)
+                .collect(Collectors.joining(", ", " throws ", ""));
+    }
+
+    /**
+     * 구체 클래스 프록시의 super(...) 호출<br>
+     * - 인자가 가장 적은 public, protected 생성자를 null, 0, false 로 호출한다. (target 에 위임하므로 사용하지 않는다.)
+     *
+     * @return 호출할 수 있는 생성자가 없으면 null
+     */
+    private static String superConstructorCall(TypeElement type) {
+        return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC)
+                        || constructor.getModifiers().contains(Modifier.PROTECTED))
+                .min(Comparator.comparingInt(constructor -> constructor.getParameters().size()))
+                .map(constructor -> constructor.getParameters().stream()
+                        .map(parameter -> "(" + parameter.asType() + ") " + defaultValue(parameter.asType()))
+                        .collect(Collectors.joining(", ", "super(", ");")))
+                .orElse(null);
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case CHAR -> "'\\0'";
+            case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "0";
+            default -> "null";
+        };
+    }
+
+    /**
+     * 파라미터 이름과 겹치지 않는 지역 변수 이름
+     */
+    private static String freshName(String name, List<String> parameterNames) {
+        String candidate = name;
+        while (parameterNames.contains(candidate)) {
+            candidate = "_" + candidate;
+        }
+        return candidate;
+    }
+
+    /**
+     * <code>*</code>만 지원하는 단순 패턴 매칭, 예) "order*", "*Item", "*"
+     */
+    static boolean simpleMatch(String pattern, String name) {
+        int star = pattern.indexOf('*');
+        if (star < 0) {
+            return pattern.equals(name);
+        }
+        String head = pattern.substring(0, star);
+        if (!name.startsWith(head)) {
+            return false;
+        }
+        String rest = name.substring(head.length());
+        String tailPattern = pattern.substring(star + 1);
+        if (tailPattern.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i <= rest.length(); i++) {
+            if (simpleMatch(tailPattern, rest.substring(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror findAnnotation(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(ANNOTATION)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationValue value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TypeElement> typeValues(AnnotationMirror mirror, String name) {
+        AnnotationValue value = value(mirror, name);
+        if (value == null) {
+            return List.of();
+        }
+        List<TypeElement> types = new ArrayList<>();
+        for (AnnotationValue item : (List<? extends AnnotationValue>) value.getValue()) {
+            types.add((TypeElement) ((DeclaredType) item.getValue()).asElement());
+        }
+        return types;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> stringValues(AnnotationMirror mirror, String name) {
+        AnnotationValue value = value(mirror, name);
+        if (value == null) {
+            return List.of();
+        }
+        List<String> strings = new ArrayList<>();
+        for (AnnotationValue item : (List<? extends AnnotationValue>) value.getValue()) {
+            strings.add((String) item.getValue());
+        }
+        return strings;
+    }
+}
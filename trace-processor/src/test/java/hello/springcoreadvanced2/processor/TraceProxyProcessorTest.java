@@ -0,0 +1,482 @@
+package hello.springcoreadvanced2.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceProxyProcessor} Test<br>
+ * - fixture 소스를 javax.tools 로 컴파일하면서 프로세서를 실행한다.<br>
+ * - 생성된 소스를 확인하고, 컴파일된 프록시를 기록용 LogTrace 로 호출해서 동작을 확인한다.
+ * <p>
+ * 프로세서는 애플리케이션 클래스를 이름으로 찾으므로, 어노테이션, LogTrace, TraceStatus 는 같은 이름의 stub 을 사용한다.
+ */
+public class TraceProxyProcessorTest {
+    private static final String ANNOTATION_STUB = """
+            package hello.springcoreadvanced2.trace.proxy;
+
+            public @interface GenerateTraceProxies {
+                Class<?>[] value();
+
+                String[] patterns() default {"*"};
+            }
+            """;
+    private static final String TRACE_STATUS_STUB = """
+            package hello.springcoreadvanced2.trace;
+
+            public class TraceStatus {
+            }
+            """;
+    private static final String LOG_TRACE_STUB = """
+            package hello.springcoreadvanced2.trace.logtrace;
+
+            import hello.springcoreadvanced2.trace.TraceStatus;
+
+            public interface LogTrace {
+                TraceStatus begin(String message);
+
+                void end(TraceStatus status);
+
+                void exception(TraceStatus status, Exception e);
+            }
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("simpleMatch: * 는 0개 이상의 아무 문자")
+    void simpleMatch() {
+        assertThat(TraceProxyProcessor.simpleMatch("request", "request")).isTrue();
+        assertThat(TraceProxyProcessor.simpleMatch("request", "requestAll")).isFalse();
+        assertThat(TraceProxyProcessor.simpleMatch("order*", "orderItem")).isTrue();
+        assertThat(TraceProxyProcessor.simpleMatch("order*", "order")).isTrue();
+        assertThat(TraceProxyProcessor.simpleMatch("order*", "noLog")).isFalse();
+        assertThat(TraceProxyProcessor.simpleMatch("*Item", "orderItem")).isTrue();
+        assertThat(TraceProxyProcessor.simpleMatch("*Item", "orderItems")).isFalse();
+        assertThat(TraceProxyProcessor.simpleMatch("*", "noLog")).isTrue();
+        assertThat(TraceProxyProcessor.simpleMatch("s*v*e", "save")).isTrue();
+        assertThat(TraceProxyProcessor.simpleMatch("s*v*e", "saveAll")).isFalse();
+    }
+
+    @Test
+    @DisplayName("인터페이스: 패턴과 일치하는 메서드만 begin -> target -> end, 나머지는 target 만 호출")
+    void interfaceProxy() throws Throwable {
+        Compilation compilation = compile(
+                source("fixture.Service", """
+                        package fixture;
+
+                        public interface Service {
+                            String request(String itemId);
+
+                            String noLog();
+                        }
+                        """),
+                source("fixture.ServiceImpl", """
+                        package fixture;
+
+                        public class ServiceImpl implements Service {
+                            @Override
+                            public String request(String itemId) {
+                                if (itemId.equals("ex")) {
+                                    throw new IllegalStateException("예외 발생!");
+                                }
+                                return itemId;
+                            }
+
+                            @Override
+                            public String noLog() {
+                                return "noLog ok";
+                            }
+                        }
+                        """),
+                source("fixture.Config", """
+                        package fixture;
+
+                        @hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies(
+                                value = Service.class,
+                                patterns = {"request*", "order*", "save*"}
+                        )
+                        public class Config {
+                        }
+                        """)
+        );
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedSource("fixture.ServiceTraceProxy"))
+                .contains("public class ServiceTraceProxy implements fixture.Service {")
+                .contains("public ServiceTraceProxy(fixture.Service target, hello.springcoreadvanced2.trace.logtrace.LogTrace logTrace) {")
+                .contains("status = logTrace.begin(\"Service.request()\");")
+                .contains("public java.lang.String noLog() {\n        return target.noLog();\n    }");
+
+        RecordingLogTrace logTrace = new RecordingLogTrace(compilation);
+        Object proxy = compilation.newProxy("fixture.ServiceTraceProxy", "fixture.Service",
+                compilation.loadClass("fixture.ServiceImpl").getConstructor().newInstance(), logTrace);
+
+        assertThat(compilation.call(proxy, "request", "item")).isEqualTo("item");
+        assertThat(logTrace.calls).containsExactly("begin Service.request()", "end");
+
+        logTrace.calls.clear();
+        assertThat(compilation.call(proxy, "noLog")).isEqualTo("noLog ok");
+        assertThat(logTrace.calls).isEmpty();
+
+        assertThatThrownBy(() -> compilation.call(proxy, "request", "ex"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("예외 발생!");
+        assertThat(logTrace.calls).containsExactly("begin Service.request()", "exception 예외 발생!");
+    }
+
+    @Test
+    @DisplayName("varargs, 제네릭 메서드, throws 를 그대로 옮긴다")
+    void signatures() throws Throwable {
+        Compilation compilation = compile(
+                source("fixture.Signatures", """
+                        package fixture;
+
+                        import java.util.List;
+
+                        public interface Signatures {
+                            int save(String... items);
+
+                            <T extends Comparable<T>> List<T> sort(List<T> items);
+
+                            void load(String path) throws java.io.IOException;
+                        }
+                        """),
+                source("fixture.Config", """
+                        package fixture;
+
+                        @hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies(Signatures.class)
+                        public class Config {
+                        }
+                        """)
+        );
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedSource("fixture.SignaturesTraceProxy"))
+                .contains("public int save(java.lang.String... items) {")
+                .contains("int result = target.save(items);")
+                .contains("public <T extends java.lang.Comparable<T>> java.util.List<T> sort(java.util.List<T> items) {")
+                .contains("public void load(java.lang.String path) throws java.io.IOException {");
+    }
+
+    @Test
+    @DisplayName("파라미터 이름이 지역 변수 이름과 겹치면 _ 를 붙인다")
+    void freshName() throws Throwable {
+        Compilation compilation = compile(
+                source("fixture.Names", """
+                        package fixture;
+
+                        public interface Names {
+                            String request(String status, String result, String e);
+                        }
+                        """),
+                source("fixture.NamesImpl", """
+                        package fixture;
+
+                        public class NamesImpl implements Names {
+                            @Override
+                            public String request(String status, String result, String e) {
+                                return status + result + e;
+                            }
+                        }
+                        """),
+                source("fixture.Config", """
+                        package fixture;
+
+                        @hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies(Names.class)
+                        public class Config {
+                        }
+                        """)
+        );
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedSource("fixture.NamesTraceProxy"))
+                .contains("hello.springcoreadvanced2.trace.TraceStatus _status = null;")
+                .contains("java.lang.String _result = target.request(status, result, e);")
+                .contains("} catch (Exception _e) {");
+
+        RecordingLogTrace logTrace = new RecordingLogTrace(compilation);
+        Object proxy = compilation.newProxy("fixture.NamesTraceProxy", "fixture.Names",
+                compilation.loadClass("fixture.NamesImpl").getConstructor().newInstance(), logTrace);
+
+        assertThat(compilation.call(proxy, "request", "a", "b", "c")).isEqualTo("abc");
+        assertThat(logTrace.calls).containsExactly("begin Names.request()", "end");
+    }
+
+    @Test
+    @DisplayName("구체 클래스: 인자가 가장 적은 public, protected 생성자를 호출하고, 다른 패키지에서 재정의할 수 있는 메서드만 재정의한다")
+    void concreteProxy() throws Throwable {
+        Compilation compilation = compile(
+                source("fixture.Repository", """
+                        package fixture;
+
+                        public class Repository {
+                            public Repository(String name, int size, boolean flag) {
+                            }
+
+                            protected Repository(long id) {
+                            }
+
+                            private Repository() {
+                            }
+
+                            public String save(String itemId) {
+                                return "saved " + itemId;
+                            }
+
+                            protected String find(String itemId) {
+                                return itemId;
+                            }
+
+                            String packagePrivate() {
+                                return "";
+                            }
+
+                            public final String fixed() {
+                                return "";
+                            }
+
+                            public static String helper() {
+                                return "";
+                            }
+                        }
+                        """),
+                source("fixture.Config", """
+                        package fixture;
+
+                        @hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies(
+                                value = Repository.class,
+                                patterns = {"save*"}
+                        )
+                        public class Config {
+                        }
+                        """)
+        );
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedSource("fixture.RepositoryTraceProxy"))
+                .contains("public class RepositoryTraceProxy extends fixture.Repository {")
+                .contains("super((long) 0);")
+                .contains("public java.lang.String save(java.lang.String itemId) {")
+                .contains("protected java.lang.String find(java.lang.String itemId) {")
+                .doesNotContain("packagePrivate")
+                .doesNotContain("fixed")
+                .doesNotContain("helper")
+                .doesNotContain("toString");
+
+        RecordingLogTrace logTrace = new RecordingLogTrace(compilation);
+        Object target = compilation.loadClass("fixture.Repository")
+                .getConstructor(String.class, int.class, boolean.class)
+                .newInstance("target", 1, true);
+        Object proxy = compilation.newProxy("fixture.RepositoryTraceProxy", "fixture.Repository", target, logTrace);
+
+        assertThat(compilation.call(proxy, "save", "item")).isEqualTo("saved item");
+        assertThat(logTrace.calls).containsExactly("begin Repository.save()", "end");
+    }
+
+    @Test
+    @DisplayName("프록시를 만들 수 없는 타입은 설정 클래스에 에러를 남긴다")
+    void diagnostics() throws Throwable {
+        Compilation compilation = compile(
+                source("fixture.FinalType", """
+                        package fixture;
+
+                        public final class FinalType {
+                        }
+                        """),
+                source("fixture.GenericType", """
+                        package fixture;
+
+                        public interface GenericType<T> {
+                            T get();
+                        }
+                        """),
+                source("fixture.PrivateConstructor", """
+                        package fixture;
+
+                        public class PrivateConstructor {
+                            private PrivateConstructor() {
+                            }
+                        }
+                        """),
+                source("fixture.EnumType", """
+                        package fixture;
+
+                        public enum EnumType {
+                            A
+                        }
+                        """),
+                source("fixture.Config", """
+                        package fixture;
+
+                        @hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies({
+                                FinalType.class, GenericType.class, PrivateConstructor.class, EnumType.class
+                        })
+                        public class Config {
+                        }
+                        """)
+        );
+
+        assertThat(compilation.errors()).containsExactlyInAnyOrder(
+                "Config.java: final 클래스는 상속할 수 없습니다: fixture.FinalType",
+                "Config.java: 제네릭 타입은 지원하지 않습니다: fixture.GenericType",
+                "Config.java: 호출할 수 있는 생성자가 없습니다: fixture.PrivateConstructor",
+                "Config.java: 인터페이스나 클래스만 프록시를 만들 수 있습니다: fixture.EnumType"
+        );
+    }
+
+    private static JavaFileObject source(String qualifiedName, String code) {
+        URI uri = URI.create("string:///" + qualifiedName.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    /**
+     * stub 과 fixture 를 {@link TraceProxyProcessor}와 함께 컴파일
+     */
+    private Compilation compile(JavaFileObject... fixtures) throws IOException {
+        Path sources = Files.createDirectories(directory.resolve("generated"));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+
+        List<JavaFileObject> units = new ArrayList<>(List.of(
+                source("hello.springcoreadvanced2.trace.proxy.GenerateTraceProxies", ANNOTATION_STUB),
+                source("hello.springcoreadvanced2.trace.TraceStatus", TRACE_STATUS_STUB),
+                source("hello.springcoreadvanced2.trace.logtrace.LogTrace", LOG_TRACE_STUB)
+        ));
+        units.addAll(List.of(fixtures));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager =
+                     compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    diagnostics,
+                    List.of("-d", classes.toString(), "-s", sources.toString(), "-encoding", "UTF-8"),
+                    null,
+                    units
+            );
+            task.setProcessors(List.of(new TraceProxyProcessor()));
+            task.call();
+        }
+        return new Compilation(sources, classes, diagnostics.getDiagnostics());
+    }
+
+    /**
+     * 컴파일 결과, 생성된 소스와 클래스를 조회한다.
+     */
+    private static final class Compilation {
+        private final Path sources;
+        private final ClassLoader classLoader;
+        private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+        private Compilation(Path sources, Path classes, List<Diagnostic<? extends JavaFileObject>> diagnostics) throws IOException {
+            this.sources = sources;
+            this.classLoader = new URLClassLoader(
+                    new URL[]{classes.toUri().toURL()},
+                    TraceProxyProcessorTest.class.getClassLoader()
+            );
+            this.diagnostics = diagnostics;
+        }
+
+        /**
+         * @return 에러 목록, 예) "Config.java: final 클래스는 상속할 수 없습니다: fixture.FinalType"
+         */
+        private List<String> errors() {
+            return diagnostics.stream()
+                    .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                    .map(diagnostic -> {
+                        String path = diagnostic.getSource() == null ? "" : diagnostic.getSource().getName();
+                        return path.substring(path.lastIndexOf('/') + 1) + ": " + diagnostic.getMessage(Locale.ROOT);
+                    })
+                    .toList();
+        }
+
+        private String generatedSource(String qualifiedName) throws IOException {
+            return Files.readString(sources.resolve(qualifiedName.replace('.', '/') + ".java"), StandardCharsets.UTF_8);
+        }
+
+        private Class<?> loadClass(String qualifiedName) throws ClassNotFoundException {
+            return classLoader.loadClass(qualifiedName);
+        }
+
+        /**
+         * 생성된 프록시 생성, <code>(target, logTrace)</code>
+         */
+        private Object newProxy(String proxyName, String typeName, Object target, RecordingLogTrace logTrace) throws Exception {
+            return loadClass(proxyName)
+                    .getConstructor(loadClass(typeName), loadClass("hello.springcoreadvanced2.trace.logtrace.LogTrace"))
+                    .newInstance(target, logTrace.proxy);
+        }
+
+        /**
+         * String 인자만 받는 public 메서드 호출, target 이 던진 예외는 그대로 던진다.
+         */
+        private Object call(Object proxy, String name, String... args) throws Throwable {
+            Class<?>[] types = new Class<?>[args.length];
+            Arrays.fill(types, String.class);
+            Method method = proxy.getClass().getMethod(name, types);
+            try {
+                return method.invoke(proxy, (Object[]) args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * 호출을 문자열로 기록하는 LogTrace, 예) "begin Service.request()", "end", "exception 예외 발생!"
+     */
+    private static final class RecordingLogTrace {
+        private final List<String> calls = new ArrayList<>();
+        private final Object proxy;
+
+        private RecordingLogTrace(Compilation compilation) throws Exception {
+            Class<?> logTraceType = compilation.loadClass("hello.springcoreadvanced2.trace.logtrace.LogTrace");
+            Class<?> statusType = compilation.loadClass("hello.springcoreadvanced2.trace.TraceStatus");
+            this.proxy = Proxy.newProxyInstance(logTraceType.getClassLoader(), new Class<?>[]{logTraceType},
+                    (self, method, args) -> switch (method.getName()) {
+                        case "begin" -> {
+                            calls.add("begin " + args[0]);
+                            yield statusType.getConstructor().newInstance();
+                        }
+                        case "end" -> {
+                            calls.add("end");
+                            yield null;
+                        }
+                        case "exception" -> {
+                            calls.add("exception " + ((Exception) args[1]).getMessage());
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}